@@ -0,0 +1,135 @@
+package io.rala;
+
+import java.util.Arrays;
+
+/**
+ * classification of IPv4 addresses as compact flags<br>
+ * the lowest bits hold the class index ({@link #CLASS_MASK}) - all others are flags
+ *
+ * <p>based on a precomputed table of all 256 first octets.
+ * only first octets containing a special range (like {@code 172.16.0.0/12})
+ * check a short list of prefixes afterwards</p>
+ *
+ * <ul>
+ * <li>{@link #PRIVATE}: {@code 10.0.0.0/8}, {@code 172.16.0.0/12}, {@code 192.168.0.0/16} (RFC 1918)</li>
+ * <li>{@link #LOOPBACK}: {@code 127.0.0.0/8}</li>
+ * <li>{@link #LINK_LOCAL}: {@code 169.254.0.0/16}</li>
+ * <li>{@link #SHARED}: {@code 100.64.0.0/10} (carrier-grade NAT, RFC 6598)</li>
+ * <li>{@link #MULTICAST}: {@code 224.0.0.0/4}</li>
+ * <li>{@link #RESERVED}: {@code 0.0.0.0/8}, {@code 192.0.0.0/24}, {@code 192.0.2.0/24},
+ * {@code 198.18.0.0/15}, {@code 198.51.100.0/24}, {@code 203.0.113.0/24}, {@code 240.0.0.0/4}</li>
+ * </ul>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public final class AddressClassification {
+    //region flags
+    /**
+     * mask of the class index: {@link #CLASS_A} to {@link #CLASS_E}
+     */
+    public static final int CLASS_MASK = 0b111;
+    public static final int CLASS_A = 0;
+    public static final int CLASS_B = 1;
+    public static final int CLASS_C = 2;
+    public static final int CLASS_D = 3;
+    public static final int CLASS_E = 4;
+
+    public static final int PRIVATE = 1 << 3;
+    public static final int LOOPBACK = 1 << 4;
+    public static final int LINK_LOCAL = 1 << 5;
+    public static final int SHARED = 1 << 6;
+    public static final int MULTICAST = 1 << 7;
+    public static final int RESERVED = 1 << 8;
+    //endregion
+
+    //region lookup tables
+    /**
+     * flags of the complete {@code /8} - indexed by first octet
+     */
+    private static final int[] FIRST_OCTETS = new int[256];
+    /**
+     * special ranges (Subnet ID, Subnetmask &amp; flags) - indexed by first octet
+     */
+    private static final int[][] SPECIAL_RANGES = new int[256][];
+
+    static {
+        for (int octet = 0; octet < 256; octet++) {
+            if (octet < 128) FIRST_OCTETS[octet] = CLASS_A;
+            else if (octet < 192) FIRST_OCTETS[octet] = CLASS_B;
+            else if (octet < 224) FIRST_OCTETS[octet] = CLASS_C;
+            else if (octet < 240) FIRST_OCTETS[octet] = CLASS_D | MULTICAST;
+            else FIRST_OCTETS[octet] = CLASS_E | RESERVED;
+        }
+        FIRST_OCTETS[0] |= RESERVED;
+        FIRST_OCTETS[10] |= PRIVATE;
+        FIRST_OCTETS[127] |= LOOPBACK;
+
+        addSpecialRange(100, 64, 0, 10, SHARED);
+        addSpecialRange(169, 254, 0, 16, LINK_LOCAL);
+        addSpecialRange(172, 16, 0, 12, PRIVATE);
+        addSpecialRange(192, 168, 0, 16, PRIVATE);
+        addSpecialRange(192, 0, 0, 24, RESERVED);
+        addSpecialRange(192, 0, 2, 24, RESERVED);
+        addSpecialRange(198, 18, 0, 15, RESERVED);
+        addSpecialRange(198, 51, 100, 24, RESERVED);
+        addSpecialRange(203, 0, 113, 24, RESERVED);
+    }
+    //endregion
+
+    private AddressClassification() {
+    }
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return class index &amp; flags of {@code ip}
+     * @since 2.2.0
+     */
+    public static int classify(int ip) {
+        int flags = FIRST_OCTETS[ip >>> 24];
+        int[] ranges = SPECIAL_RANGES[ip >>> 24];
+        if (ranges == null) return flags;
+        for (int i = 0; i < ranges.length; i += 3)
+            if ((ip & ranges[i + 1]) == ranges[i]) flags |= ranges[i + 2];
+        return flags;
+    }
+
+    /**
+     * @param flags value of {@link #classify(int)}
+     * @return class index ({@link #CLASS_A} to {@link #CLASS_E})
+     * @since 2.2.0
+     */
+    public static int getClassIndex(int flags) {
+        return flags & CLASS_MASK;
+    }
+
+    /**
+     * @param flags value of {@link #classify(int)}
+     * @return class ({@code A} to {@code E})
+     * @see Subnet#getClassChar()
+     * @since 2.2.0
+     */
+    public static char getClassChar(int flags) {
+        return (char) ('A' + getClassIndex(flags));
+    }
+
+    /**
+     * @param firstOctet first octet of an IP address ({@code 0-255})
+     * @return class index &amp; flags of the complete {@code /8} - special ranges are ignored
+     */
+    static int classifyFirstOctet(int firstOctet) {
+        return FIRST_OCTETS[firstOctet];
+    }
+
+    private static void addSpecialRange(int octet0, int octet1, int octet2, int prefixLength, int flag) {
+        int[] ranges = SPECIAL_RANGES[octet0];
+        ranges = ranges == null ? new int[3] : Arrays.copyOf(ranges, ranges.length + 3);
+        int mask = -1 << (32 - prefixLength); // prefix lengths are 8+
+        ranges[ranges.length - 3] = (octet0 << 24 | octet1 << 16 | octet2 << 8) & mask;
+        ranges[ranges.length - 2] = mask;
+        ranges[ranges.length - 1] = flag;
+        SPECIAL_RANGES[octet0] = ranges;
+    }
+}
@@ -0,0 +1,407 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * immutable map from disjoint address ranges to values
+ * (like ASN, site or owner of an address)
+ *
+ * <p>ranges are stored in parallel {@code int} buffers (first, last &amp; value index)
+ * ordered by address - a lookup is a binary search.
+ * equal values are stored only once &amp; adjacent ranges with equal values are merged</p>
+ *
+ * <p>the serialized form ({@link #writeTo(ByteBuffer, Function)}) can be
+ * memory-mapped ({@link #map(Path, Function)}): the ranges are used in place &amp;
+ * only the distinct values are decoded on load</p>
+ *
+ * <i>instances are immutable and thread-safe</i>
+ *
+ * @param <V> type of values
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class AddressRangeMap<V> {
+    private static final int MAGIC = 0x41524D50; // ARMP
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+    private static final String FORMAT_SUFFIX = Subnet.getExceptionMessageSuffix("format", "AddressRangeMap");
+
+    /**
+     * first &amp; last address (first quad in the highest byte) &amp; value index of every range
+     */
+    private final IntBuffer firsts;
+    private final IntBuffer lasts;
+    private final IntBuffer valueIndexes;
+    private final List<V> values;
+
+    private AddressRangeMap(
+        @NotNull IntBuffer firsts, @NotNull IntBuffer lasts, @NotNull IntBuffer valueIndexes, @NotNull List<V> values
+    ) {
+        this.firsts = firsts;
+        this.lasts = lasts;
+        this.valueIndexes = valueIndexes;
+        this.values = Collections.unmodifiableList(values);
+    }
+
+    /**
+     * @param <V> type of values
+     * @return new builder
+     * @since 2.2.0
+     */
+    @NotNull
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    //region lookup
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return value of the range containing {@code ip} or {@code null} if there is none
+     * @since 2.2.0
+     */
+    @Nullable
+    public V get(int ip) {
+        int index = indexOf(ip);
+        return index < 0 ? null : getValue(index);
+    }
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return index of the range containing {@code ip} or {@code -1} if there is none
+     * @since 2.2.0
+     */
+    public int indexOf(int ip) {
+        int key = ip ^ Integer.MIN_VALUE;
+        int low = 0;
+        int high = firsts.limit() - 1;
+        while (low <= high) { // last range starting at or before ip
+            int mid = (low + high) >>> 1;
+            if ((firsts.get(mid) ^ Integer.MIN_VALUE) <= key) low = mid + 1;
+            else high = mid - 1;
+        }
+        return 0 <= high && key <= (lasts.get(high) ^ Integer.MIN_VALUE) ? high : -1;
+    }
+    //endregion
+
+    //region getter
+
+    /**
+     * @return count of ranges
+     * @since 2.2.0
+     */
+    public int size() {
+        return firsts.limit();
+    }
+
+    /**
+     * @param index index of range
+     * @return first address of range (first quad in the highest byte)
+     * @throws IndexOutOfBoundsException if range does not exist
+     * @since 2.2.0
+     */
+    public int getFirst(int index) {
+        return firsts.get(index);
+    }
+
+    /**
+     * @param index index of range
+     * @return last address of range (first quad in the highest byte)
+     * @throws IndexOutOfBoundsException if range does not exist
+     * @since 2.2.0
+     */
+    public int getLast(int index) {
+        return lasts.get(index);
+    }
+
+    /**
+     * @param index index of range
+     * @return value of range
+     * @throws IndexOutOfBoundsException if range does not exist
+     * @since 2.2.0
+     */
+    @NotNull
+    public V getValue(int index) {
+        return values.get(valueIndexes.get(index));
+    }
+
+    /**
+     * @return distinct values
+     * @since 2.2.0
+     */
+    @NotNull
+    @Unmodifiable
+    public List<@NotNull V> getValues() {
+        return values;
+    }
+    //endregion
+
+    //region serialization
+
+    /**
+     * @param encoder encoder of values
+     * @return count of bytes written by {@link #writeTo(ByteBuffer, Function)}
+     * @since 2.2.0
+     */
+    public long getSerializedSize(@NotNull Function<? super V, @NotNull String> encoder) {
+        long size = HEADER_SIZE + 3L * size() * Integer.BYTES + (long) values.size() * Integer.BYTES;
+        for (V value : values) size += encoder.apply(value).getBytes(StandardCharsets.UTF_8).length;
+        return size;
+    }
+
+    /**
+     * @param buffer  target
+     * @param encoder encoder of values
+     * @return {@code buffer}
+     * @throws java.nio.BufferOverflowException if there is not enough space remaining
+     * @see #getSerializedSize(Function)
+     * @since 2.2.0
+     */
+    @NotNull
+    public ByteBuffer writeTo(@NotNull ByteBuffer buffer, @NotNull Function<? super V, @NotNull String> encoder) {
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(size()).putInt(values.size());
+        for (IntBuffer ints : List.of(firsts, lasts, valueIndexes))
+            for (int i = 0; i < ints.limit(); i++) buffer.putInt(ints.get(i));
+        byte[][] encoded = new byte[values.size()][];
+        int end = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = encoder.apply(values.get(i)).getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(end += encoded[i].length);
+        }
+        for (byte[] bytes : encoded) buffer.put(bytes);
+        return buffer;
+    }
+
+    /**
+     * the ranges are not copied (nor validated) - {@code buffer} must not be modified afterwards
+     *
+     * @param buffer  source
+     * @param decoder decoder of values
+     * @param <V>     type of values
+     * @return map
+     * @throws IllegalArgumentException if {@code buffer} does not contain a valid map
+     * @see #writeTo(ByteBuffer, Function)
+     * @since 2.2.0
+     */
+    @NotNull
+    public static <V> AddressRangeMap<V> readFrom(
+        @NotNull ByteBuffer buffer, @NotNull Function<@NotNull String, ? extends V> decoder
+    ) {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_FORMAT_NOT_SUPPORTED + FORMAT_SUFFIX);
+        int version = buffer.getInt();
+        if (version != VERSION)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_FORMAT_VERSION_NOT_SUPPORTED +
+                Subnet.getExceptionMessageSuffix("version", version));
+        int size = buffer.getInt();
+        int valueCount = buffer.getInt();
+        if (size < 0 || valueCount < 0 || buffer.remaining() / Integer.BYTES < 3L * size + valueCount)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_CORRUPT + FORMAT_SUFFIX);
+        IntBuffer firsts = slice(buffer, size);
+        IntBuffer lasts = slice(buffer, size);
+        IntBuffer valueIndexes = slice(buffer, size);
+        IntBuffer ends = slice(buffer, valueCount);
+        List<V> values = new ArrayList<>(valueCount);
+        int start = 0;
+        for (int i = 0; i < valueCount; i++) {
+            int end = ends.get(i);
+            if (end < start || buffer.remaining() < end - start)
+                throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_CORRUPT + FORMAT_SUFFIX);
+            byte[] bytes = new byte[end - start];
+            buffer.get(bytes);
+            values.add(Objects.requireNonNull(decoder.apply(new String(bytes, StandardCharsets.UTF_8))));
+            start = end;
+        }
+        return new AddressRangeMap<>(firsts, lasts, valueIndexes, values);
+    }
+
+    /**
+     * maps a file written by {@link #writeTo(ByteBuffer, Function)} into memory
+     *
+     * @param path    file to map
+     * @param decoder decoder of values
+     * @param <V>     type of values
+     * @return map
+     * @throws IOException              if file can not be mapped
+     * @throws IllegalArgumentException if file does not contain a valid map
+     * @see #readFrom(ByteBuffer, Function)
+     * @since 2.2.0
+     */
+    @NotNull
+    public static <V> AddressRangeMap<V> map(
+        @NotNull Path path, @NotNull Function<@NotNull String, ? extends V> decoder
+    ) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readFrom(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), decoder);
+        }
+    }
+
+    @NotNull
+    private static IntBuffer slice(@NotNull ByteBuffer buffer, int size) {
+        IntBuffer ints = buffer.slice().order(buffer.order()).asIntBuffer();
+        ints.limit(size);
+        buffer.position(buffer.position() + size * Integer.BYTES);
+        return ints.slice();
+    }
+    //endregion
+
+    //region equals, hashCode, toString
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AddressRangeMap<?> that = (AddressRangeMap<?>) o;
+        if (size() != that.size()) return false;
+        for (int i = 0; i < size(); i++)
+            if (getFirst(i) != that.getFirst(i) || getLast(i) != that.getLast(i) ||
+                !getValue(i).equals(that.getValue(i)))
+                return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size(); i++)
+            result = 31 * (31 * (31 * result + getFirst(i)) + getLast(i)) + getValue(i).hashCode();
+        return result;
+    }
+
+    @Override
+    @NotNull
+    public String toString() {
+        return "AddressRangeMap{" +
+            "size=" + size() +
+            ", values=" + values.size() +
+            '}';
+    }
+    //endregion
+
+    /**
+     * builder of {@link AddressRangeMap}<br>
+     * ranges may be added in any order but must not overlap
+     *
+     * @param <V> type of values
+     * @since 2.2.0
+     */
+    public static class Builder<V> {
+        private final Map<V, Integer> valueIndexes = new HashMap<>();
+        private final List<V> values = new ArrayList<>();
+        /**
+         * first address (sign bit flipped) &amp; index of every range
+         */
+        private long[] keys = new long[16];
+        private int[] lasts = new int[16];
+        private int[] rangeValueIndexes = new int[16];
+        private int size;
+
+        private Builder() {
+        }
+
+        /**
+         * @param subnet Subnet (from Subnet ID to broadcast)
+         * @param value  value of all addresses of {@code subnet}
+         * @return this builder
+         * @since 2.2.0
+         */
+        @NotNull
+        public Builder<V> put(@NotNull Subnet subnet, @NotNull V value) {
+            int first = subnet.getIpAsInt() & subnet.getSubnetmaskAsInt();
+            return put(first, first | ~subnet.getSubnetmaskAsInt(), value);
+        }
+
+        /**
+         * @param first first address (first quad in the highest byte)
+         * @param last  last address (included)
+         * @param value value of all addresses from {@code first} to {@code last}
+         * @return this builder
+         * @throws IllegalArgumentException if {@code last} is before {@code first}
+         * @since 2.2.0
+         */
+        @NotNull
+        public Builder<V> put(int first, int last, @NotNull V value) {
+            if (Integer.compareUnsigned(last, first) < 0)
+                throw new IllegalArgumentException(
+                    Subnet.ILLEGAL_ARGUMENT_RANGE_LAST_BEFORE_FIRST + rangeSuffix(first, last));
+            Integer valueIndex = valueIndexes.get(Objects.requireNonNull(value));
+            if (valueIndex == null) {
+                valueIndex = values.size();
+                valueIndexes.put(value, valueIndex);
+                values.add(value);
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                lasts = Arrays.copyOf(lasts, size * 2);
+                rangeValueIndexes = Arrays.copyOf(rangeValueIndexes, size * 2);
+            }
+            keys[size] = (long) (first ^ Integer.MIN_VALUE) << 32 | size;
+            lasts[size] = last;
+            rangeValueIndexes[size] = valueIndex;
+            size++;
+            return this;
+        }
+
+        /**
+         * @return immutable map
+         * @throws IllegalArgumentException if ranges overlap
+         * @since 2.2.0
+         */
+        @NotNull
+        public AddressRangeMap<V> build() {
+            long[] sorted = Arrays.copyOf(keys, size);
+            Arrays.sort(sorted);
+            int[] firsts = new int[size];
+            int[] lastsSorted = new int[size];
+            int[] indexes = new int[size];
+            int count = 0;
+            for (long key : sorted) {
+                int first = (int) (key >>> 32) ^ Integer.MIN_VALUE;
+                int range = (int) key;
+                if (0 < count) {
+                    long previousLast = Integer.toUnsignedLong(lastsSorted[count - 1]);
+                    if (Integer.toUnsignedLong(first) <= previousLast)
+                        throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_RANGES_OVERLAP +
+                            rangeSuffix(first, lasts[range]));
+                    if (previousLast + 1 == Integer.toUnsignedLong(first) && indexes[count - 1] == rangeValueIndexes[range]) {
+                        lastsSorted[count - 1] = lasts[range];
+                        continue;
+                    }
+                }
+                firsts[count] = first;
+                lastsSorted[count] = lasts[range];
+                indexes[count] = rangeValueIndexes[range];
+                count++;
+            }
+            return new AddressRangeMap<>(
+                IntBuffer.wrap(Arrays.copyOf(firsts, count)),
+                IntBuffer.wrap(Arrays.copyOf(lastsSorted, count)),
+                IntBuffer.wrap(Arrays.copyOf(indexes, count)),
+                new ArrayList<>(values)
+            );
+        }
+
+        /**
+         * @return exception message suffix with the range from {@code first} to {@code last}
+         */
+        @NotNull
+        private static String rangeSuffix(int first, int last) {
+            return Subnet.getExceptionMessageSuffix("range",
+                Subnet.of(first, 32).getIp() + " - " + Subnet.of(last, 32).getIp());
+        }
+    }
+}
@@ -0,0 +1,595 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * compressed set of IP addresses (Roaring-style)<br>
+ * the upper 16 bits select a container, which stores the lower 16 bits either
+ * as sorted array (up to {@value ARRAY_MAX_SIZE} addresses), as bitmap or - if all are present - not at all
+ *
+ * <p>converts from and to the minimal list of Subnets covering exactly the same addresses</p>
+ *
+ * <i>instances are immutable and thread-safe</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class AddressSet {
+    private static final int ARRAY_MAX_SIZE = 4096;
+    private static final int CONTAINER_SIZE = 1 << 16;
+    private static final AddressSet EMPTY = new AddressSet(new char[0], new Container[0]);
+
+    /**
+     * sorted upper 16 bits
+     */
+    private final char[] keys;
+    private final Container[] containers;
+
+    private AddressSet(char @NotNull [] keys, @NotNull Container @NotNull [] containers) {
+        this.keys = keys;
+        this.containers = containers;
+    }
+
+    //region factory
+
+    /**
+     * @return empty set
+     * @since 2.2.0
+     */
+    @NotNull
+    public static AddressSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param subnets Subnets - may overlap
+     * @return set of all addresses of all Subnets
+     * @since 2.2.0
+     */
+    @NotNull
+    public static AddressSet of(@NotNull Collection<@NotNull Subnet> subnets) {
+        Builder builder = builder();
+        for (Subnet subnet : subnets) builder.add(subnet);
+        return builder.build();
+    }
+
+    /**
+     * @param ips IP addresses (first quad in the highest byte) - may contain duplicates
+     * @return set of all addresses
+     * @since 2.2.0
+     */
+    @NotNull
+    public static AddressSet of(int @NotNull ... ips) {
+        Builder builder = builder();
+        for (int ip : ips) builder.add(ip);
+        return builder.build();
+    }
+
+    /**
+     * @return new builder
+     * @since 2.2.0
+     */
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+    //endregion
+
+    //region contains & cardinality
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return {@code true} if set contains {@code ip}
+     * @since 2.2.0
+     */
+    public boolean contains(int ip) {
+        int index = Arrays.binarySearch(keys, (char) (ip >>> 16));
+        return 0 <= index && containers[index].contains((char) ip);
+    }
+
+    /**
+     * @return count of addresses ({@code 0} to {@code 2^32})
+     * @since 2.2.0
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        for (Container container : containers) cardinality += container.cardinality();
+        return cardinality;
+    }
+
+    /**
+     * @return {@code true} if set contains no address
+     * @since 2.2.0
+     */
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+    //endregion
+
+    //region union & intersection
+
+    /**
+     * @param other other set
+     * @return set of all addresses in this or {@code other}
+     * @since 2.2.0
+     */
+    @NotNull
+    public AddressSet union(@NotNull AddressSet other) {
+        char[] unionKeys = new char[keys.length + other.keys.length];
+        Container[] unionContainers = new Container[unionKeys.length];
+        int i = 0, j = 0, size = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || i < keys.length && keys[i] < other.keys[j]) {
+                unionKeys[size] = keys[i];
+                unionContainers[size++] = containers[i++];
+            } else if (i == keys.length || other.keys[j] < keys[i]) {
+                unionKeys[size] = other.keys[j];
+                unionContainers[size++] = other.containers[j++];
+            } else {
+                unionKeys[size] = keys[i];
+                unionContainers[size++] = Container.union(containers[i++], other.containers[j++]);
+            }
+        }
+        return new AddressSet(Arrays.copyOf(unionKeys, size), Arrays.copyOf(unionContainers, size));
+    }
+
+    /**
+     * @param other other set
+     * @return set of all addresses in this and {@code other}
+     * @since 2.2.0
+     */
+    @NotNull
+    public AddressSet intersection(@NotNull AddressSet other) {
+        int capacity = Math.min(keys.length, other.keys.length);
+        char[] intersectionKeys = new char[capacity];
+        Container[] intersectionContainers = new Container[capacity];
+        int i = 0, j = 0, size = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) i++;
+            else if (other.keys[j] < keys[i]) j++;
+            else {
+                Container container = Container.intersection(containers[i], other.containers[j]);
+                if (container != null) {
+                    intersectionKeys[size] = keys[i];
+                    intersectionContainers[size++] = container;
+                }
+                i++;
+                j++;
+            }
+        }
+        return new AddressSet(Arrays.copyOf(intersectionKeys, size), Arrays.copyOf(intersectionContainers, size));
+    }
+    //endregion
+
+    //region subnets
+
+    /**
+     * @return minimal list of Subnets covering exactly this set ordered by address
+     * @since 2.2.0
+     */
+    @NotNull
+    public List<@NotNull Subnet> toSubnets() {
+        List<Subnet> subnets = new ArrayList<>();
+        long[] pending = {0, -2}; // first & last of the current range
+        for (int i = 0; i < keys.length; i++) {
+            containers[i].forEachRange((long) keys[i] << 16, (first, last) -> {
+                if (first == pending[1] + 1) {
+                    pending[1] = last;
+                    return;
+                }
+                addSubnets(subnets, pending[0], pending[1]);
+                pending[0] = first;
+                pending[1] = last;
+            });
+        }
+        addSubnets(subnets, pending[0], pending[1]);
+        return subnets;
+    }
+
+    /**
+     * adds the minimal Subnets covering {@code first} to {@code last} (nothing if {@code last < first})
+     */
+    static void addSubnets(@NotNull List<Subnet> subnets, long first, long last) {
+        while (first <= last) {
+            long size = first == 0 ? 1L << 32 : Long.lowestOneBit(first);
+            while (last - first + 1 < size) size >>>= 1;
+            subnets.add(Subnet.of((int) first, 32 - Long.numberOfTrailingZeros(size)));
+            first += size;
+        }
+    }
+    //endregion
+
+    //region override
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof AddressSet)) return false;
+        AddressSet addressSet = (AddressSet) o;
+        return Arrays.equals(keys, addressSet.keys) && Arrays.equals(containers, addressSet.containers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(keys) + Arrays.hashCode(containers);
+    }
+
+    /**
+     * @return cardinality &amp; count of containers (like {@code AddressSet{cardinality=256, containers=1}})
+     */
+    @Override
+    @NotNull
+    public String toString() {
+        return "AddressSet{cardinality=" + cardinality() + ", containers=" + keys.length + "}";
+    }
+    //endregion
+
+    /**
+     * builder of an {@link AddressSet}
+     *
+     * @since 2.2.0
+     */
+    public static final class Builder {
+        private int[] ips = new int[16];
+        private int ipCount;
+        private long[] ranges = new long[16]; // first & last alternating
+        private int rangeCount;
+
+        private Builder() {
+        }
+
+        /**
+         * @param ip IP address (first quad in the highest byte)
+         * @return this instance
+         * @since 2.2.0
+         */
+        @NotNull
+        public Builder add(int ip) {
+            if (ipCount == ips.length) ips = Arrays.copyOf(ips, ipCount * 2);
+            ips[ipCount++] = ip;
+            return this;
+        }
+
+        /**
+         * @param subnet Subnet - all addresses including Subnet ID &amp; broadcast are added
+         * @return this instance
+         * @since 2.2.0
+         */
+        @NotNull
+        public Builder add(@NotNull Subnet subnet) {
+            int first = subnet.getIpAsInt() & subnet.getSubnetmaskAsInt();
+            return addRange(first, first | ~subnet.getSubnetmaskAsInt());
+        }
+
+        /**
+         * @param first first IP address (first quad in the highest byte)
+         * @param last  last IP address (first quad in the highest byte) - inclusive
+         * @return this instance
+         * @throws IllegalArgumentException if {@code last} is lower than {@code first}
+         * @since 2.2.0
+         */
+        @NotNull
+        public Builder addRange(int first, int last) {
+            if (Integer.compareUnsigned(last, first) < 0)
+                throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_RANGE_LAST_BEFORE_FIRST +
+                    Subnet.getExceptionMessageSuffix("range",
+                        Subnet.of(first, 32).getIp() + " - " + Subnet.of(last, 32).getIp()));
+            if (rangeCount * 2 == ranges.length) ranges = Arrays.copyOf(ranges, rangeCount * 4);
+            ranges[rangeCount * 2] = Integer.toUnsignedLong(first);
+            ranges[rangeCount * 2 + 1] = Integer.toUnsignedLong(last);
+            rangeCount++;
+            return this;
+        }
+
+        /**
+         * @return set of all added addresses
+         * @since 2.2.0
+         */
+        @NotNull
+        public AddressSet build() {
+            return buildRanges().union(buildIps());
+        }
+
+        @NotNull
+        private AddressSet buildIps() {
+            long[] sorted = new long[ipCount];
+            for (int i = 0; i < ipCount; i++) sorted[i] = Integer.toUnsignedLong(ips[i]);
+            Arrays.sort(sorted);
+            List<Character> keyList = new ArrayList<>();
+            List<Container> containerList = new ArrayList<>();
+            char[] values = new char[ARRAY_MAX_SIZE];
+            int i = 0;
+            while (i < sorted.length) {
+                char key = (char) (sorted[i] >>> 16);
+                long[] bits = null;
+                int count = 0;
+                for (; i < sorted.length && (char) (sorted[i] >>> 16) == key; i++) {
+                    char value = (char) sorted[i];
+                    if (bits != null) bits[value >>> 6] |= 1L << value;
+                    else if (count == 0 || values[count - 1] != value) {
+                        if (count == ARRAY_MAX_SIZE) { // switch to bitmap
+                            bits = new long[CONTAINER_SIZE / 64];
+                            for (char c : values) bits[c >>> 6] |= 1L << c;
+                            bits[value >>> 6] |= 1L << value;
+                        } else values[count++] = value;
+                    }
+                }
+                keyList.add(key);
+                containerList.add(bits == null ? new ArrayContainer(Arrays.copyOf(values, count)) : Container.of(bits));
+            }
+            return create(keyList, containerList);
+        }
+
+        @NotNull
+        private AddressSet buildRanges() {
+            Integer[] order = new Integer[rangeCount];
+            for (int i = 0; i < rangeCount; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingLong(i -> ranges[i * 2]));
+            List<Character> keyList = new ArrayList<>();
+            List<Container> containerList = new ArrayList<>();
+            for (int r = 0; r < rangeCount; ) {
+                long first = ranges[order[r] * 2];
+                long last = ranges[order[r] * 2 + 1];
+                for (r++; r < rangeCount && ranges[order[r] * 2] <= last + 1; r++) // merge
+                    last = Math.max(last, ranges[order[r] * 2 + 1]);
+                while (first <= last) {
+                    char key = (char) (first >>> 16);
+                    long containerLast = Math.min(last, (long) key << 16 | 0xFFFF);
+                    Container container = Container.ofRange((int) (first & 0xFFFF), (int) (containerLast & 0xFFFF));
+                    int lastIndex = keyList.size() - 1;
+                    if (0 <= lastIndex && keyList.get(lastIndex) == key) // two ranges in one container
+                        containerList.set(lastIndex, Container.union(containerList.get(lastIndex), container));
+                    else {
+                        keyList.add(key);
+                        containerList.add(container);
+                    }
+                    first = containerLast + 1;
+                }
+            }
+            return create(keyList, containerList);
+        }
+
+        @NotNull
+        private static AddressSet create(@NotNull List<Character> keyList, @NotNull List<Container> containerList) {
+            char[] keys = new char[keyList.size()];
+            for (int i = 0; i < keys.length; i++) keys[i] = keyList.get(i);
+            return new AddressSet(keys, containerList.toArray(new Container[0]));
+        }
+    }
+
+    //region container
+
+    /**
+     * lower 16 bits of all addresses with the same upper 16 bits<br>
+     * representation is canonical: full if all are present,
+     * array up to {@value ARRAY_MAX_SIZE} values and bitmap otherwise
+     */
+    private abstract static class Container {
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        abstract long @NotNull [] toBitmap();
+
+        abstract void forEachRange(long base, @NotNull RangeConsumer consumer);
+
+        /**
+         * @param bits bitmap of {@value CONTAINER_SIZE} bits
+         * @return canonical container or {@code null} if empty
+         */
+        @Nullable
+        static Container of(long @NotNull [] bits) {
+            int cardinality = 0;
+            for (long word : bits) cardinality += Long.bitCount(word);
+            if (cardinality == 0) return null;
+            if (cardinality == CONTAINER_SIZE) return FullContainer.INSTANCE;
+            if (ARRAY_MAX_SIZE < cardinality) return new BitmapContainer(bits, cardinality);
+            char[] values = new char[cardinality];
+            int size = 0;
+            for (int i = 0; i < bits.length; i++)
+                for (long word = bits[i]; word != 0; word &= word - 1)
+                    values[size++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+            return new ArrayContainer(values);
+        }
+
+        @NotNull
+        static Container ofRange(int first, int last) {
+            int size = last - first + 1;
+            if (size == CONTAINER_SIZE) return FullContainer.INSTANCE;
+            if (ARRAY_MAX_SIZE < size) {
+                long[] bits = new long[CONTAINER_SIZE / 64];
+                for (int i = first; i <= last; i++) bits[i >>> 6] |= 1L << i;
+                return new BitmapContainer(bits, size);
+            }
+            char[] values = new char[size];
+            for (int i = 0; i < size; i++) values[i] = (char) (first + i);
+            return new ArrayContainer(values);
+        }
+
+        @NotNull
+        static Container union(@NotNull Container a, @NotNull Container b) {
+            if (a instanceof FullContainer || b instanceof FullContainer) return FullContainer.INSTANCE;
+            if (a instanceof ArrayContainer && b instanceof ArrayContainer) {
+                char[] x = ((ArrayContainer) a).values;
+                char[] y = ((ArrayContainer) b).values;
+                char[] values = new char[x.length + y.length];
+                int i = 0, j = 0, size = 0;
+                while (i < x.length || j < y.length) {
+                    if (j == y.length || i < x.length && x[i] < y[j]) values[size++] = x[i++];
+                    else if (i == x.length || y[j] < x[i]) values[size++] = y[j++];
+                    else {
+                        values[size++] = x[i++];
+                        j++;
+                    }
+                }
+                if (size <= ARRAY_MAX_SIZE) return new ArrayContainer(Arrays.copyOf(values, size));
+            }
+            long[] bits = a.toBitmap();
+            long[] other = b.toBitmap();
+            for (int i = 0; i < bits.length; i++) bits[i] |= other[i];
+            return Objects.requireNonNull(of(bits));
+        }
+
+        @Nullable
+        static Container intersection(@NotNull Container a, @NotNull Container b) {
+            if (a instanceof FullContainer) return b;
+            if (b instanceof FullContainer) return a;
+            if (b instanceof ArrayContainer) {
+                Container swap = a;
+                a = b;
+                b = swap;
+            }
+            if (a instanceof ArrayContainer) {
+                char[] x = ((ArrayContainer) a).values;
+                char[] values = new char[x.length];
+                int size = 0;
+                for (char value : x) if (b.contains(value)) values[size++] = value;
+                return size == 0 ? null : new ArrayContainer(Arrays.copyOf(values, size));
+            }
+            long[] bits = a.toBitmap();
+            long[] other = ((BitmapContainer) b).bits;
+            for (int i = 0; i < bits.length; i++) bits[i] &= other[i];
+            return of(bits);
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        private final char[] values;
+
+        private ArrayContainer(char @NotNull [] values) {
+            this.values = values;
+        }
+
+        @Override
+        int cardinality() {
+            return values.length;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return 0 <= Arrays.binarySearch(values, value);
+        }
+
+        @Override
+        long @NotNull [] toBitmap() {
+            long[] bits = new long[CONTAINER_SIZE / 64];
+            for (char value : values) bits[value >>> 6] |= 1L << value;
+            return bits;
+        }
+
+        @Override
+        void forEachRange(long base, @NotNull RangeConsumer consumer) {
+            for (int i = 0; i < values.length; ) {
+                int first = values[i];
+                int last = first;
+                while (++i < values.length && values[i] == last + 1) last++;
+                consumer.accept(base + first, base + last);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ArrayContainer && Arrays.equals(values, ((ArrayContainer) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] bits;
+        private final int cardinality;
+
+        private BitmapContainer(long @NotNull [] bits, int cardinality) {
+            this.bits = bits;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (bits[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        long @NotNull [] toBitmap() {
+            return bits.clone();
+        }
+
+        @Override
+        void forEachRange(long base, @NotNull RangeConsumer consumer) {
+            int first = nextBit(0, true);
+            while (first < CONTAINER_SIZE) {
+                int end = nextBit(first, false);
+                consumer.accept(base + first, base + end - 1);
+                first = nextBit(end, true);
+            }
+        }
+
+        /**
+         * @return index of next set or clear bit at or after {@code from} or {@value CONTAINER_SIZE}
+         */
+        private int nextBit(int from, boolean set) {
+            if (CONTAINER_SIZE <= from) return CONTAINER_SIZE;
+            int index = from >>> 6;
+            long word = (set ? bits[index] : ~bits[index]) & -1L << from;
+            while (word == 0) {
+                if (++index == bits.length) return CONTAINER_SIZE;
+                word = set ? bits[index] : ~bits[index];
+            }
+            return index << 6 | Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof BitmapContainer && Arrays.equals(bits, ((BitmapContainer) o).bits);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(bits);
+        }
+    }
+
+    private static final class FullContainer extends Container {
+        private static final FullContainer INSTANCE = new FullContainer();
+
+        @Override
+        int cardinality() {
+            return CONTAINER_SIZE;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return true;
+        }
+
+        @Override
+        long @NotNull [] toBitmap() {
+            long[] bits = new long[CONTAINER_SIZE / 64];
+            Arrays.fill(bits, -1L);
+            return bits;
+        }
+
+        @Override
+        void forEachRange(long base, @NotNull RangeConsumer consumer) {
+            consumer.accept(base, base + CONTAINER_SIZE - 1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeConsumer {
+        void accept(long first, long last);
+    }
+    //endregion
+}
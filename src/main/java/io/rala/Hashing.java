@@ -0,0 +1,30 @@
+package io.rala;
+
+/**
+ * hash functions for open addressing tables keyed by addresses
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+final class Hashing {
+    private Hashing() {
+    }
+
+    /**
+     * finalizer of MurmurHash3 (fmix32) - every input bit affects every output bit,
+     * so keys aligned to a prefix (zero low bits) still spread over all slots
+     *
+     * @param key key like a masked address
+     * @return mixed key - mask the low bits to get a slot
+     */
+    static int mix(int key) {
+        key ^= key >>> 16;
+        key *= 0x85EBCA6B;
+        key ^= key >>> 13;
+        key *= 0xC2B2AE35;
+        key ^= key >>> 16;
+        return key;
+    }
+}
@@ -0,0 +1,424 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * streaming hierarchical heavy hitter detection of IP addresses<br>
+ * keeps one Space-Saving summary per prefix length with a fixed number of counters
+ *
+ * <p>estimates never underestimate: {@code count - error <= real count <= count}.
+ * the error of every estimate is at most {@code total / capacity}.
+ * an update touches one counter per prefix length and
+ * moves it inside a min-heap of {@code capacity} counters ({@code O(log capacity)}) -
+ * unlike the bucket list of Stream-Summary ({@code O(1)}) the heap needs no objects per count,
+ * so memory is allocated once by the constructor</p>
+ *
+ * <i>instances are not thread-safe</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class HeavyHitterSketch {
+    private static final int[] DEFAULT_PREFIX_LENGTHS = {8, 16, 24, 32};
+
+    private final int capacity;
+    /**
+     * ordered by prefix length descending (most specific first)
+     */
+    private final Level[] levels;
+    private long total;
+
+    /**
+     * uses prefix lengths {@code 8, 16, 24 & 32}
+     *
+     * @param capacity count of counters per prefix length
+     * @see #HeavyHitterSketch(int, int...)
+     * @since 2.2.0
+     */
+    public HeavyHitterSketch(int capacity) {
+        this(capacity, DEFAULT_PREFIX_LENGTHS);
+    }
+
+    /**
+     * @param capacity      count of counters per prefix length
+     * @param prefixLengths prefix lengths to track ({@code 0-32})
+     * @throws IllegalArgumentException if capacity is not positive,
+     *                                  no prefix length is given or a prefix length is invalid
+     * @since 2.2.0
+     */
+    public HeavyHitterSketch(int capacity, int @NotNull ... prefixLengths) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL +
+                Subnet.getExceptionMessageSuffix("capacity", capacity));
+        if (prefixLengths.length == 0)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL +
+                Subnet.getExceptionMessageSuffix("prefix length count", 0));
+        int[] sorted = Arrays.stream(prefixLengths).distinct().sorted().toArray();
+        if (sorted[0] < 0)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + Subnet.EXCEPTION_MESSAGE_SUFFIX_SNM);
+        if (32 < sorted[sorted.length - 1])
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + Subnet.EXCEPTION_MESSAGE_SUFFIX_SNM);
+        this.capacity = capacity;
+        this.levels = new Level[sorted.length];
+        for (int i = 0; i < sorted.length; i++)
+            levels[i] = new Level(sorted[sorted.length - 1 - i], capacity);
+    }
+
+    //region add
+
+    /**
+     * counts {@code ip} once
+     *
+     * @param ip IP address (first quad in the highest byte)
+     * @see #add(int, long)
+     * @since 2.2.0
+     */
+    public void add(int ip) {
+        add(ip, 1);
+    }
+
+    /**
+     * @param ip     IP address (first quad in the highest byte)
+     * @param weight weight (like count of packets or bytes)
+     * @throws IllegalArgumentException if weight is negative
+     * @since 2.2.0
+     */
+    public void add(int ip, long weight) {
+        if (weight < 0)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL +
+                Subnet.getExceptionMessageSuffix("weight", weight));
+        total += weight;
+        for (Level level : levels) level.add(ip & level.mask, weight);
+    }
+    //endregion
+
+    //region getter
+
+    /**
+     * @return count of counters per prefix length
+     * @since 2.2.0
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return sum of all weights
+     * @since 2.2.0
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return upper bound of the error of every estimate
+     * @since 2.2.0
+     */
+    public long getMaximumError() {
+        return total / capacity;
+    }
+
+    /**
+     * @param prefixLength tracked prefix length
+     * @return estimates ordered by count descending
+     * @throws IllegalArgumentException if prefix length is not tracked
+     * @since 2.2.0
+     */
+    @NotNull
+    public List<@NotNull Estimate> getEstimates(int prefixLength) {
+        List<Estimate> estimates = getLevel(prefixLength).getEstimates();
+        estimates.sort(Comparator.comparingLong(Estimate::getCount).reversed());
+        return estimates;
+    }
+
+    /**
+     * hierarchical heavy hitters: a Subnet is reported
+     * if its count without the counts of reported more specific Subnets
+     * reaches {@code fraction} of {@link #getTotal()}
+     *
+     * @param fraction fraction of total ({@code 0-1})
+     * @return heavy hitters ordered by prefix length descending &amp; count descending
+     * @throws IllegalArgumentException if fraction is out of range
+     * @since 2.2.0
+     */
+    @NotNull
+    public List<@NotNull Estimate> getHeavyHitters(double fraction) {
+        if (!(0 <= fraction))
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL +
+                Subnet.getExceptionMessageSuffix("fraction", fraction));
+        if (1 < fraction)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE +
+                Subnet.getExceptionMessageSuffix("fraction", fraction));
+        double threshold = fraction * total;
+        List<Estimate> heavyHitters = new ArrayList<>();
+        // masked key -> sum of counts of most general reported Subnets inside it
+        Map<Integer, Long> reportedDescendants = new HashMap<>();
+        for (Level level : levels) {
+            Map<Integer, Long> descendants = new HashMap<>();
+            reportedDescendants.forEach((key, count) -> descendants.merge(key & level.mask, count, Long::sum));
+            List<Estimate> reported = new ArrayList<>();
+            for (Estimate estimate : level.getEstimates()) {
+                int key = estimate.getSubnet().getIpAsInt();
+                if (threshold <= estimate.getCount() - descendants.getOrDefault(key, 0L)) {
+                    reported.add(estimate);
+                    descendants.put(key, estimate.getCount()); // covers its descendants
+                }
+            }
+            reported.sort(Comparator.comparingLong(Estimate::getCount).reversed());
+            heavyHitters.addAll(reported);
+            reportedDescendants = descendants;
+        }
+        return heavyHitters;
+    }
+    //endregion
+
+    /**
+     * @param prefixLength tracked prefix length
+     * @return longest count of probed slots of any counter in the hash table
+     * @throws IllegalArgumentException if prefix length is not tracked
+     */
+    int getMaximumProbeLength(int prefixLength) {
+        return getLevel(prefixLength).getMaximumProbeLength();
+    }
+
+    @NotNull
+    private Level getLevel(int prefixLength) {
+        for (Level level : levels)
+            if (level.prefixLength == prefixLength) return level;
+        throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_NOT_SUPPORTED +
+            Subnet.getExceptionMessageSuffix("prefix length", prefixLength));
+    }
+
+    /**
+     * estimated count of a Subnet
+     *
+     * @since 2.2.0
+     */
+    public static final class Estimate {
+        private final Subnet subnet;
+        private final long count;
+        private final long error;
+
+        private Estimate(@NotNull Subnet subnet, long count, long error) {
+            this.subnet = subnet;
+            this.count = count;
+            this.error = error;
+        }
+
+        /**
+         * @return Subnet
+         * @since 2.2.0
+         */
+        @NotNull
+        public Subnet getSubnet() {
+            return subnet;
+        }
+
+        /**
+         * @return estimated count (upper bound)
+         * @since 2.2.0
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return maximal overestimation
+         * @since 2.2.0
+         */
+        public long getError() {
+            return error;
+        }
+
+        /**
+         * @return guaranteed count (lower bound)
+         * @since 2.2.0
+         */
+        public long getGuaranteedCount() {
+            return count - error;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Estimate)) return false;
+            Estimate estimate = (Estimate) o;
+            return count == estimate.count && error == estimate.error && subnet.equals(estimate.subnet);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(subnet, count, error);
+        }
+
+        /**
+         * @return Subnet in CIDR notation, count &amp; error (like {@code 10.0.0.0/8 42 +/-3})
+         */
+        @Override
+        @NotNull
+        public String toString() {
+            return subnet.toCidrString() + " " + count + " +/-" + error;
+        }
+    }
+
+    /**
+     * Space-Saving summary: min-heap of counters
+     * and a linear probing hash table from key to heap position
+     */
+    private static final class Level {
+        private final int prefixLength;
+        private final int mask;
+        private final int capacity;
+        // heap (by count)
+        private final int[] keys;
+        private final long[] counts;
+        private final long[] errors;
+        private final int[] tableIndices;
+        private int size;
+        // hash table
+        private final int[] tableKeys;
+        private final int[] tablePositions;
+        private final int tableMask;
+
+        private Level(int prefixLength, int capacity) {
+            this.prefixLength = prefixLength;
+            this.mask = Subnet.convertPrefixLengthToInt(prefixLength);
+            this.capacity = capacity;
+            this.keys = new int[capacity];
+            this.counts = new long[capacity];
+            this.errors = new long[capacity];
+            this.tableIndices = new int[capacity];
+            int tableCapacity = Integer.highestOneBit(capacity * 2 - 1) << 1;
+            this.tableKeys = new int[tableCapacity];
+            this.tablePositions = new int[tableCapacity];
+            Arrays.fill(tablePositions, -1);
+            this.tableMask = tableCapacity - 1;
+        }
+
+        private void add(int key, long weight) {
+            int slot = find(key);
+            int position = tablePositions[slot];
+            if (0 <= position) {
+                counts[position] += weight;
+            } else if (size < capacity) {
+                position = size++;
+                keys[position] = key;
+                counts[position] = weight;
+                errors[position] = 0;
+                link(slot, key, position);
+                siftUp(position);
+                return;
+            } else { // replace minimum
+                position = 0;
+                unlink(tableIndices[position]);
+                keys[position] = key;
+                errors[position] = counts[position];
+                counts[position] += weight;
+                link(find(key), key, position);
+            }
+            siftDown(position);
+        }
+
+        @NotNull
+        private List<Estimate> getEstimates() {
+            List<Estimate> estimates = new ArrayList<>(size);
+            for (int i = 0; i < size; i++)
+                estimates.add(new Estimate(Subnet.of(keys[i], prefixLength).setUnmodifiable(), counts[i], errors[i]));
+            return estimates;
+        }
+
+        //region heap
+
+        private void siftUp(int position) {
+            while (0 < position) {
+                int parent = (position - 1) >>> 1;
+                if (counts[parent] <= counts[position]) return;
+                swap(parent, position);
+                position = parent;
+            }
+        }
+
+        private void siftDown(int position) {
+            while (true) {
+                int child = position * 2 + 1;
+                if (size <= child) return;
+                if (child + 1 < size && counts[child + 1] < counts[child]) child++;
+                if (counts[position] <= counts[child]) return;
+                swap(position, child);
+                position = child;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+            long count = counts[i];
+            counts[i] = counts[j];
+            counts[j] = count;
+            long error = errors[i];
+            errors[i] = errors[j];
+            errors[j] = error;
+            int tableIndex = tableIndices[i];
+            tableIndices[i] = tableIndices[j];
+            tableIndices[j] = tableIndex;
+            tablePositions[tableIndices[i]] = i;
+            tablePositions[tableIndices[j]] = j;
+        }
+        //endregion
+
+        //region hash table
+
+        /**
+         * @return slot of {@code key} or the empty slot to insert it
+         */
+        private int find(int key) {
+            int slot = slot(key);
+            while (0 <= tablePositions[slot] && tableKeys[slot] != key) slot = (slot + 1) & tableMask;
+            return slot;
+        }
+
+        private void link(int slot, int key, int position) {
+            tableKeys[slot] = key;
+            tablePositions[slot] = position;
+            tableIndices[position] = slot;
+        }
+
+        /**
+         * removes the entry at {@code slot} and shifts following entries back
+         */
+        private void unlink(int slot) {
+            int empty = slot;
+            int next = slot;
+            while (true) {
+                next = (next + 1) & tableMask;
+                if (tablePositions[next] < 0) break;
+                int home = slot(tableKeys[next]);
+                // move back if home is not cyclically in (empty, next]
+                if (((next - home) & tableMask) < ((next - empty) & tableMask)) continue;
+                link(empty, tableKeys[next], tablePositions[next]);
+                empty = next;
+            }
+            tablePositions[empty] = -1;
+        }
+
+        private int getMaximumProbeLength() {
+            int maximum = 0;
+            for (int slot = 0; slot <= tableMask; slot++)
+                if (0 <= tablePositions[slot])
+                    maximum = Math.max(maximum, ((slot - slot(tableKeys[slot])) & tableMask) + 1);
+            return maximum;
+        }
+
+        /**
+         * keys are masked addresses - their low bits are zero
+         */
+        private int slot(int key) {
+            return Hashing.mix(key) & tableMask;
+        }
+        //endregion
+    }
+}
@@ -0,0 +1,276 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * probabilistic pre-screening filter for IP addresses (Bloom filter)<br>
+ * answers if an IP address might be inside one of the Subnets - without false negatives
+ *
+ * <p>every Subnet is stored as its (Subnet ID, prefix length) pair.
+ * a lookup computes one 64 bit hash per distinct prefix length
+ * and derives all bit positions from it (double hashing).
+ * the configured false positive rate is split evenly over the prefix lengths</p>
+ *
+ * <i>instances are immutable and thread-safe</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class PrefixFilter {
+    private static final int MAGIC = 0x50464C54; // PFLT
+    private static final int VERSION = 1;
+    private static final int MAX_HASH_COUNT = 32;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES + Long.BYTES;
+    private static final String FORMAT_SUFFIX = Subnet.getExceptionMessageSuffix("format", "PrefixFilter");
+
+    /**
+     * bit {@code p} is set if prefix length {@code p} is present
+     */
+    private final long prefixLengthBits;
+    private final int[] prefixLengths;
+    private final int[] masks;
+    private final int hashCount;
+    private final long bitCount;
+    private final long[] bits;
+
+    /**
+     * @param subnets           Subnets
+     * @param falsePositiveRate probability of a false positive ({@code 0-1} exclusive)
+     * @throws IllegalArgumentException if false positive rate is out of range
+     * @since 2.2.0
+     */
+    public PrefixFilter(@NotNull Collection<@NotNull Subnet> subnets, double falsePositiveRate) {
+        if (!(0 < falsePositiveRate))
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL +
+                Subnet.getExceptionMessageSuffix("false positive rate", falsePositiveRate));
+        if (1 <= falsePositiveRate)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE +
+                Subnet.getExceptionMessageSuffix("false positive rate", falsePositiveRate));
+        Set<Long> keys = new HashSet<>();
+        long prefixLengthBits = 0;
+        for (Subnet subnet : subnets) {
+            int prefixLength = subnet.getPrefixLength();
+            keys.add(key(subnet.getIpAsInt() & subnet.getSubnetmaskAsInt(), prefixLength));
+            prefixLengthBits |= 1L << prefixLength;
+        }
+        double rate = falsePositiveRate / Math.max(1, Long.bitCount(prefixLengthBits));
+        int count = Math.max(1, keys.size());
+        double optimalBitCount = -count * Math.log(rate) / (Math.log(2) * Math.log(2));
+        this.prefixLengthBits = prefixLengthBits;
+        this.prefixLengths = toPrefixLengths(prefixLengthBits);
+        this.masks = toMasks(prefixLengths);
+        this.hashCount = (int) Math.max(1, Math.min(MAX_HASH_COUNT, Math.round(optimalBitCount / count * Math.log(2))));
+        // whole longs - at most 2^32 bits
+        this.bits = new long[(int) Math.max(1, Math.min(1 << 26, Math.ceil(optimalBitCount / 64)))];
+        this.bitCount = (long) bits.length * 64;
+        for (long key : keys) {
+            long hash = hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = index(h1 + i * h2);
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+    }
+
+    private PrefixFilter(long prefixLengthBits, int hashCount, long @NotNull [] bits) {
+        this.prefixLengthBits = prefixLengthBits;
+        this.prefixLengths = toPrefixLengths(prefixLengthBits);
+        this.masks = toMasks(prefixLengths);
+        this.hashCount = hashCount;
+        this.bitCount = (long) bits.length * 64;
+        this.bits = bits;
+    }
+
+    //region mightContain
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return {@code false} if no Subnet contains {@code ip} -
+     * {@code true} if a Subnet might contain {@code ip}
+     * @since 2.2.0
+     */
+    public boolean mightContain(int ip) {
+        for (int i = 0; i < prefixLengths.length; i++)
+            if (mightContainKey(key(ip & masks[i], prefixLengths[i]))) return true;
+        return false;
+    }
+
+    /**
+     * @param subnet Subnet
+     * @return {@code false} if {@code subnet} was not added -
+     * {@code true} if it might have been added
+     * @since 2.2.0
+     */
+    public boolean mightContain(@NotNull Subnet subnet) {
+        int prefixLength = subnet.getPrefixLength();
+        return (prefixLengthBits & 1L << prefixLength) != 0 &&
+            mightContainKey(key(subnet.getIpAsInt() & subnet.getSubnetmaskAsInt(), prefixLength));
+    }
+
+    private boolean mightContainKey(long key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits[(int) (bit >>> 6)] & 1L << bit) == 0) return false;
+        }
+        return true;
+    }
+    //endregion
+
+    //region getter
+
+    /**
+     * @return distinct prefix lengths ascending
+     * @since 2.2.0
+     */
+    public int @NotNull [] getPrefixLengths() {
+        return prefixLengths.clone();
+    }
+
+    /**
+     * @return count of bits tested per prefix length
+     * @since 2.2.0
+     */
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * @return size of the bit array
+     * @since 2.2.0
+     */
+    public long getBitCount() {
+        return bitCount;
+    }
+    //endregion
+
+    //region serialization
+
+    /**
+     * @return count of bytes needed by {@link #writeTo(ByteBuffer)}
+     * @since 2.2.0
+     */
+    public int getSerializedSize() {
+        return HEADER_SIZE + bits.length * Long.BYTES;
+    }
+
+    /**
+     * writes this filter in the byte order of {@code buffer}
+     *
+     * @param buffer buffer with at least {@link #getSerializedSize()} remaining bytes
+     * @return {@code buffer}
+     * @throws BufferOverflowException if there are not enough remaining bytes
+     * @see #readFrom(ByteBuffer)
+     * @since 2.2.0
+     */
+    @NotNull
+    public ByteBuffer writeTo(@NotNull ByteBuffer buffer) {
+        if (buffer.remaining() < getSerializedSize()) throw new BufferOverflowException();
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(prefixLengthBits).putInt(hashCount).putInt(bits.length);
+        for (long word : bits) buffer.putLong(word);
+        return buffer;
+    }
+
+    /**
+     * reads a filter in the byte order of {@code buffer}
+     *
+     * @param buffer buffer written by {@link #writeTo(ByteBuffer)}
+     * @return filter
+     * @throws IllegalArgumentException if buffer does not contain a valid filter
+     * @since 2.2.0
+     */
+    @NotNull
+    public static PrefixFilter readFrom(@NotNull ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_FORMAT_NOT_SUPPORTED + FORMAT_SUFFIX);
+        int version = buffer.getInt();
+        if (version != VERSION)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_FORMAT_VERSION_NOT_SUPPORTED +
+                Subnet.getExceptionMessageSuffix("version", version));
+        long prefixLengthBits = buffer.getLong();
+        int hashCount = buffer.getInt();
+        int length = buffer.getInt();
+        if (prefixLengthBits >>> 33 != 0 || hashCount <= 0 || MAX_HASH_COUNT < hashCount ||
+            length <= 0 || 1 << 26 < length || buffer.remaining() / Long.BYTES < length)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_CORRUPT + FORMAT_SUFFIX);
+        long[] bits = new long[length];
+        buffer.asLongBuffer().get(bits);
+        buffer.position(buffer.position() + bits.length * Long.BYTES);
+        return new PrefixFilter(prefixLengthBits, hashCount, bits);
+    }
+    //endregion
+
+    //region override
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof PrefixFilter)) return false;
+        PrefixFilter filter = (PrefixFilter) o;
+        return prefixLengthBits == filter.prefixLengthBits && hashCount == filter.hashCount &&
+            Arrays.equals(bits, filter.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(prefixLengthBits, hashCount, Arrays.hashCode(bits));
+    }
+
+    /**
+     * @return prefix lengths, hash count &amp; bit count
+     * (like {@code PrefixFilter{prefixLengths=[16, 24], hashCount=8, bitCount=4096}})
+     */
+    @Override
+    @NotNull
+    public String toString() {
+        return "PrefixFilter{prefixLengths=" + Arrays.toString(prefixLengths) +
+            ", hashCount=" + hashCount + ", bitCount=" + getBitCount() + "}";
+    }
+    //endregion
+
+    /**
+     * @return bit index - multiply-shift instead of modulo
+     */
+    private long index(int hash) {
+        return (Integer.toUnsignedLong(hash) * bitCount) >>> 32;
+    }
+
+    private static long key(int subnetId, int prefixLength) {
+        return Integer.toUnsignedLong(subnetId) << 6 | prefixLength;
+    }
+
+    /**
+     * finalizer of MurmurHash3 (64 bit)
+     */
+    private static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB9FE1A85EC53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static int @NotNull [] toPrefixLengths(long prefixLengthBits) {
+        int[] prefixLengths = new int[Long.bitCount(prefixLengthBits)];
+        int size = 0;
+        for (long rest = prefixLengthBits; rest != 0; rest &= rest - 1)
+            prefixLengths[size++] = Long.numberOfTrailingZeros(rest);
+        return prefixLengths;
+    }
+
+    private static int @NotNull [] toMasks(int @NotNull [] prefixLengths) {
+        int[] masks = new int[prefixLengths.length];
+        for (int i = 0; i < masks.length; i++) masks[i] = Subnet.convertPrefixLengthToInt(prefixLengths[i]);
+        return masks;
+    }
+}
@@ -4,8 +4,13 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
 import java.net.InterfaceAddress;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.function.LongSupplier;
 
 /**
  * IP address and Subnetmask needed to get a Subnet<br>
@@ -25,6 +30,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * <ul>
      * <li>if the IP address throws the error: message ends with {@link #EXCEPTION_MESSAGE_SUFFIX_IP}</li>
      * <li>if the Subnetmask throws the error: message ends with {@link #EXCEPTION_MESSAGE_SUFFIX_SNM}</li>
+     * <li>if another argument throws the error: message ends with {@link #EXCEPTION_MESSAGE_SUFFIX_ARGUMENT}</li>
      * </ul>
      *
      * @see String#startsWith(String)
@@ -33,6 +39,13 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
     public static final String EXCEPTION_MESSAGE = "Subnet Error - ";
     public static final String EXCEPTION_MESSAGE_SUFFIX_IP = " [IP]";
     public static final String EXCEPTION_MESSAGE_SUFFIX_SNM = " [SNM]";
+    /**
+     * {@link String#format(String, Object...) format} of the suffix
+     * with name &amp; value of the argument (like {@code " [shard count: 0]"})
+     *
+     * @since 2.2.0
+     */
+    public static final String EXCEPTION_MESSAGE_SUFFIX_ARGUMENT = " [%s: %s]";
     public static final String ILLEGAL_ARGUMENT_ENTRY_MISSING =
         EXCEPTION_MESSAGE + "Entry missing - maybe the entry is \"\" or \" \"";
     public static final String ILLEGAL_ARGUMENT_ENTRY_NOT_SUPPORTED =
@@ -42,6 +55,10 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
     public static final String ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE =
         EXCEPTION_MESSAGE + "Size of the entry is to large";
 
+    /**
+     * @deprecated the first quad is allowed to be the interesting one since 2.2.0
+     */
+    @Deprecated(since = "2.2.0", forRemoval = true)
     public static final String ILLEGAL_ARGUMENT_SUBNETMASK_FIRST_QUAD_IS_INTERESTING =
         EXCEPTION_MESSAGE + "Subnetmask: first quad is not allowed to be the interesting one"
             + EXCEPTION_MESSAGE_SUFFIX_SNM;
@@ -51,12 +68,86 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
     public static final String ILLEGAL_ARGUMENT_SUBNETMASK_255_TO_0 =
         EXCEPTION_MESSAGE + "Subnetmask: unequal 255 -> next has to be 0"
             + EXCEPTION_MESSAGE_SUFFIX_SNM;
+    /**
+     * @deprecated summarization supports all prefixes from {@code /0} to {@code /32} since 2.2.0
+     */
+    @Deprecated(since = "2.2.0", forRemoval = true)
     public static final String ILLEGAL_ARGUMENT_FIRST_QUAD_IS_NOT_THE_SAME =
         EXCEPTION_MESSAGE + "Summarization: please make sure that both have the same 1. quad"
             + EXCEPTION_MESSAGE_SUFFIX_IP;
 
+    /**
+     * @since 2.2.0
+     */
+    public static final String ILLEGAL_ARGUMENT_NOT_SORTED =
+        EXCEPTION_MESSAGE + "Entries are not sorted";
+    /**
+     * @since 2.2.0
+     */
+    public static final String ILLEGAL_ARGUMENT_RANGE_LAST_BEFORE_FIRST =
+        EXCEPTION_MESSAGE + "Range: last address is before the first one";
+    /**
+     * @since 2.2.0
+     */
+    public static final String ILLEGAL_ARGUMENT_RANGES_OVERLAP =
+        EXCEPTION_MESSAGE + "Ranges overlap";
+    /**
+     * binary data does not start with the magic number of the expected format
+     *
+     * @since 2.2.0
+     */
+    public static final String ILLEGAL_ARGUMENT_FORMAT_NOT_SUPPORTED =
+        EXCEPTION_MESSAGE + "Format not supported";
+    /**
+     * @since 2.2.0
+     */
+    public static final String ILLEGAL_ARGUMENT_FORMAT_VERSION_NOT_SUPPORTED =
+        EXCEPTION_MESSAGE + "Format version not supported";
+    /**
+     * binary data has the expected format but invalid content
+     *
+     * @since 2.2.0
+     */
+    public static final String ILLEGAL_ARGUMENT_CORRUPT =
+        EXCEPTION_MESSAGE + "Data is corrupt";
+    /**
+     * @since 2.2.0
+     */
+    public static final String ILLEGAL_ARGUMENT_CORRUPT_CHECKSUM =
+        ILLEGAL_ARGUMENT_CORRUPT + " - checksum does not match";
+
+    public static final String UNSUPPORTED_OPERATION_UNMODIFIABLE =
+        EXCEPTION_MESSAGE + "Subnet is unmodifiable - use copy() to get a modifiable one";
+
     private static final int[] SNM_ALLOWED = {0, 128, 192, 224, 240, 248, 252, 254, 255};
-    // last Quad: 254+ no usable host (in general)
+    // last Quad: 254 (/31) point-to-point link, 255 (/32) single host
+
+    /**
+     * @param name  name of the argument
+     * @param value value of the argument
+     * @return {@link #EXCEPTION_MESSAGE_SUFFIX_ARGUMENT} with {@code name} &amp; {@code value}
+     */
+    @NotNull
+    static String getExceptionMessageSuffix(@NotNull String name, @Nullable Object value) {
+        return String.format(EXCEPTION_MESSAGE_SUFFIX_ARGUMENT, name, value);
+    }
+    //endregion
+
+    //region lookup tables
+    /**
+     * Class A, B, C and D &amp; E (no subnetting)
+     */
+    static final int CLASS_COUNT = 4;
+    static final int[] CLASS_BITS = {8, 16, 24, 32};
+    /**
+     * everything only depending on the Subnetmask - indexed by prefix length
+     */
+    private static final Mask[] MASKS = new Mask[33];
+
+    static {
+        for (int prefixLength = 0; prefixLength < MASKS.length; prefixLength++)
+            MASKS[prefixLength] = new Mask(prefixLength);
+    }
     //endregion
 
     //region subnet members
@@ -67,6 +158,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
     private int mz = -1;
     private int mzMin = -1;
     private int mzMax = -1;
+    private int prefixLength = -1;
 
     private final int[] subnetIdArray = new int[4];
     private final int[] firstAvailableIpArray = new int[4];
@@ -87,6 +179,8 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
     private String countOfSubnetsString = "";
     private int countOfHosts;
     private String countOfHostsString = "";
+
+    private boolean unmodifiable;
     //endregion
 
     //region constructors
@@ -150,7 +244,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.5.0
      */
     public Subnet(int[] ip) {
-        setIp(ip, false);
+        setIpWithoutRecalculation(ip);
         setSubnetmaskBasedOnClass();
     }
 
@@ -162,8 +256,8 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.3.0
      */
     public Subnet(int[] ip, int[] snm) {
-        setIp(ip, false);
-        setSubnetmask(Arrays.toString(snm).replaceAll("[\\[\\]]", "").split("\\s*,\\s*"));
+        setIpWithoutRecalculation(ip);
+        setSubnetmask(snm);
     }
 
     /**
@@ -173,7 +267,63 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 2.0.1
      */
     public Subnet(@NotNull InterfaceAddress address) {
-        this(address.getAddress().getHostAddress(), "/" + address.getNetworkPrefixLength());
+        this(convertByteArrayToInt(address.getAddress().getAddress()), address.getNetworkPrefixLength());
+    }
+
+    /**
+     * generate a Subnet without any String conversion
+     *
+     * @param ip           IP address (first quad in the highest byte)
+     * @param prefixLength prefix length of the Subnetmask ({@code 0-32})
+     */
+    private Subnet(int ip, int prefixLength) {
+        if (prefixLength < 0)
+            throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + EXCEPTION_MESSAGE_SUFFIX_SNM);
+        else if (32 < prefixLength)
+            throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + EXCEPTION_MESSAGE_SUFFIX_SNM);
+        convertIntToNetworkArray(ip, ipArray);
+        System.arraycopy(MASKS[prefixLength].snm, 0, snmArray, 0, 4);
+        calc();
+    }
+
+    /**
+     * generate a Subnet without any String conversion
+     *
+     * @param ip           IP address (first quad in the highest byte)
+     * @param prefixLength prefix length of the Subnetmask ({@code 0-32})
+     * @return new Subnet
+     * @since 2.2.0
+     */
+    @NotNull
+    public static Subnet of(int ip, int prefixLength) {
+        return new Subnet(ip, prefixLength);
+    }
+
+    /**
+     * generate a Subnet without any String conversion
+     *
+     * @param ip           IP address in network byte order (4 bytes)
+     * @param prefixLength prefix length of the Subnetmask ({@code 0-32})
+     * @return new Subnet
+     * @see InetAddress#getAddress()
+     * @since 2.2.0
+     */
+    @NotNull
+    public static Subnet of(byte[] ip, int prefixLength) {
+        return new Subnet(convertByteArrayToInt(ip), prefixLength);
+    }
+
+    /**
+     * generate a Subnet without any String conversion
+     *
+     * @param ip           IPv4 address
+     * @param prefixLength prefix length of the Subnetmask ({@code 0-32})
+     * @return new Subnet
+     * @since 2.2.0
+     */
+    @NotNull
+    public static Subnet of(@NotNull InetAddress ip, int prefixLength) {
+        return of(ip.getAddress(), prefixLength);
     }
     //endregion
 
@@ -204,18 +354,24 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      */
     @Deprecated(since = "1.5.3", forRemoval = true)
     public void setIp(@NotNull String ip, boolean recalculate) {
+        checkModifiable();
+        SubnetInstrumentation.Probe probe = SubnetInstrumentation.begin(SubnetMetrics.Operation.PARSE);
         if (ip.isBlank())
             throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_MISSING + EXCEPTION_MESSAGE_SUFFIX_IP);
         ip = clearAndAdd0(ip);
 
-        // probably not very efficient; but recalculate shouldn't be used anyway
-        if (recalculate && isSameSubnet(new Subnet(ip, getSubnetmask()))) recalculate = false;
-
         String[] stringArray = ip.split("\\.");
         checkEntryAndConvertSubnetmask(stringArray, true);
+        int snm = getSubnetmaskAsInt();
+        int subnetId = getIpAsInt() & snm;
+        int classId = getIpAsInt() & getClassSubnetmaskAsInt(ipArray[0]);
         for (int i = 0; i < stringArray.length; i++)
             ipArray[i] = Integer.parseInt(stringArray[i]);
-        if (recalculate) setSubnetmask(getSubnetmask());
+        // same Subnet & class ID (includes the class): nothing to recalculate
+        int newIp = getIpAsInt();
+        if (recalculate && ((newIp & snm) != subnetId || (newIp & getClassSubnetmaskAsInt(ipArray[0])) != classId))
+            setSubnetmask(getSubnetmask());
+        SubnetInstrumentation.end(probe, ip, -1, 1);
     }
 
     /**
@@ -253,7 +409,13 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.3.0
      */
     public void setIp(int[] ip) {
-        setIp(convertNetworkArrayToString(ip));
+        checkModifiable();
+        if (!isDecimalNetworkArray(ip)) {
+            setIp(convertNetworkArrayToString(ip));
+            return;
+        }
+        copyNetworkArray(ip, ipArray);
+        calc();
     }
 
     /**
@@ -281,8 +443,16 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.0.0
      */
     public void setSubnetmask(@NotNull String snm) {
+        checkModifiable();
+        SubnetInstrumentation.Probe probe = SubnetInstrumentation.begin(SubnetMetrics.Operation.PARSE);
         if (snm.isBlank())
             throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_MISSING + EXCEPTION_MESSAGE_SUFFIX_SNM);
+        if (testPrefix(snm)) {
+            System.arraycopy(MASKS[convertPrefixAndValidate(snm)].snm, 0, snmArray, 0, 4);
+            calc();
+            SubnetInstrumentation.end(probe, snm, prefixLength, 1);
+            return;
+        }
         snm = clearAndAdd0(snm);
 
         String[] stringArray = snm.split("\\.");
@@ -291,6 +461,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
             snmArray[i] = Integer.parseInt(stringArray[i]);
 
         calc();
+        SubnetInstrumentation.end(probe, snm, prefixLength, 1);
     }
 
     /**
@@ -310,7 +481,13 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.3.0
      */
     public void setSubnetmask(int[] snm) {
-        setSubnetmask(convertNetworkArrayToString(snm));
+        checkModifiable();
+        if (!isDecimalNetworkArray(snm) || !isContiguous(convertNetworkArrayToInt(copyNetworkArray(snm, new int[4])))) {
+            setSubnetmask(convertNetworkArrayToString(snm));
+            return;
+        }
+        copyNetworkArray(snm, snmArray);
+        calc();
     }
 
     /**
@@ -333,7 +510,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      */
     @NotNull
     public String getIp() {
-        return convertNetworkArrayToString(getIpAsArray());
+        return convertNetworkArrayToString(ipArray);
     }
 
     /**
@@ -341,7 +518,16 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.0.0
      */
     public int[] getIpAsArray() {
-        return ipArray;
+        return exposed(ipArray);
+    }
+
+    /**
+     * @return IP address as int (first quad in the highest byte)
+     * @see #of(int, int)
+     * @since 2.2.0
+     */
+    public int getIpAsInt() {
+        return convertNetworkArrayToInt(ipArray);
     }
 
     /**
@@ -350,7 +536,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      */
     @NotNull
     public String getSubnetmask() {
-        return convertNetworkArrayToString(getSubnetmaskAsArray());
+        return convertNetworkArrayToString(snmArray);
     }
 
     /**
@@ -358,7 +544,23 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.0.0
      */
     public int[] getSubnetmaskAsArray() {
-        return snmArray;
+        return exposed(snmArray);
+    }
+
+    /**
+     * @return Subnetmask as int (first quad in the highest byte)
+     * @since 2.2.0
+     */
+    public int getSubnetmaskAsInt() {
+        return convertNetworkArrayToInt(snmArray);
+    }
+
+    /**
+     * @return Prefix length of the Subnetmask ({@code 0-32})
+     * @since 2.2.0
+     */
+    public int getPrefixLength() {
+        return prefixLength;
     }
 
     /**
@@ -375,7 +577,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.0.0
      */
     public int[] getWildmarkMaskAsArray() {
-        return wildArray;
+        return exposed(wildArray);
     }
 
     /**
@@ -420,7 +622,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      */
     @NotNull
     public String getSubnetId() {
-        return convertNetworkArrayToString(getSubnetIdAsArray());
+        return convertNetworkArrayToString(subnetIdArray);
     }
 
     /**
@@ -428,7 +630,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.0.0
      */
     public int[] getSubnetIdAsArray() {
-        return subnetIdArray;
+        return exposed(subnetIdArray);
     }
 
     /**
@@ -437,7 +639,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      */
     @NotNull
     public String getFirstAvailableIp() {
-        return convertNetworkArrayToString(getFirstAvailableIpAsArray());
+        return convertNetworkArrayToString(firstAvailableIpArray);
     }
 
     /**
@@ -445,7 +647,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.0.0
      */
     public int[] getFirstAvailableIpAsArray() {
-        return firstAvailableIpArray;
+        return exposed(firstAvailableIpArray);
     }
 
     /**
@@ -454,7 +656,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      */
     @NotNull
     public String getLastAvailableIp() {
-        return convertNetworkArrayToString(getLastAvailableIpAsArray());
+        return convertNetworkArrayToString(lastAvailableIpArray);
     }
 
     /**
@@ -462,7 +664,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.0.0
      */
     public int[] getLastAvailableIpAsArray() {
-        return lastAvailableIpArray;
+        return exposed(lastAvailableIpArray);
     }
 
     /**
@@ -471,7 +673,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      */
     @NotNull
     public String getBroadCastIp() {
-        return convertNetworkArrayToString(getBroadCastIpAsArray());
+        return convertNetworkArrayToString(broadCastIpArray);
     }
 
     /**
@@ -479,7 +681,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.0.0
      */
     public int[] getBroadCastIpAsArray() {
-        return broadCastIpArray;
+        return exposed(broadCastIpArray);
     }
 
     /**
@@ -488,7 +690,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      */
     @NotNull
     public String getClassId() {
-        return convertNetworkArrayToString(getClassIdAsArray());
+        return convertNetworkArrayToString(classIdArray);
     }
 
     /**
@@ -496,7 +698,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.0.0
      */
     public int[] getClassIdAsArray() {
-        return classIdArray;
+        return exposed(classIdArray);
     }
 
     /**
@@ -505,7 +707,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      */
     @NotNull
     public String getClassSubnetmask() {
-        return convertNetworkArrayToString(getClassSubnetmaskAsArray());
+        return convertNetworkArrayToString(classSubnetmaskArray);
     }
 
     /**
@@ -513,7 +715,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.0.0
      */
     public int[] getClassSubnetmaskAsArray() {
-        return classSubnetmaskArray;
+        return exposed(classSubnetmaskArray);
     }
 
     /**
@@ -616,14 +818,18 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.0.0
      */
     public boolean isSupernetting() {
-        if (223 < ipArray[0]) // Class D & E; 224 and above: no supernet
-            return false;
-        else if (191 < ipArray[0]) // Class C: SUPERNETTING: only if 192-223
-            return (8 - getZeroCount()) < 0;
-        else if (127 < ipArray[0]) // Class B: ONLY if 128-191
-            return (16 - getZeroCount()) < 0;
-        else // Class A: ONLY if 0-127
-            return (24 - getZeroCount()) < 0;
+        int classIndex = getClassIndex(ipArray[0]);
+        // Class D & E: no supernet
+        return classIndex < CLASS_COUNT - 1 && prefixLength < CLASS_BITS[classIndex];
+    }
+
+    /**
+     * @return class index &amp; flags of the IP address (private, loopback, multicast, ...)
+     * @see AddressClassification#classify(int)
+     * @since 2.2.0
+     */
+    public int getClassification() {
+        return AddressClassification.classify(getIpAsInt());
     }
     //endregion
 
@@ -631,86 +837,50 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
 
     /**
      * <p>summarize current network with other Subnet</p>
-     * <p>if {@link #getIp()} is the same, the subnetmask is set to {@code '/30'}</p>
+     * <p>the summarized network is the smallest one containing both networks</p>
      *
      * @param s Subnet to summarize
-     * @return the summarized network or {@code null} if any {@link #getIq()} returns {@code -1}
-     * @throws IllegalArgumentException if first quad is not the same
+     * @return the summarized network
      * @see #summarize(Subnet...)
      * @see #summarize(Collection)
      * @since 1.0.0
      */
-    @Nullable
+    @NotNull
     public Subnet summarize(@NotNull Subnet s) {
-        if (this.getIq() == -1 || s.getIq() == -1) return null;
-        if (this.getIpAsArray()[0] != (s.getIpAsArray()[0]))
-            throw new IllegalArgumentException(ILLEGAL_ARGUMENT_FIRST_QUAD_IS_NOT_THE_SAME);
-        if (getIp().equals(s.getIp())) return new Subnet(getIp(), "/30");
-
-        String[] ip1Array = new String[4];
-        String[] ip2Array = new String[4];
-        for (int i = 0; i < 4; i++) {
-            ip1Array[i] = Integer.toBinaryString(this.getIpAsArray()[i]);
-            ip2Array[i] = Integer.toBinaryString(s.getIpAsArray()[i]);
-            for (int j = ip1Array[i].length(); j < 8; j++) ip1Array[i] = "0" + ip1Array[i];
-            for (int j = ip2Array[i].length(); j < 8; j++) ip2Array[i] = "0" + ip2Array[i];
-        }
-        String ip1 = convertNetworkArrayToString(ip1Array);
-        String ip2 = convertNetworkArrayToString(ip2Array);
-        if (ip1.length() != 35 || ip2.length() != 35) return null;
-
-        Subnet summarization = null;
-        for (int i = 35; 0 < i; i--) {
-            if (ip1.substring(0, i).equals(ip2.substring(0, i))) {
-                String ipSub = ip1.substring(0, i).replace(".", "");
-                int len = ipSub.length();
-                StringBuilder ipSubBuilder = new StringBuilder(ipSub);
-                ipSubBuilder.append("0".repeat(Math.max(0, 33 - ipSubBuilder.length())));
-                ipSub = ipSubBuilder.toString();
-                StringBuilder ipSubF = new StringBuilder();
-                for (int j = 0; j < 32; j++) {
-                    ipSubF.append(ipSub.charAt(j));
-                    if ((j + 1) % 8 == 0) ipSubF.append(".");
-                    if (j == 31) ipSub = ipSubF.toString();
-                }
-                String[] ip = convertBinaryNetworkAddressToDecimalStringArray(ipSub);
-
-                if (len == 32) len = 30; // calculation should be 31 - but no usable address
-                StringBuilder snmStringBuilder = new StringBuilder();
-                for (int j = 0; j < 32; j++) {
-                    if (j < len) snmStringBuilder.append("1");
-                    else snmStringBuilder.append("0");
-                    if ((j + 1) % 8 == 0 && j < 31) snmStringBuilder.append(".");
-                }
-                String[] snm = convertBinaryNetworkAddressToDecimalStringArray(snmStringBuilder.toString());
+        SubnetInstrumentation.Probe probe = SubnetInstrumentation.begin(SubnetMetrics.Operation.SUMMARIZE);
+        Subnet summarized = summarizeWith(s);
+        SubnetInstrumentation.end(probe, null, summarized.getPrefixLength(), 2);
+        return summarized;
+    }
 
-                summarization = new Subnet(ip, snm);
-                break;
-            }
-        }
-        return summarization;
+    /**
+     * @see #summarize(Subnet)
+     */
+    @NotNull
+    private Subnet summarizeWith(@NotNull Subnet s) {
+        int id1 = this.getIpAsInt() & this.getSubnetmaskAsInt();
+        int id2 = s.getIpAsInt() & s.getSubnetmaskAsInt();
+        int prefixLength = Math.min(Integer.numberOfLeadingZeros(id1 ^ id2),
+            Math.min(this.getPrefixLength(), s.getPrefixLength()));
+        int snm = convertPrefixLengthToInt(prefixLength);
+        return new Subnet(convertIntToNetworkArray(id1 & snm), convertIntToNetworkArray(snm));
     }
 
     /**
      * summarize current network with other Subnets
      *
      * @param s Subnets to summarize
-     * @return the summarized network or {@code null}
-     * @throws IllegalArgumentException if first quad is not the same
+     * @return the summarized network
      * @see #summarize(Subnet)
      * @see #summarize(Collection)
      * @since 2.0.5
      */
-    @Nullable
+    @NotNull
     public Subnet summarize(@NotNull Subnet... s) {
+        SubnetInstrumentation.Probe probe = SubnetInstrumentation.begin(SubnetMetrics.Operation.SUMMARIZE);
         Subnet summarized = this;
-        for (Subnet subnet : s)
-            if (this.getIpAsArray()[0] != subnet.getIpAsArray()[0])
-                throw new IllegalArgumentException(ILLEGAL_ARGUMENT_FIRST_QUAD_IS_NOT_THE_SAME);
-            else {
-                summarized = summarized.summarize(subnet);
-                if (summarized == null) return null;
-            }
+        for (Subnet subnet : s) summarized = summarized.summarizeWith(subnet);
+        SubnetInstrumentation.end(probe, null, summarized.getPrefixLength(), s.length + 1L);
         return summarized;
     }
 
@@ -718,13 +888,12 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * summarize current network with other Subnets
      *
      * @param s Subnets to summarize
-     * @return the summarized network or {@code null}
-     * @throws IllegalArgumentException if first quad is not the same
+     * @return the summarized network
      * @see #summarize(Subnet)
      * @see #summarize(Subnet...)
      * @since 2.0.5
      */
-    @Nullable
+    @NotNull
     public Subnet summarize(@NotNull Collection<@NotNull Subnet> s) {
         return summarize(s.toArray(new Subnet[0]));
     }
@@ -739,20 +908,15 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
     @NotNull
     @Unmodifiable
     public Set<@NotNull Subnet> getSubnets() {// see getSubnets(from, to)
+        SubnetInstrumentation.Probe probe = SubnetInstrumentation.begin(SubnetMetrics.Operation.ENUMERATE);
         Set<Subnet> subnets = new TreeSet<>();
         for (int iqCount = 0; iqCount <= 255; iqCount += getMagicNumber()) {
-            switch (getIq()) {
-                case 1:
-                    subnets.add(new Subnet(new int[]{getIpAsArray()[0], iqCount, 0, 0}, getSubnetmaskAsArray()));
-                    break;
-                case 2:
-                    subnets.add(new Subnet(new int[]{getIpAsArray()[0], getIpAsArray()[1], iqCount, 0}, getSubnetmaskAsArray()));
-                    break;
-                case 3:
-                    subnets.add(new Subnet(new int[]{getIpAsArray()[0], getIpAsArray()[1], getIpAsArray()[2], iqCount}, getSubnetmaskAsArray()));
-                    break;
-            }
+            int[] ip = new int[4];
+            System.arraycopy(ipArray, 0, ip, 0, getIq());
+            ip[getIq()] = iqCount;
+            subnets.add(new Subnet(ip, snmArray));
         }
+        SubnetInstrumentation.end(probe, null, getPrefixLength(), subnets.size());
         return Collections.unmodifiableSet(subnets);
     }
 
@@ -770,6 +934,24 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
         return getSubnets(new Subnet(getFirstAvailableIp(), getSubnetmask()), new Subnet(getLastAvailableIp(), getSubnetmask()));
     }
 
+    /**
+     * returns all Subnets with {@code prefixLength} inside this network<br>
+     * elements are calculated on access - so even {@code /0} to {@code /32} is possible
+     *
+     * @param prefixLength prefix length of the Subnets ({@link #getPrefixLength()} to {@code 32})
+     * @return random access list of Subnets
+     * @throws IllegalArgumentException if {@code prefixLength} is out of range
+     * @since 2.2.0
+     */
+    @NotNull
+    public SubnetList subdivide(int prefixLength) {
+        if (prefixLength < getPrefixLength())
+            throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + EXCEPTION_MESSAGE_SUFFIX_SNM);
+        else if (32 < prefixLength)
+            throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + EXCEPTION_MESSAGE_SUFFIX_SNM);
+        return new SubnetList(convertNetworkArrayToInt(subnetIdArray), getSubnetmaskAsInt(), prefixLength);
+    }
+
     /**
      * returns Subnets from <i>IP address</i> to <i>IP address</i><br>
      * <b>NOTICE</b>: it can take a while to get all<br>
@@ -783,12 +965,14 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
     @NotNull
     @Unmodifiable
     protected static Set<@NotNull Subnet> getSubnets(@NotNull Subnet from, @NotNull Subnet to) {
+        SubnetInstrumentation.Probe probe = SubnetInstrumentation.begin(SubnetMetrics.Operation.ENUMERATE);
         Set<Subnet> subnets = new TreeSet<>();
-        for (int from0 = from.getIpAsArray()[0]; from0 <= to.getIpAsArray()[0]; from0++)
-            for (int from1 = from.getIpAsArray()[1]; from1 <= to.getIpAsArray()[1]; from1++)
-                for (int from2 = from.getIpAsArray()[2]; from2 <= to.getIpAsArray()[2]; from2++)
-                    for (int from3 = from.getIpAsArray()[3]; from3 <= to.getIpAsArray()[3]; from3++)
-                        subnets.add(new Subnet(new int[]{from0, from1, from2, from3}, from.getSubnetmaskAsArray()));
+        for (int from0 = from.ipArray[0]; from0 <= to.ipArray[0]; from0++)
+            for (int from1 = from.ipArray[1]; from1 <= to.ipArray[1]; from1++)
+                for (int from2 = from.ipArray[2]; from2 <= to.ipArray[2]; from2++)
+                    for (int from3 = from.ipArray[3]; from3 <= to.ipArray[3]; from3++)
+                        subnets.add(new Subnet(new int[]{from0, from1, from2, from3}, from.snmArray));
+        SubnetInstrumentation.end(probe, null, from.getPrefixLength(), subnets.size());
         return Collections.unmodifiableSet(subnets);
     }
 
@@ -799,10 +983,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.5.3
      */
     public boolean isSameSubnet(@NotNull Subnet s) {
-        if (!isSameBeforeIq(s)) return false;
-        for (int i = this.getIq(); i < 4; i++)
-            if (this.getSubnetmaskAsArray()[i] != s.getSubnetmaskAsArray()[i]) return false;
-        return isIpInIqInValidRange(s);
+        return this.getPrefixLength() == s.getPrefixLength() && isIpInRange(s);
     }
 
     /**
@@ -812,27 +993,128 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @since 1.4.0
      */
     public boolean contains(@NotNull Subnet s) {
-        // missing: +-1
-        if (!isSameBeforeIq(s)) return false;
-        for (int i = this.getIq(); i < 4; i++) {
-            if (this.getSubnetmaskAsArray()[i] < s.getSubnetmaskAsArray()[i]) break;
-            else if (s.getSubnetmaskAsArray()[i] < this.getSubnetmaskAsArray()[i]) return false;
-        }
-        return isIpInIqInValidRange(s);
+        SubnetInstrumentation.Probe probe = SubnetInstrumentation.begin(SubnetMetrics.Operation.CONTAINS);
+        boolean contains = this.getPrefixLength() <= s.getPrefixLength() && isIpInRange(s);
+        SubnetInstrumentation.end(probe, null, getPrefixLength(), 1);
+        return contains;
     }
 
-    @SuppressWarnings("BooleanMethodIsAlwaysInverted")
-    private boolean isSameBeforeIq(@NotNull Subnet s) {
-        for (int i = 0; i < this.getIq(); i++) {
-            if (this.getSubnetIdAsArray()[i] != s.getIpAsArray()[i]) return false;
-            if (this.getSubnetmaskAsArray()[i] != s.getSubnetmaskAsArray()[i]) return false;
-        }
-        return true;
+    private boolean isIpInRange(@NotNull Subnet s) {
+        int snm = convertNetworkArrayToInt(this.snmArray);
+        return (convertNetworkArrayToInt(s.ipArray) & snm) ==
+            convertNetworkArrayToInt(this.subnetIdArray);
+    }
+    //endregion
+
+    //region sampling
+
+    /**
+     * @param random source of randomness
+     * @return uniformly random host address (first quad in the highest byte) -
+     * like {@link #getCountOfHosts()} Subnet ID &amp; broadcast are excluded except for {@code /31} &amp; {@code /32}
+     * @see #sampleHost(Random)
+     * @since 2.2.0
+     */
+    public int sampleHost(@NotNull SplittableRandom random) {
+        return sampleHost(random::nextLong);
+    }
+
+    /**
+     * @param random source of randomness
+     * @return uniformly random host address (first quad in the highest byte)
+     * @see #sampleHost(SplittableRandom)
+     * @since 2.2.0
+     */
+    public int sampleHost(@NotNull Random random) {
+        return sampleHost(random::nextLong);
+    }
+
+    /**
+     * @param prefixLength prefix length of the Subnet ({@link #getPrefixLength()} to {@code 32})
+     * @param random       source of randomness
+     * @return uniformly random Subnet of {@link #subdivide(int)}
+     * @throws IllegalArgumentException if {@code prefixLength} is out of range
+     * @see #sampleSubnet(int, Random)
+     * @since 2.2.0
+     */
+    @NotNull
+    public Subnet sampleSubnet(int prefixLength, @NotNull SplittableRandom random) {
+        return sampleSubnet(prefixLength, random::nextLong);
+    }
+
+    /**
+     * @param prefixLength prefix length of the Subnet ({@link #getPrefixLength()} to {@code 32})
+     * @param random       source of randomness
+     * @return uniformly random Subnet of {@link #subdivide(int)}
+     * @throws IllegalArgumentException if {@code prefixLength} is out of range
+     * @see #sampleSubnet(int, SplittableRandom)
+     * @since 2.2.0
+     */
+    @NotNull
+    public Subnet sampleSubnet(int prefixLength, @NotNull Random random) {
+        return sampleSubnet(prefixLength, random::nextLong);
     }
 
-    private boolean isIpInIqInValidRange(@NotNull Subnet s) {
-        return this.getSubnetIdAsArray()[this.getIq()] <= s.getIpAsArray()[this.getIq()] &&
-            s.getIpAsArray()[this.getIq()] <= this.getBroadCastIpAsArray()[this.getIq()];
+    /**
+     * sampling without replacement: returns every host address exactly once in random order<br>
+     * the order is a keyed permutation (Feistel network) of the host range -
+     * nothing is materialized, so even a {@code /0} needs constant memory
+     *
+     * @param random source of the permutation key
+     * @return iterator of all host addresses (first quad in the highest byte)
+     * @see #shuffleHosts(Random)
+     * @see #sampleHost(SplittableRandom)
+     * @since 2.2.0
+     */
+    @NotNull
+    public PrimitiveIterator.OfInt shuffleHosts(@NotNull SplittableRandom random) {
+        return new ShuffledHosts(convertNetworkArrayToInt(firstAvailableIpArray), getCountOfHostsAsLong(), random::nextLong);
+    }
+
+    /**
+     * sampling without replacement: returns every host address exactly once in random order
+     *
+     * @param random source of the permutation key
+     * @return iterator of all host addresses (first quad in the highest byte)
+     * @see #shuffleHosts(SplittableRandom)
+     * @since 2.2.0
+     */
+    @NotNull
+    public PrimitiveIterator.OfInt shuffleHosts(@NotNull Random random) {
+        return new ShuffledHosts(convertNetworkArrayToInt(firstAvailableIpArray), getCountOfHostsAsLong(), random::nextLong);
+    }
+
+    private int sampleHost(@NotNull LongSupplier random) {
+        return convertNetworkArrayToInt(firstAvailableIpArray) + (int) nextLong(random, getCountOfHostsAsLong());
+    }
+
+    @NotNull
+    private Subnet sampleSubnet(int prefixLength, @NotNull LongSupplier random) {
+        SubnetList subnets = subdivide(prefixLength);
+        return subnets.get(nextLong(random, subnets.longSize()));
+    }
+
+    /**
+     * @return {@link #getCountOfHosts()} without limit
+     */
+    private long getCountOfHostsAsLong() {
+        long addresses = 1L << (32 - getPrefixLength());
+        return getPrefixLength() < 31 ? addresses - 2 : addresses;
+    }
+
+    /**
+     * @param random source of randomness
+     * @param bound  exclusive upper bound (positive)
+     * @return uniformly random value from {@code 0} to {@code bound - 1}
+     */
+    private static long nextLong(@NotNull LongSupplier random, long bound) {
+        long bits;
+        long value;
+        do { // reject the incomplete last range like Random#nextInt(int)
+            bits = random.getAsLong() >>> 1;
+            value = bits % bound;
+        } while (bits - value + (bound - 1) < 0);
+        return value;
     }
     //endregion
 
@@ -852,121 +1134,70 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
     }
 
     private void calc() {
-        for (int i = 0; i < 4; i++) wildArray[i] = 255 - snmArray[i];
+        SubnetInstrumentation.Probe probe = SubnetInstrumentation.begin(SubnetMetrics.Operation.CALCULATE);
+        prefixLength = Integer.bitCount(convertNetworkArrayToInt(snmArray));
+        System.arraycopy(MASKS[prefixLength].wild, 0, wildArray, 0, 4);
         setMagicNumber();
         calcAddresses();
         calcBits();
+        SubnetInstrumentation.end(probe, null, prefixLength, 1);
     }
 
     private void calcAddresses() {
-        // 'reset' | default values
-        for (int i = 0; i < 4; i++) {
-            if (snmArray[i] == 255 && i != iq) {
-                subnetIdArray[i] = ipArray[i];
-                firstAvailableIpArray[i] = ipArray[i];
-                lastAvailableIpArray[i] = ipArray[i];
-                broadCastIpArray[i] = ipArray[i];
-            }
-            if (i == 3 && snmArray[2] != 255 && snmArray[3] != 255 && i != iq) {// ==0?
-                subnetIdArray[i] = 0;
-                firstAvailableIpArray[i] = 1;
-                lastAvailableIpArray[i] = 254;
-                broadCastIpArray[i] = 255;
-            }
-        }
-
-        if (iq == 1) {
-            subnetIdArray[iq] = mzMin;
-            firstAvailableIpArray[iq] = mzMin;
-            lastAvailableIpArray[iq] = mzMax;
-            broadCastIpArray[iq] = mzMax;
-            broadCastIpArray[iq + 1] = mzMax;
-            subnetIdArray[iq + 1] = 0;
-            firstAvailableIpArray[iq + 1] = 0;
-            lastAvailableIpArray[iq + 1] = 255;
-            broadCastIpArray[iq + 1] = 255;
-        } else if (iq == 2) {
-            subnetIdArray[iq] = mzMin;
-            firstAvailableIpArray[iq] = mzMin;
-            lastAvailableIpArray[iq] = mzMax;
-            broadCastIpArray[iq] = mzMax;
-        } else if (iq == 3) {
-            subnetIdArray[iq] = mzMin;
-            firstAvailableIpArray[iq] = mzMin + 1;
-            lastAvailableIpArray[iq] = mzMax - 1;
-            broadCastIpArray[iq] = mzMax;
-        }
+        int snm = convertNetworkArrayToInt(snmArray);
+        int subnetId = convertNetworkArrayToInt(ipArray) & snm;
+        int broadCastIp = subnetId | ~snm;
+        // /31 (point-to-point) and /32 (single host) have no network & broadcast to skip
+        int hostOffset = prefixLength < 31 ? 1 : 0;
+        convertIntToNetworkArray(subnetId, subnetIdArray);
+        convertIntToNetworkArray(subnetId + hostOffset, firstAvailableIpArray);
+        convertIntToNetworkArray(broadCastIp - hostOffset, lastAvailableIpArray);
+        convertIntToNetworkArray(broadCastIp, broadCastIpArray);
     }
 
     private void calcBits() {
-        for (int i = 1; i < 4; i++)
-            classIdArray[i] = classSubnetmaskArray[i] = 0;
-        if (0 <= ipArray[0]) {
-            classIdArray[0] = ipArray[0];
-            classSubnetmaskArray[0] = 255;
-            hostbits = getZeroCount();
-            hostbitsString = String.valueOf(hostbits);
-            if (127 < ipArray[0]) {
-                classIdArray[1] = ipArray[1];
-                classSubnetmaskArray[1] = 255;
-                if (191 < ipArray[0]) {
-                    classIdArray[2] = ipArray[2];
-                    classSubnetmaskArray[2] = 255;
-                    if (223 < ipArray[0]) {// Class D & E; 224+
-                        if (239 < ipArray[0]) classChar = 'E';
-                        else classChar = 'D';
-                        netbits = 32 - getZeroCount();
-                        netbitsString = String.valueOf(netbits);
-                        subnetbits = 0;
-                        subnetbitsString = String.valueOf(subnetbits);
-                        countOfSubnets = (int) (Math.pow(2, 0));
-                    } else {// SUPERNETTING : ONLY if 192-223 (Class C)
-                        classChar = 'C';
-                        if ((8 - getZeroCount()) < 0) {
-                            netbits = 32 - getZeroCount();
-                            netbitsString = netbits + " (24)";
-                            subnetbits = 0;
-                            subnetbitsString = subnetbits + " (" + (8 - getZeroCount()) + ")";
-                        } else {
-                            netbits = 24 - getZeroCount();
-                            netbitsString = String.valueOf(netbits);
-                            subnetbits = 8 - getZeroCount();
-                            subnetbitsString = String.valueOf(subnetbits);
-                        }
-                        countOfSubnets = (int) (Math.pow(2, subnetbits));
-                    }
-                } else {// ONLY if 128-191 (Class B)
-                    classChar = 'B';
-                    if ((16 - getZeroCount()) < 0) {
-                        netbits = 32 - getZeroCount();
-                        netbitsString = netbits + " (16)";
-                        subnetbits = 0;
-                        subnetbitsString = subnetbits + " (" + (16 - getZeroCount()) + ")";
-                    } else {
-                        netbits = 16;
-                        netbitsString = String.valueOf(netbits);
-                        subnetbits = 16 - getZeroCount();
-                        subnetbitsString = String.valueOf(subnetbits);
-                    }
-                    countOfSubnets = (int) (Math.pow(2, subnetbits));
-                }
-            } else {// ONLY if 0-127 (Class A)
-                classChar = 'A';
-                netbits = 8;
-                netbitsString = String.valueOf(netbits);
-                subnetbits = 24 - getZeroCount();
-                subnetbitsString = String.valueOf(subnetbits);
-                countOfSubnets = (int) (Math.pow(2, subnetbits));
-            }
-            countOfSubnetsString = "2^" + subnetbits + " = " + countOfSubnets;
+        int flags = AddressClassification.classifyFirstOctet(ipArray[0]);
+        classChar = AddressClassification.getClassChar(flags);
+        int classIndex = getClassIndex(ipArray[0]);
+        int[] classSnm = MASKS[Math.min(CLASS_BITS[classIndex], 24)].snm;
+        for (int i = 0; i < 4; i++) {
+            classSubnetmaskArray[i] = classSnm[i];
+            classIdArray[i] = ipArray[i] & classSnm[i];
         }
-        countOfHosts = (int) (Math.pow(2, getZeroCount()) - 2);
-        countOfHostsString = "2^" + getZeroCount() + "-2 = " + countOfHosts;
+
+        Mask mask = MASKS[prefixLength];
+        hostbits = mask.hostbits;
+        hostbitsString = mask.hostbitsString;
+        netbits = mask.netbits[classIndex];
+        netbitsString = mask.netbitsString[classIndex];
+        subnetbits = mask.subnetbits[classIndex];
+        subnetbitsString = mask.subnetbitsString[classIndex];
+        countOfSubnets = mask.countOfSubnets[classIndex];
+        countOfSubnetsString = mask.countOfSubnetsString[classIndex];
+        countOfHosts = mask.countOfHosts;
+        countOfHostsString = mask.countOfHostsString;
     }
     //endregion
 
     //region valid checks and other internal methods
 
+    /**
+     * sets IP address without recalculation - without String conversion if possible
+     *
+     * @param ip IP address array
+     */
+    private void setIpWithoutRecalculation(int[] ip) {
+        if (isDecimalNetworkArray(ip)) copyNetworkArray(ip, ipArray);
+        else setIp(convertNetworkArrayToString(ip), false);
+    }
+
+    /**
+     * @throws UnsupportedOperationException if this Subnet is unmodifiable
+     */
+    private void checkModifiable() {
+        if (unmodifiable) throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_UNMODIFIABLE);
+    }
+
     /**
      * add .0 if {@code s} isn't complete
      *
@@ -987,6 +1218,9 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * and converts Subnetmask to correct decimal format
      */
     private void checkEntryAndConvertSubnetmask(@NotNull String[] entry, boolean isIp) {
+        if (entry.length != 4)
+            throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_NOT_SUPPORTED +
+                (isIp ? EXCEPTION_MESSAGE_SUFFIX_IP : EXCEPTION_MESSAGE_SUFFIX_SNM));
         boolean isPrefix = entry[0].charAt(0) == '/';
         for (int i = 0; i < 4; i++) {
             if (isIp) {
@@ -995,48 +1229,48 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
                 if (255 < Integer.parseInt(entry[i]))
                     throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + EXCEPTION_MESSAGE_SUFFIX_IP);
             } else {
-                boolean lastQuad = i == 3;
                 if (!testNumber(entry[i]))
                     throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_NOT_SUPPORTED + EXCEPTION_MESSAGE_SUFFIX_SNM);
-                else if (!isPrefix && (11111111 < Integer.parseInt(entry[i]) || (lastQuad && 11111100 < Integer.parseInt(entry[i]))))
+                else if (!isPrefix && 11111111 < Integer.parseInt(entry[i]))
                     throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + EXCEPTION_MESSAGE_SUFFIX_SNM);
                 if (isPrefix && i == 0) {
                     String[] stringArray = convertPrefixAndValidate(entry);
                     System.arraycopy(stringArray, 0, entry, 0, entry.length);
                 }
-                entry[i] = String.valueOf(convertBinarySubnetmaskToDecimal(Integer.parseInt(entry[i]), lastQuad));
+                entry[i] = String.valueOf(convertBinarySubnetmaskToDecimal(Integer.parseInt(entry[i])));
                 isSubnetOk(convertStringArrayToIntegerArray(entry), i);
             }
         }
     }
 
     /**
-     * convert Prefix to binary Subnetmask
+     * convert Prefix to decimal Subnetmask
      *
      * @param snm Subnetmask String array
      * @return converted Subnetmask array
      */
     @NotNull
     private String[] convertPrefixAndValidate(@NotNull String[] snm) {
-        String prefix = snm[0].replace("/", "");
+        return convertIntegerArrayToStringArray(MASKS[convertPrefixAndValidate(snm[0])].snm);
+    }
+
+    /**
+     * convert Prefix to prefix length
+     *
+     * @param snm Prefix (like {@code /24})
+     * @return validated prefix length
+     */
+    private static int convertPrefixAndValidate(@NotNull String snm) {
+        String prefix = snm.replace("/", "");
         if (prefix.isBlank())
             throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_MISSING + EXCEPTION_MESSAGE_SUFFIX_SNM);
 
         int prefixLength = Integer.parseInt(prefix);
-        if (prefixLength < 8)
+        if (prefixLength < 0)
             throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + EXCEPTION_MESSAGE_SUFFIX_SNM);
-        else if (30 < prefixLength)
+        else if (32 < prefixLength)
             throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + EXCEPTION_MESSAGE_SUFFIX_SNM);
-        StringBuilder prefixSnm = new StringBuilder();
-        for (int j = 0; j < prefixLength; j++) {
-            prefixSnm.append("1");
-            if ((j + 1) % 8 == 0) prefixSnm.append(".");
-        }
-        for (int j = prefixLength; j < 32; j++) {
-            prefixSnm.append("0");
-            if ((j + 1) % 8 == 0 && (j + 1) != 32) prefixSnm.append(".");
-        }
-        return prefixSnm.toString().split("\\.");
+        return prefixLength;
     }
 
     /**
@@ -1045,13 +1279,13 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      * @param snm Subnetmask part
      * @return new Subnetmask part
      */
-    private int convertBinarySubnetmaskToDecimal(int snm, boolean lastQuad) {
+    private int convertBinarySubnetmaskToDecimal(int snm) {
         if (3 < String.valueOf(snm).length() && testBinary(snm) && snm != 0) {
             // fill zeros to 8
             while (String.valueOf(snm).length() < 8) snm *= 10;
             snm = (int) convertBinaryToDecimal(snm);
         } else {
-            if (255 < snm || (lastQuad && 252 < snm))
+            if (255 < snm)
                 throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + EXCEPTION_MESSAGE_SUFFIX_SNM);
             else if (testBinary(snm) && !String.valueOf(snm).contains("1")) snm = 0;
         }
@@ -1079,47 +1313,41 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
     }
 
     /**
-     * finds first iq quad and sets magic number
+     * finds iq quad (the one containing the first host bit) and sets magic number
      */
     private void setMagicNumber() {
-        int quad = -1;
-        for (int i = 0; i < snmArray.length; i++)
-            if (snmArray[i] != 255) {
-                quad = i;
-                break;
-            }
+        iq = MASKS[prefixLength].iq;
+        mz = MASKS[prefixLength].mz;
+        mzMin = ipArray[iq] & snmArray[iq];
+        mzMax = mzMin + mz - 1;
+    }
 
-        if (snmArray[quad] != 255) {
-            mz = 256 - snmArray[quad];
-            iq = quad;
-            if (iq == 0)
-                throw new IllegalArgumentException(ILLEGAL_ARGUMENT_SUBNETMASK_FIRST_QUAD_IS_INTERESTING);
-        }
+    /**
+     * @param firstOctet first octet of IP address
+     * @return index of {@link #CLASS_BITS} - Class D &amp; E share the last one
+     */
+    static int getClassIndex(int firstOctet) {
+        return Math.min(
+            AddressClassification.getClassIndex(AddressClassification.classifyFirstOctet(firstOctet)),
+            CLASS_COUNT - 1
+        );
+    }
 
-        if (iq != -1)
-            for (int j = 0; j < 130; j++)
-                if ((mz * j) <= ipArray[iq]) {
-                    mzMin = mz * j;
-                    mzMax = mzMin + mz - 1;
-                    if (mzMax == -1) mzMax = mz - 1;
-                } else break;
+    /**
+     * @param firstOctet first octet of IP address
+     * @return class Subnetmask (first quad in the highest byte)
+     */
+    static int getClassSubnetmaskAsInt(int firstOctet) {
+        return convertPrefixLengthToInt(Math.min(CLASS_BITS[getClassIndex(firstOctet)], 24));
     }
 
     /**
-     * counts zeros in Subnetmask
-     *
-     * @return zero count of Subnetmask
+     * @param prefixLength prefix length ({@code 0-32})
+     * @return everything only depending on the Subnetmask
      */
-    private int getZeroCount() {
-        int zeroCount = 0;
-        for (int i = 3; 0 <= i; i--)
-            if (snmArray[i] == 0) zeroCount += 8;
-            else if (snmArray[i] != 255) {
-                String snmIq = Integer.toBinaryString(snmArray[i]);
-                for (int j = (snmIq.length() - 1); 0 <= j; j--)
-                    if (snmIq.charAt(j) == '0') zeroCount += 1;
-            }
-        return zeroCount;
+    @NotNull
+    static Mask getMask(int prefixLength) {
+        return MASKS[prefixLength];
     }
     //endregion
 
@@ -1149,22 +1377,89 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      */
     @NotNull
     private static String convertNetworkArrayToString(int[] array) {
-        return convertNetworkArrayToString(convertIntegerArrayToStringArray(array));
+        return appendNetworkArray(new StringBuilder(15), array).toString();
     }
 
     /**
-     * converts binary address to decimal array
+     * packs a network array into one int (first quad in the highest byte)
      *
-     * @param string address
-     * @return decimal array
+     * @param array network array
+     * @return packed address
      */
-    @NotNull
-    private static String[] convertBinaryNetworkAddressToDecimalStringArray(@NotNull String string) {
-        String[] split = string.split("\\.");
-        String[] address = new String[4];
-        for (int j = 0; j < 4; j++)
-            address[j] = String.valueOf(Subnet.convertBinaryToDecimal(split[j]));
-        return address;
+    static int convertNetworkArrayToInt(int[] array) {
+        return array[0] << 24 | array[1] << 16 | array[2] << 8 | array[3];
+    }
+
+    /**
+     * unpacks an int into a new network array
+     *
+     * @param address packed address
+     * @return network array
+     * @see #convertIntToNetworkArray(int, int[])
+     */
+    private static int[] convertIntToNetworkArray(int address) {
+        return convertIntToNetworkArray(address, new int[4]);
+    }
+
+    /**
+     * unpacks an int into an existing network array
+     *
+     * @param address packed address
+     * @param array   target array
+     * @return target array
+     */
+    private static int[] convertIntToNetworkArray(int address, int[] array) {
+        array[0] = address >>> 24;
+        array[1] = address >>> 16 & 255;
+        array[2] = address >>> 8 & 255;
+        array[3] = address & 255;
+        return array;
+    }
+
+    /**
+     * @param prefixLength prefix length ({@code 0-32})
+     * @return packed Subnetmask
+     */
+    static int convertPrefixLengthToInt(int prefixLength) {
+        return prefixLength == 0 ? 0 : -1 << (32 - prefixLength);
+    }
+
+    /**
+     * uses the same host count as {@link #getCountOfHosts()}
+     *
+     * @param countOfHosts required count of hosts (at least {@code 1})
+     * @return largest prefix length providing {@code countOfHosts} hosts
+     */
+    static int convertCountOfHostsToPrefixLength(int countOfHosts) {
+        if (countOfHosts <= 0)
+            throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL);
+        int prefixLength = 32;
+        while (MASKS[prefixLength].countOfHosts < countOfHosts) prefixLength--;
+        return prefixLength;
+    }
+
+    /**
+     * @param bytes address in network byte order
+     * @return packed address
+     */
+    private static int convertByteArrayToInt(byte[] bytes) {
+        if (bytes.length < 4)
+            throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + EXCEPTION_MESSAGE_SUFFIX_IP);
+        else if (4 < bytes.length)
+            throw new IllegalArgumentException(ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + EXCEPTION_MESSAGE_SUFFIX_IP);
+        return (bytes[0] & 255) << 24 | (bytes[1] & 255) << 16 | (bytes[2] & 255) << 8 | bytes[3] & 255;
+    }
+
+    /**
+     * copies (up to four) quads &amp; fills missing ones with {@code 0}
+     *
+     * @param source source array
+     * @param target target array
+     * @return target array
+     */
+    private static int[] copyNetworkArray(int[] source, int[] target) {
+        for (int i = 0; i < 4; i++) target[i] = i < source.length ? source[i] : 0;
+        return target;
     }
 
     /**
@@ -1226,7 +1521,9 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      */
     @NotNull
     public static String[] convertIntegerArrayToStringArray(int[] ints) {
-        return Arrays.toString(ints).replaceAll("[\\[\\]]", "").split("\\s*,\\s*");
+        String[] strings = new String[ints.length];
+        for (int i = 0; i < ints.length; i++) strings[i] = String.valueOf(ints[i]);
+        return strings;
     }
 
     /**
@@ -1241,6 +1538,225 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
     }
     //endregion
 
+    //region append (formatting without intermediate objects)
+
+    /**
+     * appends array with '.' separator
+     *
+     * @param stringBuilder target
+     * @param array         array
+     * @return {@code stringBuilder}
+     */
+    @NotNull
+    private static StringBuilder appendNetworkArray(@NotNull StringBuilder stringBuilder, int[] array) {
+        for (int i = 0; i < array.length; i++) {
+            if (0 < i) stringBuilder.append('.');
+            stringBuilder.append(array[i]);
+        }
+        return stringBuilder;
+    }
+
+    /**
+     * appends array with '.' separator
+     *
+     * @param appendable target
+     * @param array      array
+     * @return {@code appendable}
+     */
+    @NotNull
+    private static Appendable appendNetworkArray(@NotNull Appendable appendable, int[] array) throws IOException {
+        for (int i = 0; i < array.length; i++) {
+            if (0 < i) appendable.append('.');
+            appendNumber(appendable, array[i]);
+        }
+        return appendable;
+    }
+
+    /**
+     * appends array with '.' separator like {@link #formatString(String, long)}
+     *
+     * @param appendable target
+     * @param array      array
+     * @param offset     offset after/before text
+     * @return {@code appendable}
+     */
+    @NotNull
+    private static Appendable appendNetworkArray(@NotNull Appendable appendable, int[] array, int offset) throws IOException {
+        int length = lengthOfNetworkArray(array);
+        if (0 < offset) appendSpaces(appendable, offset - length);
+        appendNetworkArray(appendable, array);
+        if (offset < 0) appendSpaces(appendable, -offset - length);
+        return appendable;
+    }
+
+    /**
+     * appends number without creating a String
+     *
+     * @param appendable target
+     * @param number     number
+     * @return {@code appendable}
+     */
+    @NotNull
+    private static Appendable appendNumber(@NotNull Appendable appendable, int number) throws IOException {
+        if (number < 0) {
+            if (number == Integer.MIN_VALUE) return appendable.append("-2147483648");
+            appendable.append('-');
+            number = -number;
+        }
+        int divisor = 1;
+        while (divisor <= number / 10) divisor *= 10;
+        for (; 0 < divisor; divisor /= 10) appendable.append((char) ('0' + number / divisor % 10));
+        return appendable;
+    }
+
+    /**
+     * appends number like {@link #formatString(String, long)}
+     *
+     * @param appendable target
+     * @param number     number
+     * @param offset     offset after/before text
+     * @return {@code appendable}
+     */
+    @NotNull
+    private static Appendable appendNumber(@NotNull Appendable appendable, int number, int offset) throws IOException {
+        int length = lengthOfNumber(number);
+        if (0 < offset) appendSpaces(appendable, offset - length);
+        appendNumber(appendable, number);
+        if (offset < 0) appendSpaces(appendable, -offset - length);
+        return appendable;
+    }
+
+    /**
+     * appends text like {@link #formatString(String, long)}
+     *
+     * @param appendable target
+     * @param string     text
+     * @param offset     offset after/before text
+     * @return {@code appendable}
+     */
+    @NotNull
+    private static Appendable appendFormatted(@NotNull Appendable appendable, @NotNull String string, int offset) throws IOException {
+        if (0 < offset) appendSpaces(appendable, offset - string.length());
+        appendable.append(string);
+        if (offset < 0) appendSpaces(appendable, -offset - string.length());
+        return appendable;
+    }
+
+    private static void appendSpaces(@NotNull Appendable appendable, int count) throws IOException {
+        for (int i = 0; i < count; i++) appendable.append(' ');
+    }
+
+    private static int lengthOfNetworkArray(int[] array) {
+        int length = Math.max(0, array.length - 1);
+        for (int quad : array) length += lengthOfNumber(quad);
+        return length;
+    }
+
+    private static int lengthOfNumber(int number) {
+        if (number < 0) return number == Integer.MIN_VALUE ? 11 : 1 + lengthOfNumber(-number);
+        int length = 1;
+        while (10 <= number) {
+            number /= 10;
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * @param array array
+     * @return same value as {@code convertNetworkArrayToString(array).hashCode()}
+     * @see String#hashCode()
+     */
+    private static int hashCodeOfNetworkArray(int[] array) {
+        int hashCode = 0;
+        for (int i = 0; i < array.length; i++) {
+            if (0 < i) hashCode = 31 * hashCode + '.';
+            int quad = array[i];
+            for (int divisor = quad < 10 ? 1 : quad < 100 ? 10 : 100; 0 < divisor; divisor /= 10)
+                hashCode = 31 * hashCode + ('0' + quad / divisor % 10);
+        }
+        return hashCode;
+    }
+
+    /**
+     * host addresses in the order of a keyed permutation:
+     * a balanced Feistel network on the smallest even bit width with cycle walking
+     */
+    private static final class ShuffledHosts implements PrimitiveIterator.OfInt {
+        private static final int ROUNDS = 4;
+        private final int firstHost;
+        private final long count;
+        private final int halfBits;
+        private final long halfMask;
+        private final long[] keys = new long[ROUNDS];
+        private long index;
+
+        private ShuffledHosts(int firstHost, long count, @NotNull LongSupplier random) {
+            this.firstHost = firstHost;
+            this.count = count;
+            int bits = 64 - Long.numberOfLeadingZeros(count - 1);
+            this.halfBits = Math.max(1, (bits + 1) / 2);
+            this.halfMask = (1L << halfBits) - 1;
+            for (int i = 0; i < ROUNDS; i++) keys[i] = random.getAsLong();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < count;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            long value = index++;
+            do value = permute(value); while (count <= value); // cycle walking
+            return firstHost + (int) value;
+        }
+
+        private long permute(long value) {
+            long left = value >>> halfBits;
+            long right = value & halfMask;
+            for (long key : keys) {
+                long mixed = right ^ key;
+                mixed = (mixed ^ mixed >>> 33) * 0xFF51AFD7ED558CCDL;
+                mixed = (mixed ^ mixed >>> 33) * 0xC4CEB9FE1A85EC53L;
+                long next = left ^ (mixed ^ mixed >>> 33) & halfMask;
+                left = right;
+                right = next;
+            }
+            return left << halfBits | right;
+        }
+    }
+
+    /**
+     * writes US-ASCII characters into a {@link ByteBuffer}
+     */
+    private static final class ByteBufferAppendable implements Appendable {
+        private final ByteBuffer byteBuffer;
+
+        private ByteBufferAppendable(@NotNull ByteBuffer byteBuffer) {
+            this.byteBuffer = byteBuffer;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            return append(csq, 0, csq.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            for (int i = start; i < end; i++) append(csq.charAt(i));
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            byteBuffer.put((byte) c);
+            return this;
+        }
+    }
+    //endregion
+
     //region testNumber, testBinary
 
     /**
@@ -1262,6 +1778,40 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
     private static boolean testBinary(long number) {
         return testNumber(String.valueOf(number)) && String.valueOf(number).matches("[01]*");
     }
+
+    /**
+     * tests if array contains one to four decimal quads
+     *
+     * @param array array to check
+     * @return {@code true} if it can be used without parsing
+     */
+    private static boolean isDecimalNetworkArray(int[] array) {
+        if (array.length < 1 || 4 < array.length) return false;
+        for (int quad : array)
+            if (quad < 0 || 255 < quad) return false;
+        return true;
+    }
+
+    /**
+     * @param snm packed Subnetmask
+     * @return {@code true} if all ones are in front of all zeros
+     */
+    static boolean isContiguous(int snm) {
+        return (~snm & (~snm + 1)) == 0;
+    }
+
+    /**
+     * tests if text is a plain prefix (like {@code /24})
+     *
+     * @param text text to check
+     * @return {@code true} if {@code '/'} is followed by one or two digits
+     */
+    private static boolean testPrefix(String text) {
+        if (text.length() < 2 || 3 < text.length() || text.charAt(0) != '/') return false;
+        for (int i = 1; i < text.length(); i++)
+            if (!Character.isDigit(text.charAt(i))) return false;
+        return true;
+    }
     //endregion
 
     //region toString, compareTo, ...
@@ -1269,60 +1819,181 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
     /**
      * @param detailed complete output or only IP address &amp; Subnetmask
      * @return IP and Subnetmask and (optional) other information
+     * @see #appendTo(StringBuilder, boolean)
      * @since 1.0.0
      */
     @NotNull
     public String toString(boolean detailed) {
         if (!detailed) return toString();
-        String s = Subnet.class.getSimpleName() + "-INFO:\n";
+        return appendTo(new StringBuilder(512), true).toString();
+    }
+
+    /**
+     * @return IP address and Subnetmask
+     * @see #appendTo(StringBuilder, boolean)
+     * @since 1.0.0
+     */
+    @NotNull
+    public String toString() {
+        return appendTo(new StringBuilder(31), false).toString();
+    }
+
+    /**
+     * @return IP address and prefix length (like {@code 10.0.0.0/8})
+     * @see #appendCidrTo(StringBuilder)
+     * @since 2.2.0
+     */
+    @NotNull
+    public String toCidrString() {
+        return appendCidrTo(new StringBuilder(18)).toString();
+    }
+
+    /**
+     * appends {@link #toString(boolean)} without creating intermediate objects
+     *
+     * @param stringBuilder target
+     * @param detailed      complete output or only IP address &amp; Subnetmask
+     * @return {@code stringBuilder}
+     * @since 2.2.0
+     */
+    @NotNull
+    public StringBuilder appendTo(@NotNull StringBuilder stringBuilder, boolean detailed) {
+        try {
+            appendTo((Appendable) stringBuilder, detailed);
+            return stringBuilder;
+        } catch (IOException e) { // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * appends {@link #toString(boolean)} without creating intermediate objects
+     *
+     * @param appendable target
+     * @param detailed   complete output or only IP address &amp; Subnetmask
+     * @param <A>        type of target
+     * @return {@code appendable}
+     * @throws IOException if {@code appendable} throws it
+     * @since 2.2.0
+     */
+    @NotNull
+    public <A extends Appendable> A appendTo(@NotNull A appendable, boolean detailed) throws IOException {
+        if (!detailed) {
+            appendNetworkArray(appendable, ipArray).append(' ');
+            appendNetworkArray(appendable, snmArray);
+            return appendable;
+        }
+        appendable.append(Subnet.class.getSimpleName()).append("-INFO:\n");
 
         int offset = -15;
-        s += formatString(getIp(), offset) + " ";
-        s += formatString(getSubnetmask(), offset) + " ";
-        s += formatString("(" + getWildmarkMask() + ")", offset - 2L) + " ";
-        s += "Quad: " + getIq();
-        s += isSupernetting() ? " " + formatString("supernetting", 3L + 15) : "";
-        s += "\n";
-        s += formatString("mz:", 3) + " " + formatString(String.valueOf(getMagicNumber()), -11) + " ";
-        s += formatString("mz:min:", 7) + " " + formatString(String.valueOf(getMagicNumberMin()), -7) + " ";
-        s += formatString("mz:max:", 7) + " " + getMagicNumberMax();
-        s += "\n";
-
-        s += formatString("subnet ID:", offset) + " " + getSubnetId();
-        s += "\n";
-        s += formatString("broadcast:", offset) + " " + getBroadCastIp();
-        s += "\n";
+        appendNetworkArray(appendable, ipArray, offset).append(' ');
+        appendNetworkArray(appendable, snmArray, offset).append(' ');
+        appendNetworkArray(appendable.append('('), wildArray).append(')');
+        appendSpaces(appendable, -offset + 2 - (lengthOfNetworkArray(wildArray) + 2));
+        appendable.append(' ');
+        appendNumber(appendable.append("Quad: "), getIq());
+        if (isSupernetting()) appendFormatted(appendable.append(' '), "supernetting", 3 + 15);
+        appendable.append('\n');
+        appendNumber(appendable.append("mz: "), getMagicNumber(), -11).append(' ');
+        appendNumber(appendable.append("mz:min: "), getMagicNumberMin(), -7).append(' ');
+        appendNumber(appendable.append("mz:max: "), getMagicNumberMax());
+        appendable.append('\n');
+
+        appendNetworkArray(appendFormatted(appendable, "subnet ID:", offset).append(' '), subnetIdArray);
+        appendable.append('\n');
+        appendNetworkArray(appendFormatted(appendable, "broadcast:", offset).append(' '), broadCastIpArray);
+        appendable.append('\n');
         offset = -20;
-        s += formatString("first available IP:", offset) + " " + getFirstAvailableIp();
-        s += "\n";
-        s += formatString("last available IP:", offset) + " " + getLastAvailableIp();
-        s += "\n";
+        appendNetworkArray(appendFormatted(appendable, "first available IP:", offset).append(' '), firstAvailableIpArray);
+        appendable.append('\n');
+        appendNetworkArray(appendFormatted(appendable, "last available IP:", offset).append(' '), lastAvailableIpArray);
+        appendable.append('\n');
 
         offset = -15;
-        s += formatString("class:", offset) + " " + getClassChar();
-        s += "\n";
-        s += formatString("class ID:", offset) + " " + getClassId();
-        s += "\n";
-        s += formatString("class SNM:", offset) + " " + getClassSubnetmask();
-        s += "\n";
-        s += formatString("netbits:", offset) + " " + formatString(getNetbitsString(), offset) + " ";
-        s += formatString("subnetbits:", offset) + " " + formatString(getSubnetbitsString(), offset) + " ";
-        s += formatString("hostbits:", offset) + " " + getHostbitsString();
-        s += "\n";
+        appendFormatted(appendable, "class:", offset).append(' ').append(getClassChar());
+        appendable.append('\n');
+        appendNetworkArray(appendFormatted(appendable, "class ID:", offset).append(' '), classIdArray);
+        appendable.append('\n');
+        appendNetworkArray(appendFormatted(appendable, "class SNM:", offset).append(' '), classSubnetmaskArray);
+        appendable.append('\n');
+        appendFormatted(appendFormatted(appendable, "netbits:", offset).append(' '), getNetbitsString(), offset).append(' ');
+        appendFormatted(appendFormatted(appendable, "subnetbits:", offset).append(' '), getSubnetbitsString(), offset).append(' ');
+        appendFormatted(appendable, "hostbits:", offset).append(' ').append(getHostbitsString());
+        appendable.append('\n');
 
         offset = -20;
-        s += formatString("count of subnets:", offset) + " " + formatString(getCountOfSubnetsCalc(), offset / 2) + " ";
-        s += formatString("count of hosts:", offset) + " " + getCountOfHostsCalc();
-        return s;
+        appendFormatted(appendFormatted(appendable, "count of subnets:", offset).append(' '), getCountOfSubnetsCalc(), offset / 2).append(' ');
+        appendFormatted(appendable, "count of hosts:", offset).append(' ').append(getCountOfHostsCalc());
+        return appendable;
     }
 
     /**
-     * @return IP address and Subnetmask
-     * @since 1.0.0
+     * writes {@link #toString(boolean)} as US-ASCII without creating intermediate objects
+     *
+     * @param byteBuffer target
+     * @param detailed   complete output or only IP address &amp; Subnetmask
+     * @return {@code byteBuffer}
+     * @throws java.nio.BufferOverflowException if there is not enough space remaining
+     * @since 2.2.0
      */
     @NotNull
-    public String toString() {
-        return getIp() + " " + getSubnetmask();
+    public ByteBuffer appendTo(@NotNull ByteBuffer byteBuffer, boolean detailed) {
+        try {
+            appendTo(new ByteBufferAppendable(byteBuffer), detailed);
+            return byteBuffer;
+        } catch (IOException e) { // ByteBufferAppendable does not throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * appends {@link #toCidrString()} without creating intermediate objects
+     *
+     * @param stringBuilder target
+     * @return {@code stringBuilder}
+     * @since 2.2.0
+     */
+    @NotNull
+    public StringBuilder appendCidrTo(@NotNull StringBuilder stringBuilder) {
+        try {
+            appendCidrTo((Appendable) stringBuilder);
+            return stringBuilder;
+        } catch (IOException e) { // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * appends {@link #toCidrString()} without creating intermediate objects
+     *
+     * @param appendable target
+     * @param <A>        type of target
+     * @return {@code appendable}
+     * @throws IOException if {@code appendable} throws it
+     * @since 2.2.0
+     */
+    @NotNull
+    public <A extends Appendable> A appendCidrTo(@NotNull A appendable) throws IOException {
+        appendNumber(appendNetworkArray(appendable, ipArray).append('/'), getPrefixLength());
+        return appendable;
+    }
+
+    /**
+     * writes {@link #toCidrString()} as US-ASCII without creating intermediate objects
+     *
+     * @param byteBuffer target
+     * @return {@code byteBuffer}
+     * @throws java.nio.BufferOverflowException if there is not enough space remaining
+     * @since 2.2.0
+     */
+    @NotNull
+    public ByteBuffer appendCidrTo(@NotNull ByteBuffer byteBuffer) {
+        try {
+            appendCidrTo(new ByteBufferAppendable(byteBuffer));
+            return byteBuffer;
+        } catch (IOException e) { // ByteBufferAppendable does not throw
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -1347,23 +2018,55 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
     @Override
     public int compareTo(@NotNull Subnet s) {
         for (int i = 0; i < 4; i++) {
-            int ip = getIpAsArray()[i] - s.getIpAsArray()[i];
+            int ip = ipArray[i] - s.ipArray[i];
             if (ip != 0) return ip;
         }
         for (int i = 0; i < 4; i++) {
-            int snm = getSubnetmaskAsArray()[i] - s.getSubnetmaskAsArray()[i];
+            int snm = snmArray[i] - s.snmArray[i];
             if (snm != 0) return snm;
         }
         return 0;
     }
 
+    /**
+     * unmodifiable Subnets are shared (see {@link SubnetCache}) -
+     * all setters throw an {@link UnsupportedOperationException}
+     * &amp; all array getters return copies
+     *
+     * @return {@code true} if this Subnet can not be modified
+     * @see #copy()
+     * @since 2.2.0
+     */
+    public boolean isUnmodifiable() {
+        return unmodifiable;
+    }
+
+    /**
+     * marks this Subnet as unmodifiable
+     *
+     * @return this Subnet
+     * @see #isUnmodifiable()
+     */
+    @NotNull
+    Subnet setUnmodifiable() {
+        unmodifiable = true;
+        return this;
+    }
+
+    /**
+     * @return {@code array} or a copy of it if this Subnet is unmodifiable
+     */
+    private int[] exposed(int[] array) {
+        return unmodifiable ? array.clone() : array;
+    }
+
     /**
      * @return a copy of current Subnet based on IP address and SNM
      * @since 1.5.3
      */
     @NotNull
     public Subnet copy() {
-        return new Subnet(getIp(), getSubnetmask());
+        return new Subnet(ipArray, snmArray);
     }
 
     /**
@@ -1401,7 +2104,7 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
      */
     @Override
     public int hashCode() {
-        return getIp().hashCode() * getSubnetmask().hashCode();
+        return hashCodeOfNetworkArray(ipArray) * hashCodeOfNetworkArray(snmArray);
     }
 
     /**
@@ -1415,4 +2118,70 @@ public class Subnet implements Comparable<@NotNull Subnet>, Iterable<@NotNull Su
         return getSubnets().iterator();
     }
     //endregion
+
+    /**
+     * precomputed values of one of the 33 valid Subnetmasks
+     *
+     * @see #MASKS
+     */
+    static final class Mask {
+        final int[] snm;
+        final int[] wild;
+        final int iq;
+        final int mz;
+
+        final int hostbits;
+        final String hostbitsString;
+        final int countOfHosts;
+        final String countOfHostsString;
+
+        // indexed by class (A, B, C, D & E)
+        final int[] netbits = new int[CLASS_COUNT];
+        final String[] netbitsString = new String[CLASS_COUNT];
+        final int[] subnetbits = new int[CLASS_COUNT];
+        final String[] subnetbitsString = new String[CLASS_COUNT];
+        final int[] countOfSubnets = new int[CLASS_COUNT];
+        final String[] countOfSubnetsString = new String[CLASS_COUNT];
+
+        private Mask(int prefixLength) {
+            int snmInt = convertPrefixLengthToInt(prefixLength);
+            snm = convertIntToNetworkArray(snmInt);
+            wild = convertIntToNetworkArray(~snmInt);
+            iq = Math.min(prefixLength / 8, 3);
+            mz = 256 - snm[iq];
+
+            hostbits = 32 - prefixLength;
+            hostbitsString = String.valueOf(hostbits);
+            if (hostbits < 2) { // /31 & /32: every address is usable
+                countOfHosts = 1 << hostbits;
+                countOfHostsString = "2^" + hostbits + " = " + countOfHosts;
+            } else {
+                long hosts = (1L << hostbits) - 2;
+                countOfHosts = (int) Math.min(hosts, Integer.MAX_VALUE);
+                countOfHostsString = "2^" + hostbits + "-2 = " + hosts;
+            }
+
+            for (int classIndex = 0; classIndex < CLASS_COUNT; classIndex++) {
+                int classBits = CLASS_BITS[classIndex];
+                if (classBits == 32) {// Class D & E: no subnetting
+                    netbits[classIndex] = prefixLength;
+                    netbitsString[classIndex] = String.valueOf(prefixLength);
+                    subnetbits[classIndex] = 0;
+                    subnetbitsString[classIndex] = "0";
+                } else if (prefixLength < classBits) {// SUPERNETTING
+                    netbits[classIndex] = prefixLength;
+                    netbitsString[classIndex] = prefixLength + " (" + classBits + ")";
+                    subnetbits[classIndex] = 0;
+                    subnetbitsString[classIndex] = "0 (" + (prefixLength - classBits) + ")";
+                } else {
+                    netbits[classIndex] = classBits;
+                    netbitsString[classIndex] = String.valueOf(classBits);
+                    subnetbits[classIndex] = prefixLength - classBits;
+                    subnetbitsString[classIndex] = String.valueOf(subnetbits[classIndex]);
+                }
+                countOfSubnets[classIndex] = 1 << subnetbits[classIndex];
+                countOfSubnetsString[classIndex] = "2^" + subnetbits[classIndex] + " = " + countOfSubnets[classIndex];
+            }
+        }
+    }
 }
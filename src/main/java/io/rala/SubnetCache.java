@@ -0,0 +1,261 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * bounded intern cache for frequently constructed {@link Subnet Subnets}<br>
+ * equal Subnets are only calculated once and shared afterwards -
+ * returned Subnets are {@link Subnet#isUnmodifiable() unmodifiable}<br>
+ * least recently used entries are evicted if {@link #getMaximumSize()} is reached
+ *
+ * <i>this class is thread-safe</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class SubnetCache {
+    /**
+     * Subnetmask {@code 0.0.0.1} is not contiguous - so it is never a valid key
+     */
+    private static final long NO_KEY = 1L;
+
+    private final int maximumSize;
+    private final Map<Long, Subnet> cache;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * @param maximumSize maximum count of cached Subnets
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive
+     * @since 2.2.0
+     */
+    public SubnetCache(int maximumSize) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException(Subnet.EXCEPTION_MESSAGE + "Cache size has to be positive");
+        this.maximumSize = maximumSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Subnet> eldest) {
+                return SubnetCache.this.maximumSize < size();
+            }
+        };
+    }
+
+    //region get & intern
+
+    /**
+     * <i>complete decimal entries (like {@code 10.0.0.0} and {@code 255.0.0.0} or {@code /8})
+     * are looked up without calculating a Subnet -
+     * all other formats are parsed before the lookup</i>
+     *
+     * @param ip  IP address
+     * @param snm Subnetmask
+     * @return shared Subnet
+     * @see Subnet#Subnet(String, String)
+     * @since 2.2.0
+     */
+    @NotNull
+    public Subnet get(@NotNull String ip, @NotNull String snm) {
+        long key = convertToKey(ip, snm);
+        if (key != NO_KEY) {
+            Subnet subnet = lookup(key);
+            if (subnet != null) return subnet;
+        }
+        return store(new Subnet(ip, snm));
+    }
+
+    /**
+     * @param ip  IP address
+     * @param snm Subnetmask
+     * @return shared Subnet
+     * @see Subnet#Subnet(int[], int[])
+     * @since 2.2.0
+     */
+    @NotNull
+    public Subnet get(int[] ip, int[] snm) {
+        long key = convertToKey(ip, snm);
+        if (key != NO_KEY) {
+            Subnet subnet = lookup(key);
+            if (subnet != null) return subnet;
+        }
+        return store(new Subnet(ip, snm));
+    }
+
+    /**
+     * @param ip           IP address (first quad in the highest byte)
+     * @param prefixLength prefix length of the Subnetmask ({@code 0-32})
+     * @return shared Subnet
+     * @see Subnet#of(int, int)
+     * @since 2.2.0
+     */
+    @NotNull
+    public Subnet get(int ip, int prefixLength) {
+        if (0 <= prefixLength && prefixLength <= 32) {
+            Subnet subnet = lookup(convertToKey(ip, Subnet.convertPrefixLengthToInt(prefixLength)));
+            if (subnet != null) return subnet;
+        }
+        return store(Subnet.of(ip, prefixLength));
+    }
+
+    /**
+     * @param subnet Subnet to intern
+     * @return shared Subnet equal to {@code subnet}
+     * (an unmodifiable copy is cached if {@code subnet} is modifiable)
+     * @since 2.2.0
+     */
+    @NotNull
+    public Subnet intern(@NotNull Subnet subnet) {
+        Subnet cached = lookup(convertToKey(subnet));
+        if (cached != null) return cached;
+        return store(subnet.isUnmodifiable() ? subnet : subnet.copy());
+    }
+    //endregion
+
+    //region statistics
+
+    /**
+     * @return maximum count of cached Subnets
+     * @since 2.2.0
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return current count of cached Subnets
+     * @since 2.2.0
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return count of requests returning an already cached Subnet
+     * @since 2.2.0
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return count of requests which had to cache a new Subnet
+     * @since 2.2.0
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * removes all cached Subnets and resets hit &amp; miss count
+     *
+     * @since 2.2.0
+     */
+    public synchronized void clear() {
+        cache.clear();
+        hitCount = 0;
+        missCount = 0;
+    }
+    //endregion
+
+    //region internal
+
+    private synchronized Subnet lookup(long key) {
+        Subnet subnet = cache.get(key);
+        if (subnet != null) hitCount++;
+        return subnet;
+    }
+
+    /**
+     * @param subnet new Subnet - gets unmodifiable if it is cached
+     * @return cached Subnet
+     */
+    @NotNull
+    private synchronized Subnet store(@NotNull Subnet subnet) {
+        long key = convertToKey(subnet);
+        Subnet cached = cache.get(key);
+        if (cached != null) {
+            hitCount++;
+            return cached;
+        }
+        missCount++;
+        cache.put(key, subnet.setUnmodifiable());
+        return subnet;
+    }
+
+    private static long convertToKey(@NotNull Subnet subnet) {
+        return convertToKey(subnet.getIpAsInt(), subnet.getSubnetmaskAsInt());
+    }
+
+    private static long convertToKey(int ip, int snm) {
+        return (long) ip << 32 | (snm & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return key or {@link #NO_KEY} if arrays are not complete &amp; valid
+     */
+    private static long convertToKey(int[] ip, int[] snm) {
+        if (ip.length != 4 || snm.length != 4) return NO_KEY;
+        for (int i = 0; i < 4; i++)
+            if (ip[i] < 0 || 255 < ip[i] || snm[i] < 0 || 255 < snm[i]) return NO_KEY;
+        int snmInt = Subnet.convertNetworkArrayToInt(snm);
+        if (!Subnet.isContiguous(snmInt)) return NO_KEY;
+        return convertToKey(Subnet.convertNetworkArrayToInt(ip), snmInt);
+    }
+
+    /**
+     * @return key or {@link #NO_KEY} if entries are not complete decimal entries
+     */
+    private static long convertToKey(@NotNull String ip, @NotNull String snm) {
+        long ipLong = parseDecimalAddress(ip, 0);
+        if (ipLong < 0) return NO_KEY;
+        long snmLong;
+        if (!snm.isEmpty() && snm.charAt(0) == '/') {
+            int prefixLength = parseDecimal(snm, 1, snm.length());
+            if (prefixLength < 0 || 32 < prefixLength) return NO_KEY;
+            snmLong = Subnet.convertPrefixLengthToInt(prefixLength);
+        } else {
+            snmLong = parseDecimalAddress(snm, 0);
+            if (snmLong < 0 || !Subnet.isContiguous((int) snmLong)) return NO_KEY;
+        }
+        return convertToKey((int) ipLong, (int) snmLong);
+    }
+
+    /**
+     * @return address or {@code -1} if {@code s} is not a complete decimal address
+     */
+    private static long parseDecimalAddress(@NotNull String s, int from) {
+        long address = 0;
+        for (int quad = 0; quad < 4; quad++) {
+            int to = s.indexOf('.', from);
+            if (quad == 3) {
+                if (0 <= to) return -1;
+                to = s.length();
+            } else if (to < 0) return -1;
+            int value = parseDecimal(s, from, to);
+            if (value < 0 || 255 < value) return -1;
+            address = address << 8 | value;
+            from = to + 1;
+        }
+        return address;
+    }
+
+    /**
+     * @return value or {@code -1} if not 1-3 digits
+     */
+    private static int parseDecimal(@NotNull String s, int from, int to) {
+        if (to <= from || 3 < to - from) return -1;
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || '9' < c) return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+    //endregion
+}
@@ -0,0 +1,270 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+
+/**
+ * command line entry point calculating many Subnets in one JVM<br>
+ * reads one Subnet per line from stdin or files and writes the data of
+ * {@link Subnet#toString(boolean) toString(true)} as TSV (default) or JSON lines
+ *
+ * <pre>java -jar subnet.jar [--format tsv|json] [--no-header] [file|-]...</pre>
+ *
+ * <p>supported lines: {@code ip snm}, {@code ip/prefix} &amp; {@code ip} (Subnetmask based on class) -
+ * empty lines &amp; lines starting with {@code #} are skipped.
+ * invalid lines are reported on stderr (exit code {@code 1}) without stopping</p>
+ *
+ * <p>startup is kept short on purpose: no reflection, no lambdas or String concatenation
+ * (no {@code invokedynamic} bootstrap) &amp; no static state besides constants.
+ * so the class is compatible with AppCDS archives
+ * (e.g. {@code -XX:ArchiveClassesAtExit} since Java 13) &amp;
+ * GraalVM native-image without any configuration</p>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public final class SubnetCli {
+    static final int EXIT_SUCCESS = 0;
+    static final int EXIT_INVALID_INPUT = 1;
+    static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = "usage: java -jar subnet.jar [--format tsv|json] [--no-header] [file|-]...";
+    private static final String[] COLUMNS = {
+        "ip", "subnetmask", "prefixLength", "wildmarkMask", "quad",
+        "magicNumber", "magicNumberMin", "magicNumberMax", "supernetting",
+        "subnetId", "broadcast", "firstAvailableIp", "lastAvailableIp",
+        "class", "classId", "classSubnetmask",
+        "netbits", "subnetbits", "hostbits", "countOfSubnets", "countOfHosts"
+    };
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer writer;
+    private final PrintStream err;
+    private final boolean json;
+    private boolean invalidInput;
+
+    private SubnetCli(@NotNull Writer writer, @NotNull PrintStream err, boolean json) {
+        this.writer = writer;
+        this.err = err;
+        this.json = json;
+    }
+
+    /**
+     * @param args see {@link SubnetCli}
+     * @since 2.2.0
+     */
+    public static void main(String @NotNull [] args) {
+        int status = run(args, System.in, System.out, System.err);
+        if (status != EXIT_SUCCESS) System.exit(status);
+    }
+
+    /**
+     * @return exit code
+     */
+    static int run(String @NotNull [] args, @NotNull InputStream in, @NotNull OutputStream out, @NotNull PrintStream err) {
+        boolean json = false;
+        boolean header = true;
+        int firstFile = args.length;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--format") || arg.equals("-f")) {
+                String format = i + 1 < args.length ? args[++i] : "";
+                if (format.equals("json")) json = true;
+                else if (format.equals("tsv")) json = false;
+                else return usage(err);
+            } else if (arg.equals("--no-header")) {
+                header = false;
+            } else if (arg.equals("--help") || arg.equals("-h")) {
+                err.println(USAGE);
+                return EXIT_SUCCESS;
+            } else if (arg.startsWith("-") && !arg.equals("-")) {
+                return usage(err);
+            } else {
+                firstFile = i;
+                break;
+            }
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.US_ASCII), BUFFER_SIZE);
+        SubnetCli cli = new SubnetCli(writer, err, json);
+        try {
+            try {
+                if (header && !json) cli.writeHeader();
+                if (firstFile == args.length) cli.process(in, "-");
+                for (int i = firstFile; i < args.length; i++) {
+                    if (args[i].equals("-")) cli.process(in, "-");
+                    else try (InputStream file = Files.newInputStream(Paths.get(args[i]))) {
+                        cli.process(file, args[i]);
+                    } catch (NoSuchFileException e) {
+                        err.print(args[i]);
+                        err.println(": no such file");
+                        cli.invalidInput = true;
+                    }
+                }
+            } finally {
+                // keep lines written so far even if processing fails
+                writer.flush();
+            }
+        } catch (IOException e) {
+            err.println(e);
+            return EXIT_INVALID_INPUT;
+        }
+        return cli.invalidInput ? EXIT_INVALID_INPUT : EXIT_SUCCESS;
+    }
+
+    private static int usage(@NotNull PrintStream err) {
+        err.println(USAGE);
+        return EXIT_USAGE;
+    }
+
+    private void process(@NotNull InputStream in, @NotNull String name) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        int lineNumber = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.charAt(0) == '#') continue;
+            Subnet subnet;
+            try {
+                subnet = parse(trimmed);
+            } catch (IllegalArgumentException e) {
+                reportInvalid(name, lineNumber, e.getMessage());
+                continue;
+            }
+            write(subnet);
+        }
+    }
+
+    /**
+     * @param line trimmed line
+     * @return parsed Subnet
+     * @throws IllegalArgumentException if line is invalid
+     */
+    @NotNull
+    static Subnet parse(@NotNull String line) {
+        int end = 0;
+        while (end < line.length() && !Character.isWhitespace(line.charAt(end))) end++;
+        if (end == line.length()) {
+            int slash = line.indexOf('/');
+            if (slash < 0) return new Subnet(line);
+            return new Subnet(line.substring(0, slash), line.substring(slash));
+        }
+        String snm = line.substring(end).trim();
+        for (int i = 0; i < snm.length(); i++)
+            if (Character.isWhitespace(snm.charAt(i)))
+                throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_NOT_SUPPORTED);
+        return new Subnet(line.substring(0, end), snm);
+    }
+
+    private void reportInvalid(@NotNull String name, int lineNumber, @Nullable String message) {
+        invalidInput = true;
+        err.print(name);
+        err.print(':');
+        err.print(lineNumber);
+        err.print(": ");
+        err.println(message);
+    }
+
+    //region output
+
+    private void writeHeader() throws IOException {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (0 < i) writer.write('\t');
+            writer.write(COLUMNS[i]);
+        }
+        writer.write('\n');
+    }
+
+    private void write(@NotNull Subnet subnet) throws IOException {
+        int column = 0;
+        if (json) writer.write('{');
+        writeNetworkArray(column++, subnet.getIpAsArray());
+        writeNetworkArray(column++, subnet.getSubnetmaskAsArray());
+        writeNumber(column++, subnet.getPrefixLength());
+        writeNetworkArray(column++, subnet.getWildmarkMaskAsArray());
+        writeNumber(column++, subnet.getIq());
+        writeNumber(column++, subnet.getMagicNumber());
+        writeNumber(column++, subnet.getMagicNumberMin());
+        writeNumber(column++, subnet.getMagicNumberMax());
+        writeKey(column++);
+        writer.write(subnet.isSupernetting() ? "true" : "false");
+        writeNetworkArray(column++, subnet.getSubnetIdAsArray());
+        writeNetworkArray(column++, subnet.getBroadCastIpAsArray());
+        writeNetworkArray(column++, subnet.getFirstAvailableIpAsArray());
+        writeNetworkArray(column++, subnet.getLastAvailableIpAsArray());
+        writeKey(column++);
+        writeQuote();
+        writer.write(subnet.getClassChar());
+        writeQuote();
+        writeNetworkArray(column++, subnet.getClassIdAsArray());
+        writeNetworkArray(column++, subnet.getClassSubnetmaskAsArray());
+        writeString(column++, subnet.getNetbitsString());
+        writeString(column++, subnet.getSubnetbitsString());
+        writeString(column++, subnet.getHostbitsString());
+        writeString(column++, subnet.getCountOfSubnetsCalc());
+        writeString(column, subnet.getCountOfHostsCalc());
+        if (json) writer.write('}');
+        writer.write('\n');
+    }
+
+    /**
+     * writes separator &amp; (JSON only) key of {@code column}
+     */
+    private void writeKey(int column) throws IOException {
+        if (!json) {
+            if (0 < column) writer.write('\t');
+            return;
+        }
+        if (0 < column) writer.write(',');
+        writer.write('"');
+        writer.write(COLUMNS[column]);
+        writer.write("\":");
+    }
+
+    private void writeQuote() throws IOException {
+        if (json) writer.write('"');
+    }
+
+    /**
+     * values never contain characters to escape
+     */
+    private void writeString(int column, @NotNull String value) throws IOException {
+        writeKey(column);
+        writeQuote();
+        writer.write(value);
+        writeQuote();
+    }
+
+    private void writeNumber(int column, int value) throws IOException {
+        writeKey(column);
+        if (value < 0) {
+            writer.write('-');
+            value = -value;
+        }
+        writeDigits(value);
+    }
+
+    private void writeNetworkArray(int column, int @NotNull [] array) throws IOException {
+        writeKey(column);
+        writeQuote();
+        for (int i = 0; i < array.length; i++) {
+            if (0 < i) writer.write('.');
+            writeDigits(array[i]);
+        }
+        writeQuote();
+    }
+
+    private void writeDigits(int value) throws IOException {
+        if (10 <= value) writeDigits(value / 10);
+        writer.write('0' + value % 10);
+    }
+    //endregion
+}
@@ -0,0 +1,353 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * concurrent byte &amp; flow counters per Subnet<br>
+ * every recorded IP address is counted on the most specific Subnet containing it
+ *
+ * <p>the Subnets are flattened into disjoint address ranges -
+ * a lookup is one binary search over a primitive array.
+ * counters are {@link LongAdder}s, which spread contended updates over separate cells.
+ * for even less contention workers may use a thread-confined {@link Batch}</p>
+ *
+ * <i>recording does not allocate and is thread-safe</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class SubnetCounter {
+    private final Subnet[] subnets;
+    /**
+     * first address of each range with flipped sign bit (signed order = unsigned address order)
+     */
+    private final int[] starts;
+    /**
+     * index of the owning Subnet for each range or {@code -1}
+     */
+    private final int[] owners;
+    private final LongAdder[] bytes;
+    private final LongAdder[] flows;
+    private final LongAdder unmatchedBytes = new LongAdder();
+    private final LongAdder unmatchedFlows = new LongAdder();
+
+    /**
+     * @param subnets Subnets to count - Subnets with the same network are counted once
+     * @since 2.2.0
+     */
+    public SubnetCounter(@NotNull Collection<@NotNull Subnet> subnets) {
+        Set<Subnet> networks = new LinkedHashSet<>();
+        for (Subnet subnet : subnets)
+            networks.add(Subnet.of(subnet.getIpAsInt() & subnet.getSubnetmaskAsInt(), subnet.getPrefixLength()));
+        SubnetTree tree = new SubnetTree(networks);
+
+        List<Subnet> subnetList = new ArrayList<>(tree.size());
+        Ranges ranges = new Ranges(tree.size() * 2 + 1);
+        long cursor = 0;
+        for (SubnetTree.Node root : tree.getRoots()) {
+            long first = first(root.getSubnet());
+            if (cursor < first) ranges.add(cursor, -1);
+            cursor = flatten(root, subnetList, ranges);
+        }
+        if (cursor <= 0xFFFFFFFFL) ranges.add(cursor, -1);
+
+        this.subnets = subnetList.toArray(new Subnet[0]);
+        this.starts = Arrays.copyOf(ranges.starts, ranges.size);
+        this.owners = Arrays.copyOf(ranges.owners, ranges.size);
+        this.bytes = new LongAdder[this.subnets.length];
+        this.flows = new LongAdder[this.subnets.length];
+        for (int i = 0; i < this.subnets.length; i++) {
+            bytes[i] = new LongAdder();
+            flows[i] = new LongAdder();
+        }
+    }
+
+    //region record
+
+    /**
+     * counts one flow
+     *
+     * @param ip    IP address (first quad in the highest byte)
+     * @param bytes count of bytes
+     * @since 2.2.0
+     */
+    public void record(int ip, long bytes) {
+        int index = indexOf(ip);
+        if (index < 0) {
+            unmatchedBytes.add(bytes);
+            unmatchedFlows.increment();
+        } else {
+            this.bytes[index].add(bytes);
+            flows[index].increment();
+        }
+    }
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return index of most specific Subnet containing {@code ip} or {@code -1}
+     * @see #getSubnets()
+     * @since 2.2.0
+     */
+    public int indexOf(int ip) {
+        int key = ip ^ Integer.MIN_VALUE;
+        int low = 0;
+        int high = starts.length - 1;
+        while (low < high) { // last range starting at or before key
+            int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= key) low = mid;
+            else high = mid - 1;
+        }
+        return owners[low];
+    }
+
+    /**
+     * @return new batch which has to be used by one thread only
+     * @see #newBatch(int)
+     * @since 2.2.0
+     */
+    @NotNull
+    public Batch newBatch() {
+        return newBatch(0);
+    }
+
+    /**
+     * @param flushInterval count of records after which the batch flushes itself
+     *                      ({@code 0} to flush manually only)
+     * @return new batch which has to be used by one thread only
+     * @since 2.2.0
+     */
+    @NotNull
+    public Batch newBatch(int flushInterval) {
+        if (flushInterval < 0)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL +
+                Subnet.getExceptionMessageSuffix("flush interval", flushInterval));
+        return new Batch(flushInterval);
+    }
+    //endregion
+
+    //region snapshot
+
+    /**
+     * @return Subnets ordered by network - indices match {@link #indexOf(int)}
+     * @since 2.2.0
+     */
+    @NotNull
+    @Unmodifiable
+    public List<@NotNull Subnet> getSubnets() {
+        return List.of(subnets);
+    }
+
+    /**
+     * @return current counts per Subnet ordered by network
+     * @since 2.2.0
+     */
+    @NotNull
+    @Unmodifiable
+    public Map<@NotNull Subnet, @NotNull Counts> snapshot() {
+        return snapshot(false);
+    }
+
+    /**
+     * resets all counters of Subnets while reading them -
+     * concurrent records are counted in this or in the next snapshot
+     *
+     * @return counts per Subnet since the last reset ordered by network
+     * @see #getUnmatchedAndReset()
+     * @since 2.2.0
+     */
+    @NotNull
+    @Unmodifiable
+    public Map<@NotNull Subnet, @NotNull Counts> snapshotAndReset() {
+        return snapshot(true);
+    }
+
+    /**
+     * resets the counters of IP addresses outside of all Subnets while reading them
+     *
+     * @return counts of IP addresses outside of all Subnets since the last reset
+     * @see #snapshotAndReset()
+     * @since 2.2.0
+     */
+    @NotNull
+    public Counts getUnmatchedAndReset() {
+        long flowCount = unmatchedFlows.sumThenReset();
+        return new Counts(unmatchedBytes.sumThenReset(), flowCount);
+    }
+
+    /**
+     * @return bytes of IP addresses outside of all Subnets
+     * @since 2.2.0
+     */
+    public long getUnmatchedBytes() {
+        return unmatchedBytes.sum();
+    }
+
+    /**
+     * @return flows of IP addresses outside of all Subnets
+     * @since 2.2.0
+     */
+    public long getUnmatchedFlows() {
+        return unmatchedFlows.sum();
+    }
+
+    @NotNull
+    private Map<Subnet, Counts> snapshot(boolean reset) {
+        Map<Subnet, Counts> snapshot = new LinkedHashMap<>();
+        for (int i = 0; i < subnets.length; i++) {
+            long flowCount = reset ? flows[i].sumThenReset() : flows[i].sum();
+            long byteCount = reset ? bytes[i].sumThenReset() : bytes[i].sum();
+            snapshot.put(subnets[i], new Counts(byteCount, flowCount));
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+    //endregion
+
+    /**
+     * adds ranges of {@code node} and its children
+     *
+     * @return first address after {@code node}
+     */
+    private static long flatten(@NotNull SubnetTree.Node node, @NotNull List<Subnet> subnetList, @NotNull Ranges ranges) {
+        int index = subnetList.size();
+        subnetList.add(node.getSubnet().setUnmodifiable());
+        long cursor = first(node.getSubnet());
+        for (SubnetTree.Node child : node.getChildren()) {
+            long first = first(child.getSubnet());
+            if (cursor < first) ranges.add(cursor, index);
+            cursor = flatten(child, subnetList, ranges);
+        }
+        long end = first(node.getSubnet()) + node.getAddressCount();
+        if (cursor < end) ranges.add(cursor, index);
+        return end;
+    }
+
+    private static long first(@NotNull Subnet subnet) {
+        return Integer.toUnsignedLong(subnet.getIpAsInt());
+    }
+
+    /**
+     * byte &amp; flow count of a Subnet
+     *
+     * @since 2.2.0
+     */
+    public static final class Counts {
+        private final long bytes;
+        private final long flows;
+
+        private Counts(long bytes, long flows) {
+            this.bytes = bytes;
+            this.flows = flows;
+        }
+
+        /**
+         * @return count of bytes
+         * @since 2.2.0
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return count of flows
+         * @since 2.2.0
+         */
+        public long getFlows() {
+            return flows;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Counts)) return false;
+            Counts counts = (Counts) o;
+            return bytes == counts.bytes && flows == counts.flows;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bytes, flows);
+        }
+
+        /**
+         * @return bytes &amp; flows (like {@code 1500 bytes, 1 flows})
+         */
+        @Override
+        @NotNull
+        public String toString() {
+            return bytes + " bytes, " + flows + " flows";
+        }
+    }
+
+    /**
+     * thread-confined counters which are added to the shared counters on {@link #flush()}
+     *
+     * @since 2.2.0
+     */
+    public final class Batch {
+        private final long[] batchBytes = new long[subnets.length + 1];
+        private final long[] batchFlows = new long[subnets.length + 1];
+        private final int flushInterval;
+        private int records;
+
+        private Batch(int flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        /**
+         * counts one flow
+         *
+         * @param ip    IP address (first quad in the highest byte)
+         * @param bytes count of bytes
+         * @see SubnetCounter#record(int, long)
+         * @since 2.2.0
+         */
+        public void record(int ip, long bytes) {
+            int index = indexOf(ip) + 1; // 0: unmatched
+            batchBytes[index] += bytes;
+            batchFlows[index]++;
+            if (++records == flushInterval) flush();
+        }
+
+        /**
+         * adds all counts to the {@link SubnetCounter} and clears the batch
+         *
+         * @since 2.2.0
+         */
+        public void flush() {
+            for (int i = 0; i < batchFlows.length; i++) {
+                if (batchFlows[i] == 0) continue;
+                (i == 0 ? unmatchedBytes : bytes[i - 1]).add(batchBytes[i]);
+                (i == 0 ? unmatchedFlows : flows[i - 1]).add(batchFlows[i]);
+                batchBytes[i] = 0;
+                batchFlows[i] = 0;
+            }
+            records = 0;
+        }
+    }
+
+    private static final class Ranges {
+        private int[] starts;
+        private int[] owners;
+        private int size;
+
+        private Ranges(int capacity) {
+            this.starts = new int[capacity];
+            this.owners = new int[capacity];
+        }
+
+        private void add(long start, int owner) {
+            if (0 < size && owners[size - 1] == owner) return; // merge
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                owners = Arrays.copyOf(owners, size * 2);
+            }
+            starts[size] = (int) start ^ Integer.MIN_VALUE;
+            owners[size++] = owner;
+        }
+    }
+}
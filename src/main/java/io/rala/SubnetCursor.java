@@ -0,0 +1,353 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * mutable flyweight of a Subnet to scan many addresses without allocation<br>
+ * re-pointing ({@link #set(int, int)}) is {@code O(1)} -
+ * all values are derived on access like in {@link Subnet}
+ *
+ * <p>every getter returns the same value as the getter of {@link Subnet} with the same name
+ * (addresses as {@code int} with the first quad in the highest byte)</p>
+ *
+ * <i>this class is not thread-safe</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public final class SubnetCursor {
+    private int ip;
+    private int snm;
+    private Subnet.Mask mask;
+
+    /**
+     * cursor at {@code 0.0.0.0/0}
+     *
+     * @since 2.2.0
+     */
+    public SubnetCursor() {
+        this(0, 0);
+    }
+
+    /**
+     * @param ip           IP address (first quad in the highest byte)
+     * @param prefixLength prefix length of the Subnetmask ({@code 0-32})
+     * @throws IllegalArgumentException if {@code prefixLength} is out of range
+     * @since 2.2.0
+     */
+    public SubnetCursor(int ip, int prefixLength) {
+        set(ip, prefixLength);
+    }
+
+    //region setter
+
+    /**
+     * @param ip           IP address (first quad in the highest byte)
+     * @param prefixLength prefix length of the Subnetmask ({@code 0-32})
+     * @return this cursor
+     * @throws IllegalArgumentException if {@code prefixLength} is out of range
+     * @since 2.2.0
+     */
+    @NotNull
+    public SubnetCursor set(int ip, int prefixLength) {
+        setPrefixLength(prefixLength); // validates before anything changes
+        this.ip = ip;
+        return this;
+    }
+
+    /**
+     * @param subnet Subnet to point to
+     * @return this cursor
+     * @since 2.2.0
+     */
+    @NotNull
+    public SubnetCursor set(@NotNull Subnet subnet) {
+        return set(subnet.getIpAsInt(), subnet.getPrefixLength());
+    }
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return this cursor
+     * @since 2.2.0
+     */
+    @NotNull
+    public SubnetCursor setIp(int ip) {
+        this.ip = ip;
+        return this;
+    }
+
+    /**
+     * @param prefixLength prefix length of the Subnetmask ({@code 0-32})
+     * @return this cursor
+     * @throws IllegalArgumentException if {@code prefixLength} is out of range
+     * @since 2.2.0
+     */
+    @NotNull
+    public SubnetCursor setPrefixLength(int prefixLength) {
+        if (prefixLength < 0)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + Subnet.EXCEPTION_MESSAGE_SUFFIX_SNM);
+        else if (32 < prefixLength)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + Subnet.EXCEPTION_MESSAGE_SUFFIX_SNM);
+        this.snm = Subnet.convertPrefixLengthToInt(prefixLength);
+        this.mask = Subnet.getMask(prefixLength);
+        return this;
+    }
+    //endregion
+
+    //region getter
+
+    /**
+     * @return IP address (first quad in the highest byte)
+     * @see Subnet#getIpAsInt()
+     * @since 2.2.0
+     */
+    public int getIpAsInt() {
+        return ip;
+    }
+
+    /**
+     * @return Subnetmask (first quad in the highest byte)
+     * @see Subnet#getSubnetmaskAsInt()
+     * @since 2.2.0
+     */
+    public int getSubnetmaskAsInt() {
+        return snm;
+    }
+
+    /**
+     * @return prefix length of the Subnetmask ({@code 0-32})
+     * @see Subnet#getPrefixLength()
+     * @since 2.2.0
+     */
+    public int getPrefixLength() {
+        return 32 - mask.hostbits;
+    }
+
+    /**
+     * @return wildmark mask (first quad in the highest byte)
+     * @see Subnet#getWildmarkMask()
+     * @since 2.2.0
+     */
+    public int getWildmarkMaskAsInt() {
+        return ~snm;
+    }
+
+    /**
+     * @return IQ (0-3 NOT 1-4!!)
+     * @see Subnet#getIq()
+     * @since 2.2.0
+     */
+    public int getIq() {
+        return mask.iq;
+    }
+
+    /**
+     * @return Magic Number
+     * @see Subnet#getMagicNumber()
+     * @since 2.2.0
+     */
+    public int getMagicNumber() {
+        return mask.mz;
+    }
+
+    /**
+     * @return Magic Number - minimum
+     * @see Subnet#getMagicNumberMin()
+     * @since 2.2.0
+     */
+    public int getMagicNumberMin() {
+        return (ip & snm) >>> (24 - 8 * mask.iq) & 0xFF;
+    }
+
+    /**
+     * @return Magic Number - maximum
+     * @see Subnet#getMagicNumberMax()
+     * @since 2.2.0
+     */
+    public int getMagicNumberMax() {
+        return getMagicNumberMin() + mask.mz - 1;
+    }
+
+    /**
+     * @return Subnet ID (first quad in the highest byte)
+     * @see Subnet#getSubnetId()
+     * @since 2.2.0
+     */
+    public int getSubnetIdAsInt() {
+        return ip & snm;
+    }
+
+    /**
+     * @return broadcast IP address (first quad in the highest byte)
+     * @see Subnet#getBroadCastIp()
+     * @since 2.2.0
+     */
+    public int getBroadCastIpAsInt() {
+        return ip | ~snm;
+    }
+
+    /**
+     * @return first available IP address (first quad in the highest byte)
+     * @see Subnet#getFirstAvailableIp()
+     * @since 2.2.0
+     */
+    public int getFirstAvailableIpAsInt() {
+        return getSubnetIdAsInt() + getHostOffset();
+    }
+
+    /**
+     * @return last available IP address (first quad in the highest byte)
+     * @see Subnet#getLastAvailableIp()
+     * @since 2.2.0
+     */
+    public int getLastAvailableIpAsInt() {
+        return getBroadCastIpAsInt() - getHostOffset();
+    }
+
+    /**
+     * @return class ({@code A} to {@code E})
+     * @see Subnet#getClassChar()
+     * @since 2.2.0
+     */
+    public char getClassChar() {
+        return AddressClassification.getClassChar(AddressClassification.classifyFirstOctet(ip >>> 24));
+    }
+
+    /**
+     * @return class ID (first quad in the highest byte)
+     * @see Subnet#getClassId()
+     * @since 2.2.0
+     */
+    public int getClassIdAsInt() {
+        return ip & getClassSubnetmaskAsInt();
+    }
+
+    /**
+     * @return class Subnetmask (first quad in the highest byte)
+     * @see Subnet#getClassSubnetmask()
+     * @since 2.2.0
+     */
+    public int getClassSubnetmaskAsInt() {
+        return Subnet.getClassSubnetmaskAsInt(ip >>> 24);
+    }
+
+    /**
+     * @return netbits
+     * @see Subnet#getNetbits()
+     * @since 2.2.0
+     */
+    public int getNetbits() {
+        return mask.netbits[getClassIndex()];
+    }
+
+    /**
+     * @return subnetbits
+     * @see Subnet#getSubnetbits()
+     * @since 2.2.0
+     */
+    public int getSubnetbits() {
+        return mask.subnetbits[getClassIndex()];
+    }
+
+    /**
+     * @return hostbits
+     * @see Subnet#getHostbits()
+     * @since 2.2.0
+     */
+    public int getHostbits() {
+        return mask.hostbits;
+    }
+
+    /**
+     * @return count of Subnets
+     * @see Subnet#getCountOfSubnets()
+     * @since 2.2.0
+     */
+    public int getCountOfSubnets() {
+        return mask.countOfSubnets[getClassIndex()];
+    }
+
+    /**
+     * @return count of hosts
+     * @see Subnet#getCountOfHosts()
+     * @since 2.2.0
+     */
+    public int getCountOfHosts() {
+        return mask.countOfHosts;
+    }
+
+    /**
+     * @return {@code true} if this Subnet is super-netting
+     * @see Subnet#isSupernetting()
+     * @since 2.2.0
+     */
+    public boolean isSupernetting() {
+        int classIndex = getClassIndex();
+        return classIndex < Subnet.CLASS_COUNT - 1 && getPrefixLength() < Subnet.CLASS_BITS[classIndex];
+    }
+    //endregion
+
+    //region contains
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return {@code true} if current Subnet contains {@code ip}
+     * @since 2.2.0
+     */
+    public boolean contains(int ip) {
+        return (ip & snm) == (this.ip & snm);
+    }
+
+    /**
+     * @param s other Subnet
+     * @return {@code true} if current Subnet contains other Subnet
+     * @see Subnet#contains(Subnet)
+     * @since 2.2.0
+     */
+    public boolean contains(@NotNull Subnet s) {
+        return getPrefixLength() <= s.getPrefixLength() && contains(s.getIpAsInt());
+    }
+
+    /**
+     * @param s other Subnet
+     * @return {@code true} if current Subnet is the same as other Subnet
+     * @see Subnet#isSameSubnet(Subnet)
+     * @since 2.2.0
+     */
+    public boolean isSameSubnet(@NotNull Subnet s) {
+        return getPrefixLength() == s.getPrefixLength() && contains(s.getIpAsInt());
+    }
+    //endregion
+
+    /**
+     * @return new Subnet of current position
+     * @since 2.2.0
+     */
+    @NotNull
+    public Subnet toSubnet() {
+        return Subnet.of(ip, getPrefixLength());
+    }
+
+    private int getClassIndex() {
+        return Subnet.getClassIndex(ip >>> 24);
+    }
+
+    /**
+     * /31 (point-to-point) and /32 (single host) have no network &amp; broadcast to skip
+     */
+    private int getHostOffset() {
+        return mask.hostbits < 2 ? 0 : 1;
+    }
+
+    /**
+     * @return IP address and prefix length (like {@code 10.0.0.0/8})
+     * @see Subnet#toCidrString()
+     */
+    @Override
+    @NotNull
+    public String toString() {
+        return toSubnet().toCidrString();
+    }
+}
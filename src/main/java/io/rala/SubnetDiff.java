@@ -0,0 +1,452 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * streaming difference of two snapshots of a Subnet table<br>
+ * both inputs have to be sorted by {@link Subnet#compareTo(Subnet)} without duplicates -
+ * they are merged linearly and only one entry of each input is held at a time
+ *
+ * <p>if aggregates are detected, an added Subnet is held back until the first change outside of it.
+ * removed Subnets inside of it are reported together with it as {@link Type#AGGREGATED} -
+ * other changes inside of it follow it.
+ * at most {@code aggregateLimit} changes inside of it are held back -
+ * if there are more, it is reported as {@link Type#ADDED} followed by all changes inside of it</p>
+ *
+ * <i>like other iterators instances are not thread-safe</i>
+ *
+ * @param <V> type of values (like next hops or actions)
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class SubnetDiff<V> implements Iterator<SubnetDiff.@NotNull Change<V>> {
+    /**
+     * count of changes held back inside an aggregate
+     * if aggregates are detected without an explicit limit
+     *
+     * @since 2.2.0
+     */
+    public static final int DEFAULT_AGGREGATE_LIMIT = 1 << 12;
+
+    /**
+     * type of a change
+     *
+     * @since 2.2.0
+     */
+    public enum Type {
+        /**
+         * Subnet is only in the new snapshot
+         */
+        ADDED,
+        /**
+         * Subnet is only in the old snapshot
+         */
+        REMOVED,
+        /**
+         * Subnet is in both snapshots with different values
+         */
+        CHANGED,
+        /**
+         * Subnet is only in the new snapshot and covers removed Subnets
+         */
+        AGGREGATED
+    }
+
+    private final Input<V> oldInput;
+    private final Input<V> newInput;
+    private final int aggregateLimit;
+    private final Deque<Change<V>> ready = new ArrayDeque<>();
+    // held back aggregate & changes inside of it
+    private Change<V> aggregate;
+    private final List<Change<V>> aggregateChanges = new ArrayList<>();
+    private int aggregatedCount;
+
+    private SubnetDiff(
+        @NotNull Iterator<? extends Map.Entry<Subnet, V>> oldEntries,
+        @NotNull Iterator<? extends Map.Entry<Subnet, V>> newEntries,
+        int aggregateLimit
+    ) {
+        if (aggregateLimit < 0)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL +
+                Subnet.getExceptionMessageSuffix("aggregate limit", aggregateLimit));
+        this.oldInput = new Input<>(oldEntries);
+        this.newInput = new Input<>(newEntries);
+        this.aggregateLimit = aggregateLimit;
+    }
+
+    //region factory
+
+    /**
+     * @param oldSubnets       sorted Subnets of the old snapshot
+     * @param newSubnets       sorted Subnets of the new snapshot
+     * @param detectAggregates {@code true} to report {@link Type#AGGREGATED}
+     * @return added &amp; removed Subnets in {@link Subnet#compareTo(Subnet)} order
+     * @see #DEFAULT_AGGREGATE_LIMIT
+     * @since 2.2.0
+     */
+    @NotNull
+    public static SubnetDiff<Void> of(
+        @NotNull Iterator<@NotNull Subnet> oldSubnets,
+        @NotNull Iterator<@NotNull Subnet> newSubnets,
+        boolean detectAggregates
+    ) {
+        return of(oldSubnets, newSubnets, detectAggregates ? DEFAULT_AGGREGATE_LIMIT : 0);
+    }
+
+    /**
+     * @param oldSubnets     sorted Subnets of the old snapshot
+     * @param newSubnets     sorted Subnets of the new snapshot
+     * @param aggregateLimit count of changes held back inside an aggregate -
+     *                       {@code 0} to not report {@link Type#AGGREGATED}
+     * @return added &amp; removed Subnets in {@link Subnet#compareTo(Subnet)} order
+     * @throws IllegalArgumentException if aggregate limit is negative
+     * @since 2.2.0
+     */
+    @NotNull
+    public static SubnetDiff<Void> of(
+        @NotNull Iterator<@NotNull Subnet> oldSubnets,
+        @NotNull Iterator<@NotNull Subnet> newSubnets,
+        int aggregateLimit
+    ) {
+        return new SubnetDiff<>(new EntryIterator(oldSubnets), new EntryIterator(newSubnets), aggregateLimit);
+    }
+
+    /**
+     * values are compared with {@link Object#equals(Object)}
+     *
+     * @param oldEntries       sorted entries of the old snapshot
+     * @param newEntries       sorted entries of the new snapshot
+     * @param detectAggregates {@code true} to report {@link Type#AGGREGATED}
+     * @param <V>              type of values
+     * @return added, removed &amp; changed entries in {@link Subnet#compareTo(Subnet)} order
+     * @see #DEFAULT_AGGREGATE_LIMIT
+     * @since 2.2.0
+     */
+    @NotNull
+    public static <V> SubnetDiff<V> ofEntries(
+        @NotNull Iterator<? extends Map.@NotNull Entry<@NotNull Subnet, V>> oldEntries,
+        @NotNull Iterator<? extends Map.@NotNull Entry<@NotNull Subnet, V>> newEntries,
+        boolean detectAggregates
+    ) {
+        return ofEntries(oldEntries, newEntries, detectAggregates ? DEFAULT_AGGREGATE_LIMIT : 0);
+    }
+
+    /**
+     * values are compared with {@link Object#equals(Object)}
+     *
+     * @param oldEntries     sorted entries of the old snapshot
+     * @param newEntries     sorted entries of the new snapshot
+     * @param aggregateLimit count of changes held back inside an aggregate -
+     *                       {@code 0} to not report {@link Type#AGGREGATED}
+     * @param <V>            type of values
+     * @return added, removed &amp; changed entries in {@link Subnet#compareTo(Subnet)} order
+     * @throws IllegalArgumentException if aggregate limit is negative
+     * @since 2.2.0
+     */
+    @NotNull
+    public static <V> SubnetDiff<V> ofEntries(
+        @NotNull Iterator<? extends Map.@NotNull Entry<@NotNull Subnet, V>> oldEntries,
+        @NotNull Iterator<? extends Map.@NotNull Entry<@NotNull Subnet, V>> newEntries,
+        int aggregateLimit
+    ) {
+        return new SubnetDiff<>(oldEntries, newEntries, aggregateLimit);
+    }
+    //endregion
+
+    //region iterator
+
+    /**
+     * @throws IllegalArgumentException if an input is not sorted
+     */
+    @Override
+    public boolean hasNext() {
+        while (ready.isEmpty())
+            if (!fill()) return false;
+        return true;
+    }
+
+    /**
+     * @throws IllegalArgumentException if an input is not sorted
+     */
+    @Override
+    @NotNull
+    public Change<V> next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return ready.poll();
+    }
+
+    /**
+     * @return remaining changes as sequential stream
+     * @since 2.2.0
+     */
+    @NotNull
+    public Stream<@NotNull Change<V>> stream() {
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false
+        );
+    }
+    //endregion
+
+    /**
+     * @return {@code false} if both inputs are exhausted
+     */
+    private boolean fill() {
+        Change<V> change = nextChange();
+        if (change == null) {
+            if (aggregate == null) return false;
+            releaseAggregate();
+            return true;
+        }
+        if (aggregate != null) {
+            boolean inside = aggregate.getSubnet().contains(change.getSubnet());
+            if (inside && aggregateChanges.size() < aggregateLimit) {
+                aggregateChanges.add(change);
+                if (change.getType() == Type.REMOVED) aggregatedCount++;
+                return true;
+            }
+            // limit reached: report everything inside of it unaggregated
+            if (inside) giveUpAggregate();
+            else releaseAggregate();
+        }
+        if (0 < aggregateLimit && change.getType() == Type.ADDED) aggregate = change;
+        else ready.add(change);
+        return true;
+    }
+
+    private void releaseAggregate() {
+        if (aggregatedCount == 0) {
+            giveUpAggregate();
+            return;
+        }
+        List<Subnet> aggregatedSubnets = new ArrayList<>(aggregatedCount);
+        for (Change<V> change : aggregateChanges)
+            if (change.getType() == Type.REMOVED) aggregatedSubnets.add(change.getSubnet());
+        ready.add(new Change<>(Type.AGGREGATED, aggregate.getSubnet(),
+            null, aggregate.getNewValue(), Collections.unmodifiableList(aggregatedSubnets)));
+        for (Change<V> change : aggregateChanges)
+            if (change.getType() != Type.REMOVED) ready.add(change);
+        clearAggregate();
+    }
+
+    /**
+     * reports the held back aggregate as {@link Type#ADDED} followed by the changes inside of it
+     */
+    private void giveUpAggregate() {
+        ready.add(aggregate);
+        ready.addAll(aggregateChanges);
+        clearAggregate();
+    }
+
+    private void clearAggregate() {
+        aggregate = null;
+        aggregateChanges.clear();
+        aggregatedCount = 0;
+    }
+
+    /**
+     * @return next change of the merge or {@code null}
+     */
+    @Nullable
+    private Change<V> nextChange() {
+        while (oldInput.hasCurrent() || newInput.hasCurrent()) {
+            if (!newInput.hasCurrent()) return oldInput.removed();
+            if (!oldInput.hasCurrent()) return newInput.added();
+            int compare = oldInput.getSubnet().compareTo(newInput.getSubnet());
+            if (compare < 0) return oldInput.removed();
+            if (0 < compare) return newInput.added();
+            V oldValue = oldInput.getValue();
+            V newValue = newInput.getValue();
+            Subnet subnet = newInput.getSubnet();
+            oldInput.advance();
+            newInput.advance();
+            if (!Objects.equals(oldValue, newValue))
+                return new Change<>(Type.CHANGED, subnet, oldValue, newValue, List.of());
+        }
+        return null;
+    }
+
+    /**
+     * change of a {@link SubnetDiff}
+     *
+     * @param <V> type of values
+     * @since 2.2.0
+     */
+    public static final class Change<V> {
+        private final Type type;
+        private final Subnet subnet;
+        private final V oldValue;
+        private final V newValue;
+        private final List<Subnet> aggregatedSubnets;
+
+        private Change(
+            @NotNull Type type, @NotNull Subnet subnet,
+            @Nullable V oldValue, @Nullable V newValue, @NotNull List<Subnet> aggregatedSubnets
+        ) {
+            this.type = type;
+            this.subnet = subnet;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+            this.aggregatedSubnets = aggregatedSubnets;
+        }
+
+        /**
+         * @return type
+         * @since 2.2.0
+         */
+        @NotNull
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * @return changed Subnet
+         * @since 2.2.0
+         */
+        @NotNull
+        public Subnet getSubnet() {
+            return subnet;
+        }
+
+        /**
+         * @return value in old snapshot or {@code null} if added
+         * @since 2.2.0
+         */
+        @Nullable
+        public V getOldValue() {
+            return oldValue;
+        }
+
+        /**
+         * @return value in new snapshot or {@code null} if removed
+         * @since 2.2.0
+         */
+        @Nullable
+        public V getNewValue() {
+            return newValue;
+        }
+
+        /**
+         * @return removed Subnets covered by this one if type is {@link Type#AGGREGATED}
+         * @since 2.2.0
+         */
+        @NotNull
+        @Unmodifiable
+        public List<@NotNull Subnet> getAggregatedSubnets() {
+            return aggregatedSubnets;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Change)) return false;
+            Change<?> change = (Change<?>) o;
+            return type == change.type && subnet.equals(change.subnet) &&
+                Objects.equals(oldValue, change.oldValue) && Objects.equals(newValue, change.newValue) &&
+                aggregatedSubnets.equals(change.aggregatedSubnets);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, subnet, oldValue, newValue, aggregatedSubnets);
+        }
+
+        /**
+         * @return type, Subnet in CIDR notation &amp; values or aggregated Subnets
+         * (like {@code CHANGED 10.0.0.0/8 a -> b} or {@code AGGREGATED 10.0.0.0/8 [10.0.0.0/9, 10.128.0.0/9]})
+         */
+        @Override
+        @NotNull
+        public String toString() {
+            StringBuilder stringBuilder = new StringBuilder(type.name()).append(' ');
+            subnet.appendCidrTo(stringBuilder);
+            if (type == Type.CHANGED) stringBuilder.append(' ').append(oldValue).append(" -> ").append(newValue);
+            if (type == Type.AGGREGATED) {
+                stringBuilder.append(" [");
+                for (int i = 0; i < aggregatedSubnets.size(); i++) {
+                    if (0 < i) stringBuilder.append(", ");
+                    aggregatedSubnets.get(i).appendCidrTo(stringBuilder);
+                }
+                stringBuilder.append(']');
+            }
+            return stringBuilder.toString();
+        }
+    }
+
+    /**
+     * one input holding only its current entry
+     */
+    private static final class Input<V> {
+        private final Iterator<? extends Map.Entry<Subnet, V>> iterator;
+        private Map.Entry<Subnet, V> current;
+
+        private Input(@NotNull Iterator<? extends Map.Entry<Subnet, V>> iterator) {
+            this.iterator = iterator;
+            advance();
+        }
+
+        private boolean hasCurrent() {
+            return current != null;
+        }
+
+        @NotNull
+        private Subnet getSubnet() {
+            return current.getKey();
+        }
+
+        @Nullable
+        private V getValue() {
+            return current.getValue();
+        }
+
+        private void advance() {
+            Map.Entry<Subnet, V> previous = current;
+            current = iterator.hasNext() ? iterator.next() : null;
+            if (previous != null && current != null && 0 <= previous.getKey().compareTo(current.getKey()))
+                throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_NOT_SORTED + Subnet.getExceptionMessageSuffix(
+                    "entries", previous.getKey().toCidrString() + " before " + current.getKey().toCidrString()
+                ));
+        }
+
+        @NotNull
+        private Change<V> removed() {
+            Change<V> change = new Change<>(Type.REMOVED, getSubnet(), getValue(), null, List.of());
+            advance();
+            return change;
+        }
+
+        @NotNull
+        private Change<V> added() {
+            Change<V> change = new Change<>(Type.ADDED, getSubnet(), null, getValue(), List.of());
+            advance();
+            return change;
+        }
+    }
+
+    /**
+     * Subnets as entries without value
+     */
+    private static final class EntryIterator implements Iterator<Map.Entry<Subnet, Void>> {
+        private final Iterator<Subnet> subnets;
+
+        private EntryIterator(@NotNull Iterator<Subnet> subnets) {
+            this.subnets = subnets;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return subnets.hasNext();
+        }
+
+        @Override
+        public Map.Entry<Subnet, Void> next() {
+            return new AbstractMap.SimpleImmutableEntry<>(subnets.next(), null);
+        }
+    }
+}
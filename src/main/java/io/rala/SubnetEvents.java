@@ -0,0 +1,113 @@
+package io.rala;
+
+import jdk.jfr.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * JDK Flight Recorder events of {@link SubnetInstrumentation}<br>
+ * only loaded if {@link SubnetInstrumentation#isFlightRecorderEnabled()}
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+final class SubnetEvents {
+    static final String CATEGORY = "Subnet";
+
+    private SubnetEvents() {
+    }
+
+    /**
+     * @return begun event or {@code null} if operation has no event
+     */
+    @Nullable
+    static Event begin(@NotNull SubnetMetrics.Operation operation) {
+        Event event;
+        switch (operation) {
+            case PARSE:
+                event = new ParseEvent();
+                break;
+            case CALCULATE:
+                event = new CalculationEvent();
+                break;
+            case SUMMARIZE:
+                event = new SummarizationEvent();
+                break;
+            case ENUMERATE:
+                event = new EnumerationEvent();
+                break;
+            default:
+                return null;
+        }
+        if (!event.isEnabled()) return null;
+        event.begin();
+        return event;
+    }
+
+    static void commit(@NotNull Object event, @Nullable String input, int prefixLength, long count) {
+        if (!((Event) event).shouldCommit()) return;
+        if (event instanceof ParseEvent) {
+            ((ParseEvent) event).input = input;
+            ((ParseEvent) event).prefixLength = prefixLength;
+        } else if (event instanceof CalculationEvent) {
+            ((CalculationEvent) event).prefixLength = prefixLength;
+        } else if (event instanceof SummarizationEvent) {
+            ((SummarizationEvent) event).prefixLength = prefixLength;
+            ((SummarizationEvent) event).count = count;
+        } else if (event instanceof EnumerationEvent) {
+            ((EnumerationEvent) event).prefixLength = prefixLength;
+            ((EnumerationEvent) event).count = count;
+        }
+        ((Event) event).commit();
+    }
+
+    //region events
+
+    @Name("io.rala.subnet.Parse")
+    @Label("Subnet Parse")
+    @Description("parsing of an IP address or Subnetmask")
+    @Category(CATEGORY)
+    static final class ParseEvent extends Event {
+        @Label("Input")
+        @Description("IP address or Subnetmask notation")
+        String input;
+        @Label("Prefix Length")
+        @Description("prefix length of a parsed Subnetmask or -1 for IP addresses")
+        int prefixLength;
+    }
+
+    @Name("io.rala.subnet.Calculation")
+    @Label("Subnet Calculation")
+    @Description("calculation of all derived values")
+    @Category(CATEGORY)
+    static final class CalculationEvent extends Event {
+        @Label("Prefix Length")
+        int prefixLength;
+    }
+
+    @Name("io.rala.subnet.Summarization")
+    @Label("Subnet Summarization")
+    @Category(CATEGORY)
+    static final class SummarizationEvent extends Event {
+        @Label("Prefix Length")
+        @Description("prefix length of the summarized Subnet or -1 if there is none")
+        int prefixLength;
+        @Label("Subnets")
+        @Description("count of summarized Subnets")
+        long count;
+    }
+
+    @Name("io.rala.subnet.Enumeration")
+    @Label("Subnet Enumeration")
+    @Category(CATEGORY)
+    static final class EnumerationEvent extends Event {
+        @Label("Prefix Length")
+        int prefixLength;
+        @Label("Subnets")
+        @Description("count of enumerated Subnets")
+        long count;
+    }
+    //endregion
+}
@@ -0,0 +1,340 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * concurrent containment index for {@link Subnet Subnets}<br>
+ * lookups never lock - they read the currently published version of an
+ * immutable binary prefix tree<br>
+ * modifications copy only the path to the changed node (copy-on-write)
+ * and publish the new version atomically<br>
+ * bulk modifications copy every node at most once
+ *
+ * <i>Subnets are identified by {@link Subnet#getSubnetId()} and
+ * {@link Subnet#getPrefixLength()} - modifiable Subnets are copied</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class SubnetIndex {
+    private volatile Version version = Version.EMPTY;
+
+    /**
+     * generate an empty index
+     *
+     * @since 2.2.0
+     */
+    public SubnetIndex() {
+    }
+
+    /**
+     * generate an index containing all {@code subnets}
+     *
+     * @param subnets Subnets to add
+     * @since 2.2.0
+     */
+    public SubnetIndex(@NotNull Collection<@NotNull Subnet> subnets) {
+        addAll(subnets);
+    }
+
+    //region lookup (lock-free)
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return {@code true} if any Subnet contains {@code ip}
+     * @since 2.2.0
+     */
+    public boolean contains(int ip) {
+        return lookup(ip) != null;
+    }
+
+    /**
+     * @param subnet Subnet to check
+     * @return {@code true} if any Subnet contains {@code subnet}
+     * @see Subnet#contains(Subnet)
+     * @since 2.2.0
+     */
+    public boolean contains(@NotNull Subnet subnet) {
+        return lookup(subnet) != null;
+    }
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return most specific Subnet containing {@code ip} or {@code null}
+     * @since 2.2.0
+     */
+    @Nullable
+    public Subnet lookup(int ip) {
+        return lookup(version.root, ip, 32);
+    }
+
+    /**
+     * @param subnet Subnet to look up
+     * @return most specific Subnet containing {@code subnet} or {@code null}
+     * @see Subnet#contains(Subnet)
+     * @since 2.2.0
+     */
+    @Nullable
+    public Subnet lookup(@NotNull Subnet subnet) {
+        return lookup(version.root, subnet.getIpAsInt(), subnet.getPrefixLength());
+    }
+
+    /**
+     * @return count of Subnets
+     * @since 2.2.0
+     */
+    public int size() {
+        return version.size;
+    }
+
+    /**
+     * @return {@code true} if there are no Subnets
+     * @since 2.2.0
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return all Subnets ordered by network and prefix length
+     * @since 2.2.0
+     */
+    @NotNull
+    @Unmodifiable
+    public List<@NotNull Subnet> getSubnets() {
+        Version current = version;
+        List<Subnet> subnets = new ArrayList<>(current.size);
+        collect(current.root, subnets);
+        return Collections.unmodifiableList(subnets);
+    }
+    //endregion
+
+    //region modification (copy-on-write)
+
+    /**
+     * adds or replaces a Subnet
+     *
+     * @param subnet Subnet to add
+     * @return {@code true} if the network was not present before
+     * @since 2.2.0
+     */
+    public synchronized boolean add(@NotNull Subnet subnet) {
+        int size = version.size;
+        version = add(version, subnet);
+        return size < version.size;
+    }
+
+    /**
+     * adds or replaces Subnets - publishing one new version
+     *
+     * @param subnets Subnets to add
+     * @since 2.2.0
+     */
+    public synchronized void addAll(@NotNull Collection<@NotNull Subnet> subnets) {
+        version = addAll(version, subnets);
+    }
+
+    /**
+     * @param subnet Subnet to remove
+     * @return {@code true} if the network was present
+     * @since 2.2.0
+     */
+    public synchronized boolean remove(@NotNull Subnet subnet) {
+        int size = version.size;
+        version = remove(version, subnet);
+        return version.size < size;
+    }
+
+    /**
+     * removes Subnets - publishing one new version
+     *
+     * @param subnets Subnets to remove
+     * @since 2.2.0
+     */
+    public synchronized void removeAll(@NotNull Collection<@NotNull Subnet> subnets) {
+        Version next = version;
+        for (Subnet subnet : subnets) next = remove(next, subnet);
+        version = next;
+    }
+
+    /**
+     * replaces all Subnets - readers see either the old or the new Subnets
+     *
+     * @param subnets new Subnets
+     * @since 2.2.0
+     */
+    public synchronized void reload(@NotNull Collection<@NotNull Subnet> subnets) {
+        version = addAll(Version.EMPTY, subnets);
+    }
+
+    /**
+     * removes all Subnets
+     *
+     * @since 2.2.0
+     */
+    public synchronized void clear() {
+        version = Version.EMPTY;
+    }
+    //endregion
+
+    //region internal
+    @Nullable
+    private static Subnet lookup(@Nullable Node node, int ip, int maxPrefixLength) {
+        Subnet found = null;
+        for (int depth = 0; node != null; depth++) {
+            if (node.subnet != null) found = node.subnet;
+            if (depth == maxPrefixLength) break;
+            node = getBit(ip, depth) == 0 ? node.zero : node.one;
+        }
+        return found;
+    }
+
+    private static void collect(@Nullable Node node, @NotNull List<Subnet> subnets) {
+        if (node == null) return;
+        if (node.subnet != null) subnets.add(node.subnet);
+        collect(node.zero, subnets);
+        collect(node.one, subnets);
+    }
+
+    @NotNull
+    private static Version add(@NotNull Version version, @NotNull Subnet subnet) {
+        if (!subnet.isUnmodifiable()) subnet = subnet.copy().setUnmodifiable();
+        boolean isNew = lookupExact(version.root, subnet) == null;
+        Node root = add(version.root, subnet.getIpAsInt(), subnet.getPrefixLength(), 0, subnet);
+        return new Version(root, isNew ? version.size + 1 : version.size);
+    }
+
+    @NotNull
+    private static Node add(@Nullable Node node, int ip, int prefixLength, int depth, @NotNull Subnet subnet) {
+        if (node == null) node = Node.EMPTY;
+        if (depth == prefixLength) return new Node(node.zero, node.one, subnet);
+        if (getBit(ip, depth) == 0)
+            return new Node(add(node.zero, ip, prefixLength, depth + 1, subnet), node.one, node.subnet);
+        return new Node(node.zero, add(node.one, ip, prefixLength, depth + 1, subnet), node.subnet);
+    }
+
+    /**
+     * modifies nodes created by this call in place - they are published afterwards
+     */
+    @NotNull
+    private static Version addAll(@NotNull Version version, @NotNull Collection<@NotNull Subnet> subnets) {
+        if (subnets.isEmpty()) return version;
+        Object owner = new Object();
+        Node root = editable(version.root, owner);
+        int size = version.size;
+        for (Subnet subnet : subnets) {
+            if (!subnet.isUnmodifiable()) subnet = subnet.copy().setUnmodifiable();
+            int ip = subnet.getIpAsInt();
+            Node node = root;
+            for (int depth = 0; depth < subnet.getPrefixLength(); depth++)
+                if (getBit(ip, depth) == 0) node = node.zero = editable(node.zero, owner);
+                else node = node.one = editable(node.one, owner);
+            if (node.subnet == null) size++;
+            node.subnet = subnet;
+        }
+        return new Version(root, size);
+    }
+
+    /**
+     * @return {@code node} if {@code owner} created it or a new copy of it
+     */
+    @NotNull
+    private static Node editable(@Nullable Node node, @NotNull Object owner) {
+        if (node == null) return new Node(null, null, null, owner);
+        if (node.owner == owner) return node;
+        return new Node(node.zero, node.one, node.subnet, owner);
+    }
+
+    @NotNull
+    private static Version remove(@NotNull Version version, @NotNull Subnet subnet) {
+        if (lookupExact(version.root, subnet) == null) return version;
+        Node root = remove(version.root, subnet.getIpAsInt(), subnet.getPrefixLength(), 0);
+        return new Version(root, version.size - 1);
+    }
+
+    @Nullable
+    private static Node remove(@Nullable Node node, int ip, int prefixLength, int depth) {
+        if (node == null) return null;
+        if (depth == prefixLength) return Node.of(node.zero, node.one, null);
+        if (getBit(ip, depth) == 0)
+            return Node.of(remove(node.zero, ip, prefixLength, depth + 1), node.one, node.subnet);
+        return Node.of(node.zero, remove(node.one, ip, prefixLength, depth + 1), node.subnet);
+    }
+
+    @Nullable
+    private static Subnet lookupExact(@Nullable Node node, @NotNull Subnet subnet) {
+        int ip = subnet.getIpAsInt();
+        for (int depth = 0; node != null && depth < subnet.getPrefixLength(); depth++)
+            node = getBit(ip, depth) == 0 ? node.zero : node.one;
+        return node == null ? null : node.subnet;
+    }
+
+    private static int getBit(int ip, int depth) {
+        return ip >>> (31 - depth) & 1;
+    }
+
+    /**
+     * immutable published state
+     */
+    private static final class Version {
+        private static final Version EMPTY = new Version(null, 0);
+
+        @Nullable
+        private final Node root;
+        private final int size;
+
+        private Version(@Nullable Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+    }
+
+    /**
+     * node of the binary prefix tree - depth equals prefix length<br>
+     * immutable once published (see {@link #addAll(Version, Collection)})
+     */
+    private static final class Node {
+        private static final Node EMPTY = new Node(null, null, null);
+
+        @Nullable
+        private Node zero;
+        @Nullable
+        private Node one;
+        @Nullable
+        private Subnet subnet;
+        /**
+         * bulk modification which may still modify this node or {@code null}
+         */
+        @Nullable
+        private final Object owner;
+
+        private Node(@Nullable Node zero, @Nullable Node one, @Nullable Subnet subnet) {
+            this(zero, one, subnet, null);
+        }
+
+        private Node(@Nullable Node zero, @Nullable Node one, @Nullable Subnet subnet, @Nullable Object owner) {
+            this.zero = zero;
+            this.one = one;
+            this.subnet = subnet;
+            this.owner = owner;
+        }
+
+        /**
+         * @return new node or {@code null} if it would be empty
+         */
+        @Nullable
+        private static Node of(@Nullable Node zero, @Nullable Node one, @Nullable Subnet subnet) {
+            return zero == null && one == null && subnet == null ? null : new Node(zero, one, subnet);
+        }
+    }
+    //endregion
+}
@@ -0,0 +1,142 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * opt-in instrumentation of {@link Subnet} hot paths
+ * (see {@link SubnetMetrics.Operation})
+ * <ul>
+ * <li>{@link SubnetMetrics} - pluggable counters &amp; timers</li>
+ * <li>JDK Flight Recorder events in category {@code Subnet}
+ * (enable with {@link #setFlightRecorderEnabled(boolean)} or
+ * {@code -D}{@value #FLIGHT_RECORDER_PROPERTY}{@code =true})</li>
+ * </ul>
+ *
+ * <p>if both are disabled every hot path only reads one {@code volatile} flag -
+ * no time is measured &amp; nothing is allocated.
+ * {@code jdk.jfr} is only loaded if Flight Recorder events are enabled</p>
+ *
+ * <i>this class is thread-safe</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public final class SubnetInstrumentation {
+    /**
+     * system property to enable Flight Recorder events on startup
+     *
+     * @see #setFlightRecorderEnabled(boolean)
+     */
+    public static final String FLIGHT_RECORDER_PROPERTY = "io.rala.subnet.jfr";
+
+    private static volatile boolean enabled;
+    private static volatile boolean flightRecorderEnabled;
+    @Nullable
+    private static volatile SubnetMetrics metrics;
+
+    static {
+        if (Boolean.getBoolean(FLIGHT_RECORDER_PROPERTY) && isFlightRecorderAvailable())
+            setFlightRecorderEnabled(true);
+    }
+
+    private SubnetInstrumentation() {
+    }
+
+    //region configuration
+
+    /**
+     * @param metrics metrics to record to or {@code null} to disable
+     * @since 2.2.0
+     */
+    public static synchronized void setMetrics(@Nullable SubnetMetrics metrics) {
+        SubnetInstrumentation.metrics = metrics;
+        update();
+    }
+
+    /**
+     * @return current metrics or {@code null} if disabled
+     * @since 2.2.0
+     */
+    @Nullable
+    public static SubnetMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * events are only recorded if they are also enabled in the active recording
+     *
+     * @param enabled {@code true} to emit Flight Recorder events
+     * @throws IllegalStateException if module {@code jdk.jfr} is not available
+     * @see #FLIGHT_RECORDER_PROPERTY
+     * @since 2.2.0
+     */
+    public static synchronized void setFlightRecorderEnabled(boolean enabled) {
+        if (enabled && !isFlightRecorderAvailable())
+            throw new IllegalStateException(Subnet.EXCEPTION_MESSAGE + "module jdk.jfr is not available");
+        flightRecorderEnabled = enabled;
+        update();
+    }
+
+    /**
+     * @return {@code true} if Flight Recorder events are emitted
+     * @since 2.2.0
+     */
+    public static boolean isFlightRecorderEnabled() {
+        return flightRecorderEnabled;
+    }
+
+    private static void update() {
+        enabled = metrics != null || flightRecorderEnabled;
+    }
+
+    private static boolean isFlightRecorderAvailable() {
+        return ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+    }
+    //endregion
+
+    //region probes
+
+    /**
+     * @param operation operation to measure
+     * @return probe to pass to {@link #end(Probe, String, int, long)} or {@code null} if disabled
+     */
+    @Nullable
+    static Probe begin(@NotNull SubnetMetrics.Operation operation) {
+        if (!enabled) return null;
+        return new Probe(operation, flightRecorderEnabled ? SubnetEvents.begin(operation) : null);
+    }
+
+    /**
+     * @param probe        probe of {@link #begin(SubnetMetrics.Operation)}
+     * @param input        parsed input or {@code null}
+     * @param prefixLength prefix length of the (resulting) Subnet or {@code -1}
+     * @param count        count of elements
+     */
+    static void end(@Nullable Probe probe, @Nullable String input, int prefixLength, long count) {
+        if (probe == null) return;
+        long nanos = System.nanoTime() - probe.start;
+        SubnetMetrics current = metrics;
+        if (current != null) current.record(probe.operation, nanos, count);
+        if (probe.event != null) SubnetEvents.commit(probe.event, input, prefixLength, count);
+    }
+
+    /**
+     * running measurement
+     */
+    static final class Probe {
+        private final SubnetMetrics.Operation operation;
+        @Nullable
+        private final Object event;
+        private final long start;
+
+        private Probe(@NotNull SubnetMetrics.Operation operation, @Nullable Object event) {
+            this.operation = operation;
+            this.event = event;
+            this.start = System.nanoTime();
+        }
+    }
+    //endregion
+}
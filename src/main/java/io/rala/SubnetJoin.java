@@ -0,0 +1,240 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * merge join of sorted addresses with sorted Subnets<br>
+ * assigns every address its most specific Subnet in one linear pass
+ *
+ * <p>Subnets have to be ordered by Subnet ID &amp; prefix length -
+ * which is {@link Subnet#compareTo(Subnet)} if the IP address of every Subnet is its Subnet ID.
+ * addresses have to be ordered ascending (unsigned, first quad in the highest byte).
+ * a {@link Cursor} keeps a small stack of Subnets containing the current address
+ * &amp; does not allocate anything per address</p>
+ *
+ * <p>every cursor may start at any address (in {@code O(log n)}) -
+ * so chunks of addresses can be joined independently in parallel
+ * (see {@link #classifyParallel(int[], int[], int)})</p>
+ *
+ * <i>instances are immutable and thread-safe - cursors are not</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class SubnetJoin {
+    private final List<Subnet> subnets;
+    /**
+     * first &amp; last address of every Subnet (sign bit flipped)
+     */
+    private final int[] firsts;
+    private final int[] lasts;
+    /**
+     * index of nearest Subnet containing the Subnet or {@code -1}
+     */
+    private final int[] parents;
+
+    /**
+     * @param subnets Subnets ordered by Subnet ID &amp; prefix length
+     * @throws IllegalArgumentException if Subnets are not sorted
+     * @since 2.2.0
+     */
+    public SubnetJoin(@NotNull List<@NotNull Subnet> subnets) {
+        this.subnets = Collections.unmodifiableList(new ArrayList<>(subnets));
+        int size = this.subnets.size();
+        this.firsts = new int[size];
+        this.lasts = new int[size];
+        this.parents = new int[size];
+        int[] stack = new int[Math.min(size, 33)];
+        int depth = 0;
+        for (int i = 0; i < size; i++) {
+            Subnet subnet = this.subnets.get(i);
+            int snm = subnet.getSubnetmaskAsInt();
+            firsts[i] = (subnet.getIpAsInt() & snm) ^ Integer.MIN_VALUE;
+            lasts[i] = (subnet.getIpAsInt() | ~snm) ^ Integer.MIN_VALUE;
+            if (0 < i && (firsts[i] < firsts[i - 1] ||
+                firsts[i] == firsts[i - 1] && subnet.getPrefixLength() < this.subnets.get(i - 1).getPrefixLength()))
+                throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_NOT_SORTED + Subnet.getExceptionMessageSuffix(
+                    "entries", this.subnets.get(i - 1).toCidrString() + " before " + subnet.toCidrString()));
+            while (0 < depth && lasts[stack[depth - 1]] < firsts[i]) depth--;
+            parents[i] = depth == 0 ? -1 : stack[depth - 1];
+            if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+            stack[depth++] = i;
+        }
+    }
+
+    //region getter
+
+    /**
+     * @return Subnets - indices of results refer to this list
+     * @since 2.2.0
+     */
+    @NotNull
+    @Unmodifiable
+    public List<@NotNull Subnet> getSubnets() {
+        return subnets;
+    }
+    //endregion
+
+    //region classify
+
+    /**
+     * @return new cursor starting before the first address
+     * @since 2.2.0
+     */
+    @NotNull
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * @param addresses     ascending addresses
+     * @param from          first index (included)
+     * @param to            last index (excluded)
+     * @param subnetIndexes index of most specific Subnet (or {@code -1}) per address -
+     *                      same indices as {@code addresses}
+     * @throws IllegalArgumentException  if addresses are not sorted
+     * @throws IndexOutOfBoundsException if a range is out of bounds
+     * @since 2.2.0
+     */
+    public void classify(int @NotNull [] addresses, int from, int to, int @NotNull [] subnetIndexes) {
+        Objects.checkFromToIndex(from, to, addresses.length);
+        Objects.checkFromToIndex(from, to, subnetIndexes.length);
+        Cursor cursor = cursor();
+        for (int i = from; i < to; i++) subnetIndexes[i] = cursor.next(addresses[i]);
+    }
+
+    /**
+     * @param addresses ascending addresses
+     * @param from      first index (included)
+     * @param to        last index (excluded)
+     * @param consumer  consumer of every address with a Subnet
+     * @throws IllegalArgumentException  if addresses are not sorted
+     * @throws IndexOutOfBoundsException if range is out of bounds
+     * @since 2.2.0
+     */
+    public void classify(int @NotNull [] addresses, int from, int to, @NotNull Consumer consumer) {
+        Objects.checkFromToIndex(from, to, addresses.length);
+        Cursor cursor = cursor();
+        for (int i = from; i < to; i++) {
+            int subnetIndex = cursor.next(addresses[i]);
+            if (0 <= subnetIndex) consumer.accept(addresses[i], subnetIndex);
+        }
+    }
+
+    /**
+     * joins chunks of {@code chunkSize} addresses in parallel
+     *
+     * @param addresses     ascending addresses
+     * @param subnetIndexes index of most specific Subnet (or {@code -1}) per address
+     * @param chunkSize     count of addresses per task
+     * @throws IllegalArgumentException  if addresses are not sorted or chunk size is not positive
+     * @throws IndexOutOfBoundsException if {@code subnetIndexes} is shorter than {@code addresses}
+     * @see #classify(int[], int, int, int[])
+     * @since 2.2.0
+     */
+    public void classifyParallel(int @NotNull [] addresses, int @NotNull [] subnetIndexes, int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL +
+                Subnet.getExceptionMessageSuffix("chunk size", chunkSize));
+        Objects.checkFromToIndex(0, addresses.length, subnetIndexes.length);
+        int chunks = (int) ((addresses.length + (long) chunkSize - 1) / chunkSize);
+        IntStream.range(0, chunks).parallel().forEach(chunk -> classify(
+            addresses, chunk * chunkSize, (int) Math.min((long) (chunk + 1) * chunkSize, addresses.length),
+            subnetIndexes
+        ));
+    }
+    //endregion
+
+    /**
+     * consumer of an address &amp; the index of its most specific Subnet
+     *
+     * @since 2.2.0
+     */
+    @FunctionalInterface
+    public interface Consumer {
+        /**
+         * @param address     address (first quad in the highest byte)
+         * @param subnetIndex index of most specific Subnet in {@link SubnetJoin#getSubnets()}
+         * @since 2.2.0
+         */
+        void accept(int address, int subnetIndex);
+    }
+
+    /**
+     * position in ascending addresses
+     *
+     * @since 2.2.0
+     */
+    public final class Cursor {
+        /**
+         * Subnets containing the previous address - most specific on top
+         */
+        private int[] stack = new int[33];
+        private int depth;
+        /**
+         * index of the first Subnet starting after the previous address
+         */
+        private int next = -1;
+        private int previous;
+
+        private Cursor() {
+        }
+
+        /**
+         * @param address address (first quad in the highest byte) -
+         *                not before the previous one
+         * @return index of most specific Subnet containing {@code address} or {@code -1}
+         * @throws IllegalArgumentException if {@code address} is before the previous one
+         * @since 2.2.0
+         */
+        public int next(int address) {
+            int key = address ^ Integer.MIN_VALUE;
+            if (next < 0) seek(key);
+            else if (key < previous)
+                throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_NOT_SORTED + Subnet.getExceptionMessageSuffix(
+                    "addresses", Subnet.of(previous ^ Integer.MIN_VALUE, 32).getIp() + " before " +
+                        Subnet.of(address, 32).getIp()));
+            previous = key;
+            while (0 < depth && lasts[stack[depth - 1]] < key) depth--;
+            for (; next < firsts.length && firsts[next] <= key; next++)
+                if (key <= lasts[next]) push(next);
+            return depth == 0 ? -1 : stack[depth - 1];
+        }
+
+        /**
+         * starts at {@code key} by walking up the parents of the last Subnet starting before
+         */
+        private void seek(int key) {
+            int low = 0;
+            int high = firsts.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (firsts[mid] <= key) low = mid + 1;
+                else high = mid - 1;
+            }
+            next = low;
+            for (int i = high; 0 <= i; i = parents[i])
+                if (key <= lasts[i]) push(i);
+            for (int i = 0, j = depth - 1; i < j; i++, j--) { // outermost at the bottom
+                int swap = stack[i];
+                stack[i] = stack[j];
+                stack[j] = swap;
+            }
+        }
+
+        private void push(int index) {
+            if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+            stack[depth++] = index;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * unmodifiable view of all Subnets with the same prefix length inside a network<br>
+ * elements are calculated on access - the list itself only stores the network
+ *
+ * <i>{@link #size()} is limited to {@link Integer#MAX_VALUE} -
+ * use {@link #longSize()}, {@link #get(long)} and {@link #longIndexOf(Object)} for larger lists</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @see Subnet#subdivide(int)
+ * @since 2.2.0
+ */
+public class SubnetList extends AbstractList<@NotNull Subnet> implements RandomAccess {
+    private final int subnetId;
+    private final int snm;
+    private final int prefixLength;
+    private final long size;
+
+    /**
+     * @param subnetId     packed Subnet ID of the network
+     * @param snm          packed Subnetmask of the network
+     * @param prefixLength prefix length of the elements
+     */
+    SubnetList(int subnetId, int snm, int prefixLength) {
+        this.subnetId = subnetId;
+        this.snm = snm;
+        this.prefixLength = prefixLength;
+        this.size = 1L << (prefixLength - Integer.bitCount(snm));
+    }
+
+    /**
+     * @return prefix length of all elements
+     * @since 2.2.0
+     */
+    public int getPrefixLength() {
+        return prefixLength;
+    }
+
+    /**
+     * @return count of Subnets ({@code 1} to {@code 2^32})
+     * @since 2.2.0
+     */
+    public long longSize() {
+        return size;
+    }
+
+    /**
+     * @return count of Subnets or {@link Integer#MAX_VALUE} if there are more
+     * @see #longSize()
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    @NotNull
+    public Subnet get(int index) {
+        return get((long) index);
+    }
+
+    /**
+     * @param index index of Subnet
+     * @return Subnet at {@code index}
+     * @throws IndexOutOfBoundsException if index is negative or not less than {@link #longSize()}
+     * @since 2.2.0
+     */
+    @NotNull
+    public Subnet get(long index) {
+        if (index < 0 || size <= index)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return Subnet.of((int) (subnetId + (index << (32 - prefixLength))), prefixLength);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        long index = longIndexOf(o);
+        return index <= Integer.MAX_VALUE ? (int) index : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * @param o object to search
+     * @return index of {@code o} or {@code -1}
+     * @since 2.2.0
+     */
+    public long longIndexOf(Object o) {
+        if (!(o instanceof Subnet)) return -1;
+        Subnet subnet = (Subnet) o;
+        if (subnet.getPrefixLength() != prefixLength) return -1;
+        int ip = subnet.getIpAsInt();
+        if ((ip & ~subnet.getSubnetmaskAsInt()) != 0 || (ip & snm) != subnetId) return -1;
+        return (Integer.toUnsignedLong(ip) - Integer.toUnsignedLong(subnetId)) >>> (32 - prefixLength);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return 0 <= longIndexOf(o);
+    }
+}
@@ -0,0 +1,55 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * counters &amp; timers of {@link Subnet} hot paths<br>
+ * register an implementation with {@link SubnetInstrumentation#setMetrics(SubnetMetrics)}
+ *
+ * <p>{@link #record(Operation, long, long)} is called by every thread using Subnets -
+ * implementations have to be thread-safe and should not block
+ * (e.g. use {@link java.util.concurrent.atomic.LongAdder LongAdders})</p>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+@FunctionalInterface
+public interface SubnetMetrics {
+    /**
+     * @param operation measured operation
+     * @param nanos     elapsed time in nanoseconds
+     * @param count     count of elements: {@code 1} or
+     *                  count of summarized Subnets or count of enumerated Subnets
+     * @since 2.2.0
+     */
+    void record(@NotNull Operation operation, long nanos, long count);
+
+    /**
+     * @since 2.2.0
+     */
+    enum Operation {
+        /**
+         * {@link Subnet#setIp(String)} &amp; {@link Subnet#setSubnetmask(String)}
+         * (including the calculation)
+         */
+        PARSE,
+        /**
+         * calculation of all derived values after a change
+         */
+        CALCULATE,
+        /**
+         * {@link Subnet#contains(Subnet)}
+         */
+        CONTAINS,
+        /**
+         * {@link Subnet#summarize(Subnet...)} (count of Subnets including the current one)
+         */
+        SUMMARIZE,
+        /**
+         * {@link Subnet#getSubnets()} &amp; {@link Subnet#getSubSubnets()} (count of Subnets)
+         */
+        ENUMERATE
+    }
+}
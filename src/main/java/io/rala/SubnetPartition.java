@@ -0,0 +1,184 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+
+/**
+ * partition of Subnets into contiguous shards with nearly equal count of hosts<br>
+ * hosts are counted like {@link Subnet#getCountOfHosts()} -
+ * Subnet ID &amp; broadcast belong to the shard of the adjacent host
+ *
+ * <p>shard {@code i} of {@code n} starts at host {@code floor(i * hosts / n)} in address order,
+ * so the count of hosts of two shards differs by at most one.
+ * the assignment only depends on the Subnets and the count of shards</p>
+ *
+ * <i>instances are immutable and thread-safe</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class SubnetPartition {
+    /**
+     * first &amp; last address of every (disjoint) Subnet
+     */
+    private final long[] firsts;
+    private final long[] lasts;
+    /**
+     * first address of every shard (unsigned)
+     */
+    private final long[] starts;
+    private final long[] countOfHosts;
+    private final List<List<Subnet>> shards;
+
+    private SubnetPartition(@NotNull List<Subnet> subnets, int shardCount) {
+        int size = subnets.size();
+        this.firsts = new long[size];
+        this.lasts = new long[size];
+        long[] firstHosts = new long[size];
+        long[] cumulativeHosts = new long[size + 1]; // strictly increasing: every Subnet has hosts
+        for (int i = 0; i < size; i++) {
+            Subnet subnet = subnets.get(i);
+            int hostOffset = subnet.getPrefixLength() < 31 ? 1 : 0;
+            firsts[i] = Integer.toUnsignedLong(subnet.getIpAsInt() & subnet.getSubnetmaskAsInt());
+            lasts[i] = firsts[i] + (1L << (32 - subnet.getPrefixLength())) - 1;
+            firstHosts[i] = firsts[i] + hostOffset;
+            cumulativeHosts[i + 1] = cumulativeHosts[i] + (lasts[i] - firsts[i] + 1 - 2L * hostOffset);
+        }
+        long hosts = cumulativeHosts[size];
+
+        this.starts = new long[shardCount];
+        this.countOfHosts = new long[shardCount];
+        long end = size == 0 ? 0 : lasts[size - 1] + 1;
+        for (int shard = 0; shard < shardCount; shard++) {
+            long host = hosts * shard / shardCount;
+            countOfHosts[shard] = hosts * (shard + 1) / shardCount - host;
+            if (host == hosts) starts[shard] = end;
+            else {
+                int index = Arrays.binarySearch(cumulativeHosts, host);
+                if (0 <= index) { // first host of a Subnet - starts with its Subnet ID
+                    starts[shard] = firsts[index];
+                } else {
+                    index = -index - 2;
+                    starts[shard] = firstHosts[index] + (host - cumulativeHosts[index]);
+                }
+            }
+        }
+
+        List<List<Subnet>> shardList = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) shardList.add(new ArrayList<>());
+        int shard = 0;
+        for (int i = 0; i < size; i++) {
+            long cursor = firsts[i];
+            while (shard + 1 < shardCount && starts[shard + 1] <= lasts[i]) {
+                AddressSet.addSubnets(shardList.get(shard), cursor, starts[shard + 1] - 1);
+                cursor = Math.max(cursor, starts[shard + 1]);
+                shard++;
+            }
+            AddressSet.addSubnets(shardList.get(shard), cursor, lasts[i]);
+        }
+        for (int i = 0; i < shardCount; i++) shardList.set(i, Collections.unmodifiableList(shardList.get(i)));
+        this.shards = Collections.unmodifiableList(shardList);
+    }
+
+    //region factory
+
+    /**
+     * @param subnet     Subnet to split
+     * @param shardCount count of shards
+     * @return partition
+     * @throws IllegalArgumentException if count of shards is not positive
+     * @since 2.2.0
+     */
+    @NotNull
+    public static SubnetPartition of(@NotNull Subnet subnet, int shardCount) {
+        return of(List.of(subnet), shardCount);
+    }
+
+    /**
+     * overlapping Subnets are merged - contained Subnets are ignored
+     *
+     * @param subnets    Subnets to split
+     * @param shardCount count of shards
+     * @return partition
+     * @throws IllegalArgumentException if count of shards is not positive
+     * @since 2.2.0
+     */
+    @NotNull
+    public static SubnetPartition of(@NotNull Collection<@NotNull Subnet> subnets, int shardCount) {
+        if (shardCount <= 0)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL +
+                Subnet.getExceptionMessageSuffix("shard count", shardCount));
+        return new SubnetPartition(SubnetSorter.sortCollapsed(subnets), shardCount);
+    }
+    //endregion
+
+    //region getter
+
+    /**
+     * @return count of shards
+     * @since 2.2.0
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * @return minimal Subnets of every shard ordered by address -
+     * a shard is empty if there are less hosts than shards
+     * @since 2.2.0
+     */
+    @NotNull
+    @Unmodifiable
+    public List<@NotNull List<@NotNull Subnet>> getShards() {
+        return shards;
+    }
+
+    /**
+     * @param shard index of shard
+     * @return minimal Subnets of {@code shard} ordered by address
+     * @throws IndexOutOfBoundsException if shard does not exist
+     * @since 2.2.0
+     */
+    @NotNull
+    @Unmodifiable
+    public List<@NotNull Subnet> getShard(int shard) {
+        return shards.get(shard);
+    }
+
+    /**
+     * @param shard index of shard
+     * @return count of hosts of {@code shard}
+     * @throws IndexOutOfBoundsException if shard does not exist
+     * @since 2.2.0
+     */
+    public long getCountOfHosts(int shard) {
+        Objects.checkIndex(shard, countOfHosts.length);
+        return countOfHosts[shard];
+    }
+    //endregion
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return index of the shard containing {@code ip} or {@code -1} if no Subnet contains it
+     * @since 2.2.0
+     */
+    public int shardOf(int ip) {
+        long address = Integer.toUnsignedLong(ip);
+        int index = Arrays.binarySearch(firsts, address);
+        if (index < 0) index = -index - 2;
+        if (index < 0 || lasts[index] < address) return -1;
+        // last shard starting at or before the address - skips empty shards
+        int low = 0;
+        int high = starts.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= address) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+}
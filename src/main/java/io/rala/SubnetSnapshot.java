@@ -0,0 +1,395 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * precompiled lookup of the most specific Subnet of an address
+ * in a versioned &amp; checksummed binary form<br>
+ * every Subnet may have a payload ID (like a row ID of the owner)
+ *
+ * <p>a snapshot is compiled once ({@link #of(List, int[])}), written ({@link #writeTo(ByteBuffer)})
+ * &amp; loaded with {@link #map(Path)} - loading only checks the header &amp; the checksum,
+ * nothing is parsed or copied. a lookup is a binary search over precomputed disjoint ranges</p>
+ *
+ * <p>layout (big-endian {@code int}s): header (magic, version, flags, count of entries,
+ * count of ranges, CRC32C of the body), Subnet IDs, payload IDs (optional),
+ * first address &amp; owning entry of every range, prefix lengths (one byte each)</p>
+ *
+ * <i>instances are immutable and thread-safe</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class SubnetSnapshot {
+    private static final int MAGIC = 0x534E4150; // SNAP
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 6 * Integer.BYTES;
+    private static final int FLAG_PAYLOAD_IDS = 1;
+    private static final int MAX_SIZE = 1 << 26;
+    private static final String FORMAT_SUFFIX = Subnet.getExceptionMessageSuffix("format", "SubnetSnapshot");
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final IntBuffer subnetIds;
+    @Nullable
+    private final IntBuffer payloadIds;
+    /**
+     * first address of every range (first quad in the highest byte) - the first one is {@code 0}
+     */
+    private final IntBuffer starts;
+    /**
+     * entry of every range or {@code -1}
+     */
+    private final IntBuffer owners;
+    private final ByteBuffer prefixLengths;
+
+    private SubnetSnapshot(@NotNull ByteBuffer buffer, int flags, int size, int rangeCount) {
+        this.buffer = buffer;
+        this.size = size;
+        ByteBuffer body = buffer.duplicate().position(HEADER_SIZE);
+        this.subnetIds = ints(body, size);
+        this.payloadIds = (flags & FLAG_PAYLOAD_IDS) == 0 ? null : ints(body, size);
+        this.starts = ints(body, rangeCount);
+        this.owners = ints(body, rangeCount);
+        this.prefixLengths = body.slice().limit(size).slice();
+    }
+
+    //region factory
+
+    /**
+     * @param subnets Subnets
+     * @return snapshot without payload IDs
+     * @see #of(List, int[])
+     * @since 2.2.0
+     */
+    @NotNull
+    public static SubnetSnapshot of(@NotNull Collection<@NotNull Subnet> subnets) {
+        return of(List.copyOf(subnets), null);
+    }
+
+    /**
+     * equal Subnets (same Subnet ID &amp; prefix length) are only stored once -
+     * the first one wins
+     *
+     * @param subnets    Subnets
+     * @param payloadIds payload ID of every Subnet or {@code null}
+     * @return snapshot
+     * @throws IllegalArgumentException if there are too many Subnets or
+     *                                  count of payload IDs does not match
+     * @since 2.2.0
+     */
+    @NotNull
+    public static SubnetSnapshot of(@NotNull List<@NotNull Subnet> subnets, int @Nullable [] payloadIds) {
+        if (MAX_SIZE < subnets.size())
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE +
+                Subnet.getExceptionMessageSuffix("Subnet count", subnets.size()));
+        if (payloadIds != null && payloadIds.length != subnets.size())
+            throw new IllegalArgumentException((payloadIds.length < subnets.size() ?
+                Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL : Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE) +
+                Subnet.getExceptionMessageSuffix("payload ID count", payloadIds.length));
+        // Subnet ID (sign bit flipped), prefix length & index
+        long[] keys = new long[subnets.size()];
+        for (int i = 0; i < keys.length; i++) {
+            Subnet subnet = subnets.get(i);
+            int subnetId = subnet.getIpAsInt() & subnet.getSubnetmaskAsInt();
+            keys[i] = (long) (subnetId ^ Integer.MIN_VALUE) << 32 | (long) subnet.getPrefixLength() << 26 | i;
+        }
+        Arrays.sort(keys);
+        int size = 0;
+        for (int i = 0; i < keys.length; i++) // drop equal Subnets
+            if (i == 0 || keys[i] >>> 26 != keys[size - 1] >>> 26) keys[size++] = keys[i];
+
+        Ranges ranges = new Ranges(size);
+        int[] stack = new int[33];
+        int depth = 0;
+        for (int i = 0; i < size; i++) {
+            long first = Integer.toUnsignedLong((int) (keys[i] >>> 32) ^ Integer.MIN_VALUE);
+            while (0 < depth && last(keys[stack[depth - 1]]) < first)
+                ranges.close(stack[--depth], last(keys[stack[depth]]));
+            ranges.open(first, 0 < depth ? stack[depth - 1] : -1);
+            stack[depth++] = i;
+        }
+        while (0 < depth) ranges.close(stack[--depth], last(keys[stack[depth]]));
+        ranges.open(1L << 32, -1);
+
+        int flags = payloadIds == null ? 0 : FLAG_PAYLOAD_IDS;
+        ByteBuffer buffer = ByteBuffer.allocate(getSerializedSize(flags, size, ranges.size));
+        buffer.position(HEADER_SIZE);
+        for (int i = 0; i < size; i++) buffer.putInt((int) (keys[i] >>> 32) ^ Integer.MIN_VALUE);
+        if (payloadIds != null)
+            for (int i = 0; i < size; i++) buffer.putInt(payloadIds[(int) (keys[i] & (MAX_SIZE - 1))]);
+        for (int i = 0; i < ranges.size; i++) buffer.putInt(ranges.starts[i]);
+        for (int i = 0; i < ranges.size; i++) buffer.putInt(ranges.owners[i]);
+        for (int i = 0; i < size; i++) buffer.put((byte) (keys[i] >>> 26 & 63));
+        int checksum = checksum(buffer.duplicate().flip().position(HEADER_SIZE));
+        buffer.position(0);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(flags).putInt(size).putInt(ranges.size).putInt(checksum);
+        return new SubnetSnapshot(buffer.position(0), flags, size, ranges.size);
+    }
+
+    /**
+     * @return last address (unsigned) of key
+     */
+    private static long last(long key) {
+        long first = Integer.toUnsignedLong((int) (key >>> 32) ^ Integer.MIN_VALUE);
+        return first + (1L << (32 - (key >>> 26 & 63))) - 1;
+    }
+    //endregion
+
+    //region lookup
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return index of the most specific Subnet containing {@code ip} or {@code -1}
+     * @since 2.2.0
+     */
+    public int indexOf(int ip) {
+        int key = ip ^ Integer.MIN_VALUE;
+        int low = 1; // first range starts at 0
+        int high = starts.limit() - 1;
+        while (low <= high) { // last range starting at or before ip
+            int mid = (low + high) >>> 1;
+            if ((starts.get(mid) ^ Integer.MIN_VALUE) <= key) low = mid + 1;
+            else high = mid - 1;
+        }
+        return owners.get(high);
+    }
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return {@code true} if any Subnet contains {@code ip}
+     * @since 2.2.0
+     */
+    public boolean contains(int ip) {
+        return 0 <= indexOf(ip);
+    }
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return most specific Subnet containing {@code ip} or {@code null}
+     * @since 2.2.0
+     */
+    @Nullable
+    public Subnet lookup(int ip) {
+        int index = indexOf(ip);
+        return index < 0 ? null : getSubnet(index);
+    }
+    //endregion
+
+    //region getter
+
+    /**
+     * @return count of Subnets
+     * @since 2.2.0
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index index of Subnet - Subnets are ordered by Subnet ID &amp; prefix length
+     * @return Subnet (IP address is the Subnet ID)
+     * @throws IndexOutOfBoundsException if Subnet does not exist
+     * @since 2.2.0
+     */
+    @NotNull
+    public Subnet getSubnet(int index) {
+        return Subnet.of(getSubnetIdAsInt(index), getPrefixLength(index));
+    }
+
+    /**
+     * @param index index of Subnet
+     * @return Subnet ID (first quad in the highest byte)
+     * @throws IndexOutOfBoundsException if Subnet does not exist
+     * @since 2.2.0
+     */
+    public int getSubnetIdAsInt(int index) {
+        return subnetIds.get(index);
+    }
+
+    /**
+     * @param index index of Subnet
+     * @return prefix length of Subnet
+     * @throws IndexOutOfBoundsException if Subnet does not exist
+     * @since 2.2.0
+     */
+    public int getPrefixLength(int index) {
+        return prefixLengths.get(index);
+    }
+
+    /**
+     * @return {@code true} if every Subnet has a payload ID
+     * @since 2.2.0
+     */
+    public boolean hasPayloadIds() {
+        return payloadIds != null;
+    }
+
+    /**
+     * @param index index of Subnet
+     * @return payload ID of Subnet
+     * @throws IndexOutOfBoundsException if Subnet does not exist
+     * @throws IllegalStateException     if snapshot has no payload IDs
+     * @since 2.2.0
+     */
+    public int getPayloadId(int index) {
+        if (payloadIds == null)
+            throw new IllegalStateException(Subnet.EXCEPTION_MESSAGE + "Snapshot has no payload IDs");
+        return payloadIds.get(index);
+    }
+    //endregion
+
+    //region serialization
+
+    /**
+     * @return count of bytes written by {@link #writeTo(ByteBuffer)}
+     * @since 2.2.0
+     */
+    public int getSerializedSize() {
+        return buffer.limit();
+    }
+
+    /**
+     * @param target target
+     * @return {@code target}
+     * @throws java.nio.BufferOverflowException if there is not enough space remaining
+     * @since 2.2.0
+     */
+    @NotNull
+    public ByteBuffer writeTo(@NotNull ByteBuffer target) {
+        return target.put(buffer.duplicate().position(0));
+    }
+
+    /**
+     * the content is not copied - {@code buffer} must not be modified afterwards
+     *
+     * @param buffer source (big-endian)
+     * @return snapshot
+     * @throws IllegalArgumentException if {@code buffer} does not contain a valid snapshot
+     * @since 2.2.0
+     */
+    @NotNull
+    public static SubnetSnapshot readFrom(@NotNull ByteBuffer buffer) {
+        ByteBuffer source = buffer.slice();
+        if (source.remaining() < HEADER_SIZE || source.getInt() != MAGIC)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_FORMAT_NOT_SUPPORTED + FORMAT_SUFFIX);
+        int version = source.getInt();
+        if (version != VERSION)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_FORMAT_VERSION_NOT_SUPPORTED +
+                Subnet.getExceptionMessageSuffix("version", version));
+        int flags = source.getInt();
+        int size = source.getInt();
+        int rangeCount = source.getInt();
+        int checksum = source.getInt();
+        if ((flags & ~FLAG_PAYLOAD_IDS) != 0 || size < 0 || MAX_SIZE < size ||
+            rangeCount < 1 || 2L * size + 1 < rangeCount ||
+            source.limit() < getSerializedSize(flags, size, rangeCount))
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_CORRUPT + FORMAT_SUFFIX);
+        source.limit(getSerializedSize(flags, size, rangeCount));
+        if (checksum(source.duplicate()) != checksum)
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_CORRUPT_CHECKSUM + FORMAT_SUFFIX);
+        buffer.position(buffer.position() + source.limit());
+        return new SubnetSnapshot(source.position(0), flags, size, rangeCount);
+    }
+
+    /**
+     * maps a file written by {@link #writeTo(ByteBuffer)} into memory
+     *
+     * @param path file to map
+     * @return snapshot
+     * @throws IOException              if file can not be mapped
+     * @throws IllegalArgumentException if file does not contain a valid snapshot
+     * @see #readFrom(ByteBuffer)
+     * @since 2.2.0
+     */
+    @NotNull
+    public static SubnetSnapshot map(@NotNull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readFrom(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static int getSerializedSize(int flags, int size, int rangeCount) {
+        int payloadCount = (flags & FLAG_PAYLOAD_IDS) == 0 ? 0 : size;
+        return HEADER_SIZE + (size + payloadCount + 2 * rangeCount) * Integer.BYTES + size;
+    }
+
+    private static int checksum(@NotNull ByteBuffer body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    @NotNull
+    private static IntBuffer ints(@NotNull ByteBuffer body, int count) {
+        IntBuffer ints = body.slice().asIntBuffer().limit(count).slice();
+        body.position(body.position() + count * Integer.BYTES);
+        return ints;
+    }
+    //endregion
+
+    @Override
+    @NotNull
+    public String toString() {
+        return "SubnetSnapshot{" +
+            "size=" + size +
+            ", ranges=" + starts.limit() +
+            ", payloadIds=" + hasPayloadIds() +
+            '}';
+    }
+
+    /**
+     * disjoint ranges with owning entry - ranges with equal owners are merged
+     */
+    private static final class Ranges {
+        private int[] starts;
+        private int[] owners;
+        private int size;
+        /**
+         * first address (unsigned) not covered yet
+         */
+        private long cursor;
+
+        private Ranges(int entryCount) {
+            starts = new int[2 * entryCount + 1];
+            owners = new int[starts.length];
+        }
+
+        /**
+         * ends the range owned by the enclosing Subnet ({@code owner}) before {@code first}
+         */
+        private void open(long first, int owner) {
+            if (cursor < first) add(owner);
+            cursor = first;
+        }
+
+        /**
+         * ends the range of {@code owner} at {@code last}
+         */
+        private void close(int owner, long last) {
+            if (cursor <= last) add(owner);
+            cursor = last + 1;
+        }
+
+        private void add(int owner) {
+            if (0 < size && owners[size - 1] == owner) return;
+            starts[size] = (int) cursor;
+            owners[size] = owner;
+            size++;
+        }
+    }
+}
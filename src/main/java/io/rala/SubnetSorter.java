@@ -0,0 +1,114 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * bulk sorting of Subnets in {@link Subnet#compareTo(Subnet)} order<br>
+ * every Subnet is packed into one {@code long} (address, prefix length &amp; input index),
+ * which are sorted with {@link Arrays#parallelSort(long[])} - no Subnet is compared
+ *
+ * <i>returned lists contain the given instances and are modifiable</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public final class SubnetSorter {
+    /**
+     * maximal count of Subnets
+     *
+     * @since 2.2.0
+     */
+    public static final int MAX_SIZE = 1 << 26;
+
+    private static final int INDEX_BITS = 26;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    private SubnetSorter() {
+    }
+
+    /**
+     * @param subnets Subnets
+     * @return sorted Subnets - equal ones keep their input order
+     * @throws IllegalArgumentException if there are more than {@link #MAX_SIZE} Subnets
+     * @since 2.2.0
+     */
+    @NotNull
+    public static List<@NotNull Subnet> sort(@NotNull Collection<@NotNull Subnet> subnets) {
+        Subnet[] array = toArray(subnets);
+        long[] keys = sortedKeys(array, false);
+        List<Subnet> sorted = new ArrayList<>(keys.length);
+        for (long key : keys) sorted.add(array[(int) (key & INDEX_MASK)]);
+        return sorted;
+    }
+
+    /**
+     * @param subnets Subnets
+     * @return sorted Subnets without duplicates ({@link Subnet#equals(Object)}) - the first one is kept
+     * @throws IllegalArgumentException if there are more than {@link #MAX_SIZE} Subnets
+     * @since 2.2.0
+     */
+    @NotNull
+    public static List<@NotNull Subnet> sortDistinct(@NotNull Collection<@NotNull Subnet> subnets) {
+        Subnet[] array = toArray(subnets);
+        long[] keys = sortedKeys(array, false);
+        List<Subnet> sorted = new ArrayList<>(keys.length);
+        for (int i = 0; i < keys.length; i++)
+            if (i == 0 || keys[i - 1] >>> INDEX_BITS != keys[i] >>> INDEX_BITS)
+                sorted.add(array[(int) (keys[i] & INDEX_MASK)]);
+        return sorted;
+    }
+
+    /**
+     * removes all Subnets which are contained in another one ({@link Subnet#contains(Subnet)}) -
+     * of Subnets with the same range the first one is kept.
+     * the remaining Subnets do not overlap
+     *
+     * @param subnets Subnets
+     * @return sorted Subnets not contained in another one
+     * @throws IllegalArgumentException if there are more than {@link #MAX_SIZE} Subnets
+     * @since 2.2.0
+     */
+    @NotNull
+    public static List<@NotNull Subnet> sortCollapsed(@NotNull Collection<@NotNull Subnet> subnets) {
+        Subnet[] array = toArray(subnets);
+        // by Subnet ID: a Subnet precedes all Subnets it contains
+        long[] keys = sortedKeys(array, true);
+        List<Subnet> sorted = new ArrayList<>();
+        long end = -1; // last address of the previous kept Subnet
+        for (long key : keys) {
+            long first = key >>> 32 ^ 0x80000000L;
+            if (first <= end) continue;
+            Subnet subnet = array[(int) (key & INDEX_MASK)];
+            sorted.add(subnet);
+            end = first + (1L << (32 - subnet.getPrefixLength())) - 1;
+        }
+        // disjoint: Subnet ID order is compareTo order
+        return sorted;
+    }
+
+    @NotNull
+    private static Subnet[] toArray(@NotNull Collection<Subnet> subnets) {
+        if (MAX_SIZE < subnets.size())
+            throw new IllegalArgumentException(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE +
+                Subnet.getExceptionMessageSuffix("Subnet count", subnets.size()));
+        return subnets.toArray(new Subnet[0]);
+    }
+
+    /**
+     * key: address (32 bits), prefix length (6 bits), index (26 bits) - sign bit flipped for signed order
+     */
+    private static long @NotNull [] sortedKeys(@NotNull Subnet[] subnets, boolean subnetId) {
+        long[] keys = new long[subnets.length];
+        for (int i = 0; i < subnets.length; i++) {
+            Subnet subnet = subnets[i];
+            int address = subnetId ? subnet.getIpAsInt() & subnet.getSubnetmaskAsInt() : subnet.getIpAsInt();
+            keys[i] = ((long) address << 32 | (long) subnet.getPrefixLength() << INDEX_BITS | i) ^ Long.MIN_VALUE;
+        }
+        Arrays.parallelSort(keys);
+        return keys;
+    }
+}
@@ -0,0 +1,169 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+
+/**
+ * containment forest (parent/child hierarchy) of Subnets<br>
+ * built in {@code O(n log n)}: one sort by network and prefix length followed by a stack sweep -
+ * utilization of every node is calculated in the same pass
+ *
+ * <i>Subnets with the same network are nested in input order</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class SubnetTree {
+    private final List<Node> roots;
+    private final int size;
+
+    /**
+     * @param subnets unsorted Subnets
+     * @since 2.2.0
+     */
+    public SubnetTree(@NotNull Collection<@NotNull Subnet> subnets) {
+        Node[] nodes = new Node[subnets.size()];
+        int i = 0;
+        for (Subnet subnet : subnets) nodes[i++] = new Node(subnet);
+        // stable: same networks keep input order
+        Arrays.sort(nodes, Comparator
+            .comparingLong((Node node) -> Integer.toUnsignedLong(node.first))
+            .thenComparingInt(node -> node.subnet.getPrefixLength()));
+
+        List<Node> rootList = new ArrayList<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        for (Node node : nodes) {
+            while (!stack.isEmpty() && !stack.peek().contains(node)) stack.pop();
+            Node parent = stack.peek();
+            if (parent == null) rootList.add(node);
+            else {
+                node.parent = parent;
+                parent.children.add(node);
+                parent.coveredAddressCount += node.getAddressCount();
+            }
+            stack.push(node);
+        }
+        this.roots = Collections.unmodifiableList(rootList);
+        this.size = nodes.length;
+    }
+
+    /**
+     * @return nodes without parent ordered by network
+     * @since 2.2.0
+     */
+    @NotNull
+    @Unmodifiable
+    public List<@NotNull Node> getRoots() {
+        return roots;
+    }
+
+    /**
+     * @return count of all nodes
+     * @since 2.2.0
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * node of a {@link SubnetTree}
+     *
+     * @since 2.2.0
+     */
+    public static final class Node {
+        private final Subnet subnet;
+        private final int first;
+        private final int last;
+        private final List<Node> children = new ArrayList<>();
+        private final List<Node> unmodifiableChildren = Collections.unmodifiableList(children);
+        private Node parent;
+        private long coveredAddressCount;
+
+        private Node(@NotNull Subnet subnet) {
+            this.subnet = subnet;
+            this.first = subnet.getIpAsInt() & subnet.getSubnetmaskAsInt();
+            this.last = first | ~subnet.getSubnetmaskAsInt();
+        }
+
+        /**
+         * @return Subnet of this node
+         * @since 2.2.0
+         */
+        @NotNull
+        public Subnet getSubnet() {
+            return subnet;
+        }
+
+        /**
+         * @return smallest Subnet containing this one or {@code null} if it is a root
+         * @since 2.2.0
+         */
+        @Nullable
+        public Node getParent() {
+            return parent;
+        }
+
+        /**
+         * @return largest Subnets contained in this one ordered by network
+         * @since 2.2.0
+         */
+        @NotNull
+        @Unmodifiable
+        public List<@NotNull Node> getChildren() {
+            return unmodifiableChildren;
+        }
+
+        /**
+         * @return count of all addresses (including Subnet ID &amp; broadcast)
+         * @see Subnet#getCountOfHosts()
+         * @since 2.2.0
+         */
+        public long getAddressCount() {
+            return 1L << (32 - subnet.getPrefixLength());
+        }
+
+        /**
+         * @return count of addresses covered by children
+         * @since 2.2.0
+         */
+        public long getCoveredAddressCount() {
+            return coveredAddressCount;
+        }
+
+        /**
+         * @return count of addresses not covered by children
+         * @since 2.2.0
+         */
+        public long getFreeAddressCount() {
+            return getAddressCount() - getCoveredAddressCount();
+        }
+
+        /**
+         * @return covered addresses divided by all addresses ({@code 0-1})
+         * @since 2.2.0
+         */
+        public double getUtilization() {
+            return (double) getCoveredAddressCount() / getAddressCount();
+        }
+
+        private boolean contains(@NotNull Node node) {
+            return Integer.compareUnsigned(first, node.first) <= 0 &&
+                Integer.compareUnsigned(node.last, last) <= 0;
+        }
+
+        /**
+         * @return Subnet, count of children &amp; utilization
+         */
+        @Override
+        @NotNull
+        public String toString() {
+            return subnet + " (" + children.size() + " children, " + getCoveredAddressCount() +
+                "/" + getAddressCount() + " covered)";
+        }
+    }
+}
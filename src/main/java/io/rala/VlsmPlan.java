@@ -0,0 +1,177 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+
+/**
+ * VLSM (variable length subnet mask) plan of a parent Subnet<br>
+ * every requirement gets the smallest Subnet providing its count of hosts
+ * (see {@link Subnet#getCountOfHosts()})
+ *
+ * <p>requirements are allocated from the largest to the smallest one
+ * (in {@code O(n log n)}) out of free lists of aligned blocks per prefix length.
+ * a larger block is only split if no block of the required size is left</p>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class VlsmPlan {
+    private final Subnet parent;
+    private final List<Subnet> subnets;
+    private final List<Subnet> freeSubnets;
+    private final boolean complete;
+
+    private VlsmPlan(@NotNull Subnet parent, @NotNull List<Subnet> subnets, @NotNull List<Subnet> freeSubnets) {
+        this.parent = parent;
+        this.subnets = Collections.unmodifiableList(subnets);
+        this.freeSubnets = Collections.unmodifiableList(freeSubnets);
+        this.complete = !subnets.contains(null);
+    }
+
+    //region factory
+
+    /**
+     * @param parent       parent Subnet
+     * @param countOfHosts required count of hosts per requirement
+     * @return plan
+     * @throws IllegalArgumentException if a count of hosts is not positive
+     * @see #of(Subnet, Collection, int...)
+     * @since 2.2.0
+     */
+    @NotNull
+    public static VlsmPlan of(@NotNull Subnet parent, int @NotNull ... countOfHosts) {
+        return of(parent, List.of(), countOfHosts);
+    }
+
+    /**
+     * @param parent       parent Subnet
+     * @param reserved     Subnets which are already in use
+     * @param countOfHosts required count of hosts per requirement
+     * @return plan
+     * @throws IllegalArgumentException if a count of hosts is not positive
+     * @since 2.2.0
+     */
+    @NotNull
+    public static VlsmPlan of(
+        @NotNull Subnet parent, @NotNull Collection<@NotNull Subnet> reserved, int @NotNull ... countOfHosts
+    ) {
+        long[] order = new long[countOfHosts.length]; // prefix length & index
+        for (int i = 0; i < countOfHosts.length; i++)
+            order[i] = (long) Subnet.convertCountOfHostsToPrefixLength(countOfHosts[i]) << 32 | i;
+        Arrays.sort(order);
+
+        FreeLists freeLists = new FreeLists(parent, reserved);
+        Subnet[] subnets = new Subnet[countOfHosts.length];
+        for (long key : order) {
+            int prefixLength = (int) (key >>> 32);
+            long address = freeLists.allocate(prefixLength);
+            if (0 <= address) subnets[(int) key] = Subnet.of((int) address, prefixLength);
+        }
+        return new VlsmPlan(parent, Arrays.asList(subnets), freeLists.toSubnets());
+    }
+    //endregion
+
+    //region getter
+
+    /**
+     * @return parent Subnet
+     * @since 2.2.0
+     */
+    @NotNull
+    public Subnet getParent() {
+        return parent;
+    }
+
+    /**
+     * @return allocated Subnets in order of the requirements -
+     * {@code null} if a requirement did not fit
+     * @since 2.2.0
+     */
+    @NotNull
+    @Unmodifiable
+    public List<@Nullable Subnet> getSubnets() {
+        return subnets;
+    }
+
+    /**
+     * @return {@code true} if every requirement got a Subnet
+     * @since 2.2.0
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return minimal list of unused Subnets ordered by address
+     * @since 2.2.0
+     */
+    @NotNull
+    @Unmodifiable
+    public List<@NotNull Subnet> getFreeSubnets() {
+        return freeSubnets;
+    }
+    //endregion
+
+    /**
+     * stack of free aligned blocks per prefix length
+     */
+    private static final class FreeLists {
+        private final int[][] blocks = new int[33][];
+        private final int[] sizes = new int[33];
+
+        private FreeLists(@NotNull Subnet parent, @NotNull Collection<Subnet> reserved) {
+            for (int i = 0; i < blocks.length; i++) blocks[i] = new int[4];
+            long first = Integer.toUnsignedLong(parent.getIpAsInt() & parent.getSubnetmaskAsInt());
+            long last = first + (1L << (32 - parent.getPrefixLength())) - 1;
+            List<Subnet> free = new ArrayList<>();
+            long cursor = first;
+            for (Subnet subnet : SubnetSorter.sortCollapsed(reserved)) {
+                long reservedFirst = Integer.toUnsignedLong(subnet.getIpAsInt() & subnet.getSubnetmaskAsInt());
+                long reservedLast = reservedFirst + (1L << (32 - subnet.getPrefixLength())) - 1;
+                if (reservedLast < cursor || last < reservedFirst) continue;
+                AddressSet.addSubnets(free, cursor, reservedFirst - 1);
+                cursor = reservedLast + 1;
+            }
+            AddressSet.addSubnets(free, cursor, last);
+            for (int i = free.size() - 1; 0 <= i; i--) // lowest address on top
+                push(free.get(i).getIpAsInt(), free.get(i).getPrefixLength());
+        }
+
+        /**
+         * @return unsigned address of the allocated block or {@code -1}
+         */
+        private long allocate(int prefixLength) {
+            int available = prefixLength;
+            while (0 <= available && sizes[available] == 0) available--;
+            if (available < 0) return -1;
+            int address = blocks[available][--sizes[available]];
+            for (int split = available + 1; split <= prefixLength; split++) // keep upper halves
+                push(address | 1 << (32 - split), split);
+            return Integer.toUnsignedLong(address);
+        }
+
+        private void push(int address, int prefixLength) {
+            if (sizes[prefixLength] == blocks[prefixLength].length)
+                blocks[prefixLength] = Arrays.copyOf(blocks[prefixLength], sizes[prefixLength] * 2);
+            blocks[prefixLength][sizes[prefixLength]++] = address;
+        }
+
+        @NotNull
+        private List<Subnet> toSubnets() {
+            long[] keys = new long[Arrays.stream(sizes).sum()]; // address & prefix length
+            int size = 0;
+            for (int prefixLength = 0; prefixLength < blocks.length; prefixLength++)
+                for (int i = 0; i < sizes[prefixLength]; i++)
+                    keys[size++] = Integer.toUnsignedLong(blocks[prefixLength][i]) << 6 | prefixLength;
+            Arrays.sort(keys);
+            List<Subnet> subnets = new ArrayList<>(keys.length);
+            for (long key : keys) subnets.add(Subnet.of((int) (key >>> 6), (int) (key & 63)));
+            return subnets;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+
+/**
+ * ordered access control list with (Cisco-style) wildcard masks<br>
+ * wildcard masks may be non-contiguous - a {@code 1} bit means "don't care"
+ *
+ * <p>rules are compiled into a tuple space: one hash table per distinct wildcard mask.
+ * a lookup probes each table once (ordered by their first rule) and stops
+ * as soon as no table can contain an earlier matching rule</p>
+ *
+ * <i>instances are immutable and thread-safe</i>
+ *
+ * @author rala<br>
+ * <a href="mailto:code@rala.io">code@rala.io</a><br>
+ * <a href="https://www.rala.io">www.rala.io</a>
+ * @since 2.2.0
+ */
+public class WildcardAcl {
+    /**
+     * action of a rule
+     *
+     * @since 2.2.0
+     */
+    public enum Action {
+        PERMIT, DENY
+    }
+
+    private final List<Rule> rules;
+    private final Group[] groups;
+    private final Map<Integer, Integer> shadowedRules;
+
+    /**
+     * compiles rules
+     *
+     * @param rules ordered rules - the first matching rule wins
+     * @since 2.2.0
+     */
+    public WildcardAcl(@NotNull List<@NotNull Rule> rules) {
+        this.rules = List.copyOf(rules);
+
+        Map<Integer, List<Integer>> indicesByWildcard = new HashMap<>();
+        for (int i = 0; i < this.rules.size(); i++)
+            indicesByWildcard.computeIfAbsent(this.rules.get(i).getWildcard(), k -> new ArrayList<>()).add(i);
+        List<Group> groupList = new ArrayList<>(indicesByWildcard.size());
+        for (Map.Entry<Integer, List<Integer>> entry : indicesByWildcard.entrySet())
+            groupList.add(new Group(entry.getKey(), entry.getValue(), this.rules));
+        groupList.sort(Comparator.comparingInt(group -> group.firstIndex));
+        this.groups = groupList.toArray(new Group[0]);
+
+        Map<Integer, Integer> shadowed = new TreeMap<>();
+        for (int i = 0; i < this.rules.size(); i++) {
+            int shadowingIndex = findShadowingRule(i);
+            if (0 <= shadowingIndex) shadowed.put(i, shadowingIndex);
+        }
+        this.shadowedRules = Collections.unmodifiableMap(shadowed);
+    }
+
+    //region match
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return index of first matching rule or {@code -1}
+     * @since 2.2.0
+     */
+    public int match(int ip) {
+        int best = Integer.MAX_VALUE;
+        for (Group group : groups) {
+            if (best <= group.firstIndex) break;
+            int index = group.get(ip & ~group.wildcard);
+            if (0 <= index && index < best) best = index;
+        }
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return first matching rule or {@code null}
+     * @since 2.2.0
+     */
+    @Nullable
+    public Rule getMatchingRule(int ip) {
+        int index = match(ip);
+        return index < 0 ? null : rules.get(index);
+    }
+
+    /**
+     * @param ip IP address (first quad in the highest byte)
+     * @return action of first matching rule or {@link Action#DENY} (implicit deny)
+     * @since 2.2.0
+     */
+    @NotNull
+    public Action evaluate(int ip) {
+        int index = match(ip);
+        return index < 0 ? Action.DENY : rules.get(index).getAction();
+    }
+    //endregion
+
+    //region getter
+
+    /**
+     * @return ordered rules
+     * @since 2.2.0
+     */
+    @NotNull
+    @Unmodifiable
+    public List<@NotNull Rule> getRules() {
+        return rules;
+    }
+
+    /**
+     * a rule is shadowed if an earlier rule matches every address it matches -
+     * so it can never be the first match
+     *
+     * @return index of shadowed rule mapped to index of the first rule shadowing it
+     * @since 2.2.0
+     */
+    @NotNull
+    @Unmodifiable
+    public Map<@NotNull Integer, @NotNull Integer> getShadowedRules() {
+        return shadowedRules;
+    }
+    //endregion
+
+    /**
+     * @param index rule index
+     * @return index of the first earlier rule covering the rule or {@code -1}
+     */
+    private int findShadowingRule(int index) {
+        Rule rule = rules.get(index);
+        int best = Integer.MAX_VALUE;
+        for (Group group : groups) {
+            if (index <= group.firstIndex || best <= group.firstIndex) break;
+            // every bit the group cares about has to be a bit the rule cares about
+            if ((~group.wildcard & rule.getWildcard()) != 0) continue;
+            int candidate = group.get(rule.getAddress() & ~group.wildcard);
+            if (0 <= candidate && candidate < index && candidate < best) best = candidate;
+        }
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    /**
+     * rule of a {@link WildcardAcl}
+     *
+     * @since 2.2.0
+     */
+    public static final class Rule {
+        private final int address;
+        private final int wildcard;
+        private final Action action;
+
+        /**
+         * @param address  address (first quad in the highest byte)
+         * @param wildcard wildcard mask - {@code 1} bits are ignored
+         * @param action   action
+         * @since 2.2.0
+         */
+        public Rule(int address, int wildcard, @NotNull Action action) {
+            this.address = address & ~wildcard;
+            this.wildcard = wildcard;
+            this.action = action;
+        }
+
+        /**
+         * @param address  address (like {@code 10.0.0.0})
+         * @param wildcard wildcard mask (like {@code 0.255.0.255})
+         * @param action   action
+         * @since 2.2.0
+         */
+        public Rule(@NotNull String address, @NotNull String wildcard, @NotNull Action action) {
+            this(new Subnet(address).getIpAsInt(), new Subnet(wildcard).getIpAsInt(), action);
+        }
+
+        /**
+         * @param subnet Subnet - uses {@link Subnet#getWildmarkMaskAsArray()}
+         * @param action action
+         * @since 2.2.0
+         */
+        public Rule(@NotNull Subnet subnet, @NotNull Action action) {
+            this(subnet.getIpAsInt(), ~subnet.getSubnetmaskAsInt(), action);
+        }
+
+        /**
+         * @return address without wildcard bits (first quad in the highest byte)
+         * @since 2.2.0
+         */
+        public int getAddress() {
+            return address;
+        }
+
+        /**
+         * @return wildcard mask (first quad in the highest byte)
+         * @since 2.2.0
+         */
+        public int getWildcard() {
+            return wildcard;
+        }
+
+        /**
+         * @return action
+         * @since 2.2.0
+         */
+        @NotNull
+        public Action getAction() {
+            return action;
+        }
+
+        /**
+         * @param ip IP address (first quad in the highest byte)
+         * @return {@code true} if rule matches {@code ip}
+         * @since 2.2.0
+         */
+        public boolean matches(int ip) {
+            return ((ip ^ address) & ~wildcard) == 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Rule)) return false;
+            Rule rule = (Rule) o;
+            return address == rule.address && wildcard == rule.wildcard && action == rule.action;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(address, wildcard, action);
+        }
+
+        /**
+         * @return action, address &amp; wildcard mask (like {@code permit 10.0.0.0 0.255.255.255})
+         */
+        @Override
+        @NotNull
+        public String toString() {
+            return action.name().toLowerCase() + " " +
+                Subnet.of(address, 32).getIp() + " " + Subnet.of(wildcard, 32).getIp();
+        }
+    }
+
+    /**
+     * all rules with the same wildcard mask -
+     * open addressing hash table from masked address to the first rule index
+     */
+    private static final class Group {
+        private final int wildcard;
+        private final int firstIndex;
+        private final int[] keys;
+        private final int[] values;
+        private final int mask;
+
+        private Group(int wildcard, @NotNull List<Integer> indices, @NotNull List<Rule> rules) {
+            this.wildcard = wildcard;
+            this.firstIndex = indices.get(0);
+            int capacity = Integer.highestOneBit(Math.max(1, indices.size()) * 2 - 1) << 1;
+            this.keys = new int[capacity];
+            this.values = new int[capacity];
+            Arrays.fill(values, -1);
+            this.mask = capacity - 1;
+            for (int index : indices) { // ascending - keep first rule per key
+                int key = rules.get(index).getAddress();
+                int slot = slot(key);
+                while (0 <= values[slot] && keys[slot] != key) slot = (slot + 1) & mask;
+                if (values[slot] < 0) {
+                    keys[slot] = key;
+                    values[slot] = index;
+                }
+            }
+        }
+
+        /**
+         * @return rule index or {@code -1}
+         */
+        private int get(int key) {
+            for (int slot = slot(key); 0 <= values[slot]; slot = (slot + 1) & mask)
+                if (keys[slot] == key) return values[slot];
+            return -1;
+        }
+
+        private int slot(int key) {
+            return Hashing.mix(key) & mask;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+
+import static io.rala.AddressClassification.*;
+import static org.assertj.core.api.Assertions.*;
+
+class AddressClassificationTest {
+    @Test
+    void classify() {
+        assertClassification("8.8.8.8", CLASS_A, 0);
+        assertClassification("0.1.2.3", CLASS_A, RESERVED);
+        assertClassification("10.20.30.40", CLASS_A, PRIVATE);
+        assertClassification("100.63.255.255", CLASS_A, 0);
+        assertClassification("100.64.0.1", CLASS_A, SHARED);
+        assertClassification("100.127.255.255", CLASS_A, SHARED);
+        assertClassification("127.0.0.1", CLASS_A, LOOPBACK);
+        assertClassification("169.254.1.1", CLASS_B, LINK_LOCAL);
+        assertClassification("169.253.1.1", CLASS_B, 0);
+        assertClassification("172.15.0.1", CLASS_B, 0);
+        assertClassification("172.16.0.1", CLASS_B, PRIVATE);
+        assertClassification("172.31.255.255", CLASS_B, PRIVATE);
+        assertClassification("172.32.0.0", CLASS_B, 0);
+        assertClassification("192.0.0.8", CLASS_C, RESERVED);
+        assertClassification("192.0.2.1", CLASS_C, RESERVED);
+        assertClassification("192.0.1.1", CLASS_C, 0);
+        assertClassification("192.168.100.1", CLASS_C, PRIVATE);
+        assertClassification("198.19.0.1", CLASS_C, RESERVED);
+        assertClassification("198.51.100.7", CLASS_C, RESERVED);
+        assertClassification("203.0.113.9", CLASS_C, RESERVED);
+        assertClassification("224.0.0.1", CLASS_D, MULTICAST);
+        assertClassification("239.255.255.255", CLASS_D, MULTICAST);
+        assertClassification("240.0.0.1", CLASS_E, RESERVED);
+        assertClassification("255.255.255.255", CLASS_E, RESERVED);
+    }
+
+    @Test
+    void classifyMatchesSubnet() {
+        for (int octet = 0; octet < 256; octet++) {
+            Subnet subnet = Subnet.of(octet << 24 | 0x112233, 32);
+            assertThat(getClassChar(subnet.getClassification())).isEqualTo(subnet.getClassChar());
+        }
+        assertThat(new Subnet("192.168.0.1", "/24").getClassification()).isEqualTo(CLASS_C | PRIVATE);
+    }
+
+    private static void assertClassification(String ip, int classIndex, int flags) {
+        int classification = AddressClassification.classify(new Subnet(ip, "/32").getIpAsInt());
+        assertThat(getClassIndex(classification)).as(ip).isEqualTo(classIndex);
+        assertThat(classification & ~CLASS_MASK).as(ip).isEqualTo(flags);
+    }
+}
@@ -0,0 +1,171 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.rala.TestAddresses.ip;
+import static org.assertj.core.api.Assertions.*;
+
+class AddressRangeMapTest {
+    @Test
+    void getAtRangeBoundaries() {
+        AddressRangeMap<String> map = AddressRangeMap.<String>builder()
+            .put(new Subnet("192.168.0.0", "/24"), "lan")
+            .put(ip("0.0.0.0"), ip("0.0.0.0"), "zero")
+            .put(ip("255.255.255.0"), ip("255.255.255.255"), "top")
+            .build();
+        assertThat(map.get(ip("0.0.0.0"))).isEqualTo("zero");
+        assertThat(map.get(ip("0.0.0.1"))).isNull();
+        assertThat(map.get(ip("192.167.255.255"))).isNull();
+        assertThat(map.get(ip("192.168.0.0"))).isEqualTo("lan");
+        assertThat(map.get(ip("192.168.0.255"))).isEqualTo("lan");
+        assertThat(map.get(ip("192.168.1.0"))).isNull();
+        assertThat(map.get(ip("255.255.254.255"))).isNull();
+        assertThat(map.get(ip("255.255.255.255"))).isEqualTo("top");
+        assertThat(map.indexOf(ip("192.168.0.7"))).isEqualTo(1);
+        assertThat(map.getFirst(1)).isEqualTo(ip("192.168.0.0"));
+        assertThat(map.getLast(1)).isEqualTo(ip("192.168.0.255"));
+    }
+
+    @Test
+    void getFullRange() {
+        AddressRangeMap<String> map = AddressRangeMap.<String>builder().put(0, -1, "all").build();
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.get(0)).isEqualTo("all");
+        assertThat(map.get(Integer.MAX_VALUE)).isEqualTo("all");
+        assertThat(map.get(Integer.MIN_VALUE)).isEqualTo("all");
+        assertThat(map.get(-1)).isEqualTo("all");
+        assertThat(AddressRangeMap.builder().build().get(0)).isNull();
+    }
+
+    @Test
+    void buildMergesAdjacentEqualValues() {
+        AddressRangeMap<String> map = AddressRangeMap.<String>builder()
+            .put(new Subnet("10.0.1.0", "/24"), "a") // added before its left neighbour
+            .put(new Subnet("10.0.0.0", "/24"), "a")
+            .put(new Subnet("10.0.2.0", "/24"), "b") // adjacent but different
+            .put(new Subnet("10.0.4.0", "/24"), "b") // equal but with a gap
+            .build();
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(map.getFirst(0)).isEqualTo(ip("10.0.0.0"));
+        assertThat(map.getLast(0)).isEqualTo(ip("10.0.1.255"));
+        assertThat(map.getValue(1)).isEqualTo(map.getValue(2));
+        assertThat(map.getValues()).containsExactly("a", "b");
+        assertThat(map).hasToString("AddressRangeMap{size=3, values=2}");
+        assertThat(map).isEqualTo(AddressRangeMap.<String>builder()
+            .put(ip("10.0.0.0"), ip("10.0.1.255"), "a")
+            .put(new Subnet("10.0.2.0", "/24"), "b")
+            .put(new Subnet("10.0.4.0", "/24"), "b")
+            .build());
+    }
+
+    @Test
+    void buildRejectsOverlap() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> AddressRangeMap.builder().put(2, 1, "x"))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_RANGE_LAST_BEFORE_FIRST + " [range: 0.0.0.2 - 0.0.0.1]");
+        assertThatIllegalArgumentException().isThrownBy(() -> AddressRangeMap.builder()
+            .put(new Subnet("10.0.0.0", "/8"), "x")
+            .put(new Subnet("10.1.0.0", "/16"), "x")
+            .build()
+        ).withMessage(Subnet.ILLEGAL_ARGUMENT_RANGES_OVERLAP + " [range: 10.1.0.0 - 10.1.255.255]");
+        assertThatIllegalArgumentException().isThrownBy(() -> AddressRangeMap.builder()
+            .put(ip("10.0.0.0"), ip("10.0.0.10"), "x")
+            .put(ip("10.0.0.10"), ip("10.0.0.20"), "y") // shares one address
+            .build()
+        ).withMessage(Subnet.ILLEGAL_ARGUMENT_RANGES_OVERLAP + " [range: 10.0.0.10 - 10.0.0.20]");
+        // unsigned order: 128.0.0.0 is after 127.255.255.255
+        assertThat(AddressRangeMap.builder()
+            .put(ip("128.0.0.0"), -1, "high")
+            .put(0, ip("127.255.255.255"), "low")
+            .build().size()).isEqualTo(2);
+    }
+
+    @Test
+    void buildInAnyOrder() {
+        Random random = new Random(3);
+        List<int[]> ranges = new ArrayList<>(); // first, last & value
+        long next = 0;
+        while (next <= 0xFFFFFFFFL) {
+            long first = next + random.nextInt(1 << 24);
+            if (0xFFFFFFFFL < first) break;
+            long last = Math.min(first + random.nextInt(1 << 24), 0xFFFFFFFFL);
+            ranges.add(new int[]{(int) first, (int) last, random.nextInt(3)}); // few values: many merges
+            next = last + 1;
+        }
+        AddressRangeMap.Builder<Integer> sorted = AddressRangeMap.builder();
+        for (int[] range : ranges) sorted.put(range[0], range[1], range[2]);
+        Collections.shuffle(ranges, random);
+        AddressRangeMap.Builder<Integer> shuffled = AddressRangeMap.builder();
+        for (int[] range : ranges) shuffled.put(range[0], range[1], range[2]);
+        AddressRangeMap<Integer> map = shuffled.build();
+        assertThat(map).isEqualTo(sorted.build());
+        for (int[] range : ranges) {
+            assertThat(map.get(range[0])).isEqualTo(range[2]);
+            assertThat(map.get(range[1])).isEqualTo(range[2]);
+        }
+    }
+
+    @Test
+    void readFromDecodesDistinctValuesOnce() {
+        AddressRangeMap<Integer> map = AddressRangeMap.<Integer>builder()
+            .put(new Subnet("10.0.0.0", "/8"), 64512)
+            .put(new Subnet("172.16.0.0", "/12"), 65001)
+            .put(new Subnet("200.0.0.0", "/16"), 64512)
+            .build();
+        ByteBuffer buffer = map.writeTo(ByteBuffer.allocate((int) map.getSerializedSize(String::valueOf)), String::valueOf);
+        assertThat(buffer.remaining()).isZero();
+        AtomicInteger decoded = new AtomicInteger();
+        AddressRangeMap<Integer> read = AddressRangeMap.readFrom(buffer.flip(), value -> {
+            decoded.incrementAndGet();
+            return Integer.valueOf(value);
+        });
+        assertThat(decoded).hasValue(2);
+        assertThat(read).isEqualTo(map).hasSameHashCodeAs(map);
+    }
+
+    @Test
+    void mapMultiByteValues(@TempDir Path directory) throws IOException {
+        AddressRangeMap<String> map = AddressRangeMap.<String>builder()
+            .put(new Subnet("10.0.0.0", "/8"), "Z\u00FCrich")
+            .put(new Subnet("11.0.0.0", "/8"), "")
+            .build();
+        ByteBuffer buffer = ByteBuffer.allocate((int) map.getSerializedSize(value -> value));
+        Path file = Files.write(directory.resolve("sites.armp"), map.writeTo(buffer, value -> value).array());
+        AddressRangeMap<String> mapped = AddressRangeMap.map(file, value -> value);
+        assertThat(mapped.get(ip("10.255.255.255"))).isEqualTo("Z\u00FCrich");
+        assertThat(mapped.get(ip("11.0.0.0"))).isEmpty();
+        assertThat(mapped.get(ip("12.0.0.0"))).isNull();
+    }
+
+    @Test
+    void readFromDamaged() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> AddressRangeMap.readFrom(ByteBuffer.allocate(16), String::valueOf))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_FORMAT_NOT_SUPPORTED + " [format: AddressRangeMap]");
+        AddressRangeMap<String> map = AddressRangeMap.<String>builder().put(1, 2, "x").build();
+        ByteBuffer truncated = map.writeTo(ByteBuffer.allocate(64), value -> value).flip().limit(20);
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> AddressRangeMap.readFrom(truncated, value -> value))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_CORRUPT + " [format: AddressRangeMap]");
+        // header, first, last & value index - then the end of the first value
+        ByteBuffer valueEndBeforeStart = map.writeTo(ByteBuffer.allocate(64), value -> value).flip().putInt(28, -1);
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> AddressRangeMap.readFrom(valueEndBeforeStart, value -> value))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_CORRUPT + " [format: AddressRangeMap]");
+        ByteBuffer otherVersion = map.writeTo(ByteBuffer.allocate(64), value -> value).flip().putInt(4, 2);
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> AddressRangeMap.readFrom(otherVersion, value -> value))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_FORMAT_VERSION_NOT_SUPPORTED + " [version: 2]");
+    }
+}
@@ -0,0 +1,138 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static io.rala.TestAddresses.ip;
+import static org.assertj.core.api.Assertions.*;
+
+class AddressSetTest {
+    @Test
+    void ofIps() {
+        AddressSet set = AddressSet.of(ip("10.0.0.1"), ip("10.0.0.1"), ip("10.0.0.2"), ip("192.168.0.1"));
+        assertThat(set.cardinality()).isEqualTo(3);
+        assertThat(set.contains(ip("10.0.0.2"))).isTrue();
+        assertThat(set.contains(ip("10.0.0.3"))).isFalse();
+        assertThat(set.contains(ip("10.1.0.1"))).isFalse();
+        assertThat(set).hasToString("AddressSet{cardinality=3, containers=2}");
+    }
+
+    @Test
+    void ofSubnets() {
+        AddressSet set = AddressSet.of(List.of(
+            new Subnet("10.0.0.0", "/8"),
+            new Subnet("10.1.0.0", "/16"), // inside /8
+            new Subnet("192.168.1.0", "/24"),
+            new Subnet("192.168.1.128", "/25")
+        ));
+        assertThat(set.cardinality()).isEqualTo((1L << 24) + 256);
+        assertThat(set.contains(ip("10.255.255.255"))).isTrue();
+        assertThat(set.contains(ip("11.0.0.0"))).isFalse();
+        assertThat(set.contains(ip("192.168.1.200"))).isTrue();
+    }
+
+    @Test
+    void ofFullRange() {
+        AddressSet set = AddressSet.of(List.of(new Subnet("0.0.0.0", "/0")));
+        assertThat(set.cardinality()).isEqualTo(1L << 32);
+        assertThat(set.toSubnets()).containsExactly(new Subnet("0.0.0.0", "/0"));
+    }
+
+    @Test
+    void empty() {
+        assertThat(AddressSet.empty().isEmpty()).isTrue();
+        assertThat(AddressSet.empty().cardinality()).isZero();
+        assertThat(AddressSet.empty().toSubnets()).isEmpty();
+        assertThat(AddressSet.of()).isEqualTo(AddressSet.empty());
+    }
+
+    @Test
+    void toSubnets() {
+        AddressSet set = AddressSet.builder()
+            .addRange(ip("10.0.0.1"), ip("10.0.0.6"))
+            .add(ip("10.0.0.7"))
+            .add(new Subnet("10.0.0.8", "/29"))
+            .build();
+        assertThat(set.toSubnets()).containsExactly(
+            new Subnet("10.0.0.1", "/32"),
+            new Subnet("10.0.0.2", "/31"),
+            new Subnet("10.0.0.4", "/30"),
+            new Subnet("10.0.0.8", "/29")
+        );
+    }
+
+    @Test
+    void toSubnetsAcrossContainers() {
+        AddressSet set = AddressSet.builder().addRange(ip("10.0.255.0"), ip("10.2.0.255")).build();
+        assertThat(set.toSubnets()).containsExactly(
+            new Subnet("10.0.255.0", "/24"),
+            new Subnet("10.1.0.0", "/16"),
+            new Subnet("10.2.0.0", "/24")
+        );
+        assertThat(AddressSet.of(set.toSubnets())).isEqualTo(set);
+    }
+
+    @Test
+    void addRangeWithInvalidRange() {
+        assertThatIllegalArgumentException().isThrownBy(() -> AddressSet.builder().addRange(2, 1))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_RANGE_LAST_BEFORE_FIRST + " [range: 0.0.0.2 - 0.0.0.1]");
+    }
+
+    @Test
+    void unionAndIntersection() {
+        AddressSet a = AddressSet.of(List.of(new Subnet("10.0.0.0", "/16"), new Subnet("172.16.0.0", "/24")));
+        AddressSet b = AddressSet.of(List.of(new Subnet("10.0.128.0", "/17"), new Subnet("10.1.0.0", "/24")));
+        assertThat(a.union(b).toSubnets()).containsExactly(
+            new Subnet("10.0.0.0", "/16"),
+            new Subnet("10.1.0.0", "/24"),
+            new Subnet("172.16.0.0", "/24")
+        );
+        assertThat(a.intersection(b).toSubnets()).containsExactly(new Subnet("10.0.128.0", "/17"));
+        assertThat(a.intersection(AddressSet.empty()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void matchesTreeSet() {
+        Random random = new Random(3);
+        for (int round = 0; round < 5; round++) {
+            TreeSet<Long> expectedA = new TreeSet<>();
+            TreeSet<Long> expectedB = new TreeSet<>();
+            AddressSet a = randomSet(random, expectedA);
+            AddressSet b = randomSet(random, expectedB);
+
+            TreeSet<Long> union = new TreeSet<>(expectedA);
+            union.addAll(expectedB);
+            TreeSet<Long> intersection = new TreeSet<>(expectedA);
+            intersection.retainAll(expectedB);
+            assertThat(a.cardinality()).isEqualTo(expectedA.size());
+            assertThat(a.union(b).cardinality()).isEqualTo(union.size());
+            assertThat(a.intersection(b).cardinality()).isEqualTo(intersection.size());
+            for (long ip : union) assertThat(a.union(b).contains((int) ip)).isTrue();
+            for (long ip : intersection) assertThat(a.intersection(b).contains((int) ip)).isTrue();
+
+            long covered = 0;
+            for (Subnet subnet : a.toSubnets()) covered += 1L << (32 - subnet.getPrefixLength());
+            assertThat(covered).isEqualTo(expectedA.size());
+            assertThat(AddressSet.of(a.toSubnets())).isEqualTo(a);
+        }
+    }
+
+    /**
+     * dense &amp; sparse containers
+     */
+    private static AddressSet randomSet(Random random, TreeSet<Long> expected) {
+        List<Integer> ips = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) ips.add(random.nextInt(3) << 16 | random.nextInt(1 << 13));
+        for (int i = 0; i < 2_000; i++) ips.add(random.nextInt(3) << 16 | random.nextInt(1 << 16));
+        AddressSet.Builder builder = AddressSet.builder();
+        for (int ip : ips) {
+            builder.add(ip);
+            expected.add(Integer.toUnsignedLong(ip));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,28 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HashingTest {
+    @Test
+    void mixSpreadsPrefixAlignedKeys() {
+        for (int prefixLength : new int[]{8, 16, 24}) {
+            Set<Integer> slots = new HashSet<>();
+            for (int i = 0; i < 256; i++) slots.add(Hashing.mix(i << (32 - prefixLength)) & 511);
+            // 256 random keys in 512 slots: ~201 distinct on average
+            assertThat(slots).as("/%d", prefixLength).hasSizeGreaterThan(170);
+        }
+    }
+
+    @Test
+    void mixIsBijective() {
+        assertThat(Hashing.mix(0)).isZero();
+        Set<Integer> mixed = new HashSet<>();
+        for (int i = 0; i < 1 << 16; i++) mixed.add(Hashing.mix(i << 16));
+        assertThat(mixed).hasSize(1 << 16);
+    }
+}
@@ -0,0 +1,115 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static io.rala.TestAddresses.ip;
+import static org.assertj.core.api.Assertions.*;
+
+class HeavyHitterSketchTest {
+    @Test
+    void getEstimatesExact() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(16);
+        sketch.add(ip("10.0.0.1"), 5);
+        sketch.add(ip("10.0.0.2"));
+        sketch.add(ip("10.1.0.1"), 2);
+        assertThat(sketch.getTotal()).isEqualTo(8);
+        assertThat(sketch.getEstimates(32)).extracting(HeavyHitterSketch.Estimate::toString)
+            .containsExactly("10.0.0.1/32 5 +/-0", "10.1.0.1/32 2 +/-0", "10.0.0.2/32 1 +/-0");
+        assertThat(sketch.getEstimates(16)).extracting(HeavyHitterSketch.Estimate::toString)
+            .containsExactly("10.0.0.0/16 6 +/-0", "10.1.0.0/16 2 +/-0");
+        assertThat(sketch.getEstimates(8)).extracting(HeavyHitterSketch.Estimate::getCount)
+            .containsExactly(8L);
+        assertThat(sketch.getEstimates(8).get(0).getSubnet().isUnmodifiable()).isTrue();
+    }
+
+    @Test
+    void getEstimatesNotTracked() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new HeavyHitterSketch(1).getEstimates(12))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_NOT_SUPPORTED + " [prefix length: 12]");
+    }
+
+    @Test
+    void constructorWithInvalidArguments() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new HeavyHitterSketch(0))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + " [capacity: 0]");
+        assertThatIllegalArgumentException().isThrownBy(() -> new HeavyHitterSketch(1, new int[0]))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + " [prefix length count: 0]");
+        assertThatIllegalArgumentException().isThrownBy(() -> new HeavyHitterSketch(1, 33))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + Subnet.EXCEPTION_MESSAGE_SUFFIX_SNM);
+        assertThatIllegalArgumentException().isThrownBy(() -> new HeavyHitterSketch(1).add(0, -1))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + " [weight: -1]");
+    }
+
+    @Test
+    void estimatesAreBounded() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(64, 24, 32);
+        Map<Integer, Long> exact = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            // skewed: a few hot addresses and a long tail
+            int ip = random.nextInt(4) == 0 ? random.nextInt(8) : random.nextInt(50_000);
+            sketch.add(ip);
+            exact.merge(ip, 1L, Long::sum);
+        }
+        for (HeavyHitterSketch.Estimate estimate : sketch.getEstimates(32)) {
+            long count = exact.getOrDefault(estimate.getSubnet().getIpAsInt(), 0L);
+            assertThat(estimate.getCount()).isGreaterThanOrEqualTo(count);
+            assertThat(estimate.getGuaranteedCount()).isLessThanOrEqualTo(count);
+            assertThat(estimate.getError()).isLessThanOrEqualTo(sketch.getMaximumError());
+        }
+        // every address above total / capacity is tracked
+        assertThat(sketch.getEstimates(32).subList(0, 8))
+            .extracting(estimate -> estimate.getSubnet().getIpAsInt())
+            .containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7);
+    }
+
+    @Test
+    void prefixAlignedKeysSpreadOverTable() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(1024, 8, 16);
+        for (int i = 0; i < 256; i++) sketch.add(i << 24); // all /8 networks
+        for (int i = 0; i < 1024; i++) sketch.add(i << 16);
+        assertThat(sketch.getEstimates(8)).hasSize(256);
+        assertThat(sketch.getEstimates(16)).hasSize(1024);
+        // a table of 2048 slots: all keys in few slots would need hundreds of probes
+        assertThat(sketch.getMaximumProbeLength(8)).isLessThan(8);
+        assertThat(sketch.getMaximumProbeLength(16)).isLessThan(16);
+    }
+
+    @Test
+    void getHeavyHitters() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(64);
+        sketch.add(ip("10.0.0.1"), 50);
+        for (int i = 0; i < 30; i++) sketch.add(ip("10.0.1.0") + i, 1); // only heavy as /24
+        for (int i = 0; i < 20; i++) sketch.add(ip("172.16.0.0") + (i << 8), 1); // only heavy as /16
+        assertThat(sketch.getHeavyHitters(0.15)).extracting(HeavyHitterSketch.Estimate::toString)
+            .containsExactly("10.0.0.1/32 50 +/-0", "10.0.1.0/24 30 +/-0", "172.16.0.0/16 20 +/-0");
+        // /32: 51, /24: 22, /16: 2, /8: 2
+        assertThat(sketch.getHeavyHitters(0)).hasSize(51 + 22 + 2 + 2);
+        assertThatIllegalArgumentException().isThrownBy(() -> sketch.getHeavyHitters(2))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + " [fraction: 2.0]");
+        assertThatIllegalArgumentException().isThrownBy(() -> sketch.getHeavyHitters(Double.NaN))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + " [fraction: NaN]");
+    }
+
+    @Test
+    void getHeavyHittersDiscountsMostGeneralReportedOnly() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(128, 16, 24, 32);
+        sketch.add(ip("10.0.0.1"), 30);
+        for (int i = 2; i < 17; i++) sketch.add(ip("10.0.0.0") + i); // 10.0.0.0/24: 45
+        for (int i = 0; i < 25; i++) sketch.add(ip("10.0.5.0") + i);
+        for (int i = 0; i < 10; i++) sketch.add(ip("10.0.9.0") + i);
+        for (int i = 0; i < 20; i++) sketch.add(ip("192.0.0.0") + (i << 16)); // 20 other /16
+        // 10.0.0.0/16: 80 - 30 (/32 below an unreported /24) - 25 (/24)
+        assertThat(sketch.getHeavyHitters(0.2)).extracting(HeavyHitterSketch.Estimate::toString)
+            .containsExactly("10.0.0.1/32 30 +/-0", "10.0.5.0/24 25 +/-0", "10.0.0.0/16 80 +/-0");
+        // 10.0.0.0/16: 80 - 45 - 25 - 10 (10.0.0.1/32 is covered by 10.0.0.0/24)
+        assertThat(sketch.getHeavyHitters(0.1)).extracting(HeavyHitterSketch.Estimate::toString)
+            .containsExactly(
+                "10.0.0.1/32 30 +/-0", "10.0.0.0/24 45 +/-0", "10.0.5.0/24 25 +/-0", "10.0.9.0/24 10 +/-0"
+            );
+    }
+}
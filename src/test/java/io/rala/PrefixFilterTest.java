@@ -0,0 +1,98 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static io.rala.TestAddresses.ip;
+import static org.assertj.core.api.Assertions.*;
+
+class PrefixFilterTest {
+    @Test
+    void mightContain() {
+        PrefixFilter filter = new PrefixFilter(List.of(
+            new Subnet("10.0.0.0", "/8"),
+            new Subnet("192.168.1.77", "/24"),
+            new Subnet("1.2.3.4", "/32")
+        ), 0.01);
+        assertThat(filter.getPrefixLengths()).containsExactly(8, 24, 32);
+        assertThat(filter.mightContain(ip("10.200.0.1"))).isTrue();
+        assertThat(filter.mightContain(ip("192.168.1.1"))).isTrue();
+        assertThat(filter.mightContain(ip("1.2.3.4"))).isTrue();
+        assertThat(filter.mightContain(new Subnet("192.168.1.0", "/24"))).isTrue();
+        assertThat(filter.mightContain(new Subnet("192.168.1.0", "/25"))).isFalse();
+    }
+
+    @Test
+    void mightContainEmpty() {
+        PrefixFilter filter = new PrefixFilter(List.of(), 0.01);
+        assertThat(filter.getPrefixLengths()).isEmpty();
+        assertThat(filter.mightContain(0)).isFalse();
+    }
+
+    @Test
+    void constructorWithInvalidRate() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new PrefixFilter(List.of(), 0))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + " [false positive rate: 0.0]");
+        assertThatIllegalArgumentException().isThrownBy(() -> new PrefixFilter(List.of(), 1))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + " [false positive rate: 1.0]");
+    }
+
+    @Test
+    void falsePositiveRate() {
+        Random random = new Random(11);
+        List<Subnet> subnets = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++)
+            subnets.add(Subnet.of(random.nextInt() | 0x80000000, 24 + random.nextInt(9))); // upper half
+        PrefixFilter filter = new PrefixFilter(subnets, 0.01);
+        for (Subnet subnet : subnets) assertThat(filter.mightContain(subnet.getIpAsInt())).isTrue();
+
+        int falsePositives = 0;
+        int tests = 200_000;
+        for (int i = 0; i < tests; i++)
+            if (filter.mightContain(random.nextInt() & 0x7FFFFFFF)) falsePositives++; // lower half
+        assertThat((double) falsePositives / tests).isLessThan(0.02);
+    }
+
+    @Test
+    void writeToAndReadFrom() {
+        PrefixFilter filter = new PrefixFilter(List.of(
+            new Subnet("10.0.0.0", "/8"), new Subnet("172.16.0.0", "/12")
+        ), 0.001);
+        for (ByteOrder order : List.of(ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN)) {
+            ByteBuffer buffer = ByteBuffer.allocate(filter.getSerializedSize() + 3).order(order);
+            buffer.position(3);
+            filter.writeTo(buffer);
+            assertThat(buffer.hasRemaining()).isFalse();
+            buffer.position(3);
+            PrefixFilter read = PrefixFilter.readFrom(buffer);
+            assertThat(read).isEqualTo(filter).hasSameHashCodeAs(filter);
+            assertThat(buffer.hasRemaining()).isFalse();
+            assertThat(read.mightContain(ip("172.31.255.255"))).isTrue();
+        }
+    }
+
+    @Test
+    void readFromInvalidBuffer() {
+        assertThatIllegalArgumentException().isThrownBy(() -> PrefixFilter.readFrom(ByteBuffer.allocate(24)))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_FORMAT_NOT_SUPPORTED + " [format: PrefixFilter]");
+        ByteBuffer buffer = new PrefixFilter(List.of(), 0.5).writeTo(ByteBuffer.allocate(100));
+        buffer.flip().limit(buffer.limit() - 1);
+        assertThatIllegalArgumentException().isThrownBy(() -> PrefixFilter.readFrom(buffer))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_CORRUPT + " [format: PrefixFilter]");
+        ByteBuffer otherVersion = new PrefixFilter(List.of(), 0.5).writeTo(ByteBuffer.allocate(100)).flip().putInt(4, 2);
+        assertThatIllegalArgumentException().isThrownBy(() -> PrefixFilter.readFrom(otherVersion))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_FORMAT_VERSION_NOT_SUPPORTED + " [version: 2]");
+    }
+
+    @Test
+    void writeToSmallBuffer() {
+        PrefixFilter filter = new PrefixFilter(List.of(), 0.5);
+        assertThatExceptionOfType(java.nio.BufferOverflowException.class)
+            .isThrownBy(() -> filter.writeTo(ByteBuffer.allocate(8)));
+    }
+}
@@ -0,0 +1,108 @@
+package io.rala;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SubnetCacheTest {
+    private SubnetCache cache;
+
+    @BeforeEach
+    void beforeEach() {
+        cache = new SubnetCache(2);
+    }
+
+    @Test
+    void constructorWithInvalidSize() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> new SubnetCache(0));
+    }
+
+    @Test
+    void getSameInstance() {
+        Subnet subnet = cache.get("10.0.0.0", "/8");
+        assertThatObject(cache.get("10.0.0.0", "255.0.0.0")).isSameAs(subnet);
+        assertThatObject(cache.get("10", "255")).isSameAs(subnet);
+        assertThatObject(cache.get(new int[]{10, 0, 0, 0}, new int[]{255, 0, 0, 0})).isSameAs(subnet);
+        assertThatObject(subnet).isEqualTo(new Subnet("10.0.0.0", "/8"));
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(3);
+    }
+
+    @Test
+    void getWithInt() {
+        Subnet subnet = cache.get(0x0A000000, 8);
+        assertThatObject(subnet).isEqualTo(new Subnet("10.0.0.0", "/8"));
+        assertThatObject(cache.get("10.0.0.0", "/8")).isSameAs(subnet);
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> cache.get(0x0A000000, 33));
+    }
+
+    @Test
+    void getUnmodifiable() {
+        Subnet subnet = cache.get("10.0.0.0", "/8");
+        assertThat(subnet.isUnmodifiable()).isTrue();
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+            .isThrownBy(() -> subnet.setIp("11.0.0.0"));
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+            .isThrownBy(() -> subnet.setSubnetmask(new int[]{255, 255}));
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+            .isThrownBy(subnet::setSubnetmaskBasedOnClass);
+        assertThat(subnet.copy().isUnmodifiable()).isFalse();
+    }
+
+    @Test
+    void getUnmodifiableArrays() {
+        Subnet subnet = cache.get("10.0.0.0", "/8");
+        subnet.getIpAsArray()[0] = 11;
+        subnet.getSubnetmaskAsArray()[1] = 255;
+        subnet.getBroadCastIpAsArray()[0] = 0;
+        assertThatObject(cache.get("10.0.0.0", "/8")).isSameAs(subnet);
+        assertThat(subnet.getIpAsArray()).containsExactly(10, 0, 0, 0);
+        assertThat(subnet.getSubnetmaskAsArray()).containsExactly(255, 0, 0, 0);
+        assertThat(subnet.getBroadCastIp()).isEqualTo("10.255.255.255");
+        assertThat(subnet.toCidrString()).isEqualTo("10.0.0.0/8");
+    }
+
+    @Test
+    void getInvalid() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> cache.get("10.0.0.0", "255.0.255.0"));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> cache.get(new int[]{256, 0, 0, 0}, new int[]{255, 0, 0, 0}));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void intern() {
+        Subnet subnet = new Subnet("192.168.0.0", "/24");
+        Subnet interned = cache.intern(subnet);
+        assertThatObject(interned).isNotSameAs(subnet).isEqualTo(subnet);
+        assertThat(interned.isUnmodifiable()).isTrue();
+        assertThat(subnet.isUnmodifiable()).isFalse();
+        assertThatObject(cache.intern(subnet.copy())).isSameAs(interned);
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        Subnet subnet1 = cache.get("10.0.0.0", "/8");
+        Subnet subnet2 = cache.get("172.16.0.0", "/12");
+        assertThatObject(cache.get("10.0.0.0", "/8")).isSameAs(subnet1);
+        cache.get("192.168.0.0", "/16");
+        assertThat(cache.size()).isEqualTo(2);
+        assertThatObject(cache.get("10.0.0.0", "/8")).isSameAs(subnet1);
+        assertThatObject(cache.get("172.16.0.0", "/12")).isNotSameAs(subnet2);
+    }
+
+    @Test
+    void clear() {
+        cache.get("10.0.0.0", "/8");
+        cache.get("10.0.0.0", "/8");
+        cache.clear();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getHitCount()).isZero();
+        assertThat(cache.getMissCount()).isZero();
+    }
+}
@@ -0,0 +1,105 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SubnetCliTest {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Test
+    void tsv() {
+        assertThat(run("10.1.2.3/20\n\n# comment\n192.168.0.1 255.255.255.0\n")).isEqualTo(SubnetCli.EXIT_SUCCESS);
+        String[] lines = out.toString(StandardCharsets.US_ASCII).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("ip\tsubnetmask\tprefixLength\t").endsWith("\tcountOfHosts");
+        assertThat(lines[1]).isEqualTo(String.join("\t",
+            "10.1.2.3", "255.255.240.0", "20", "0.0.15.255", "2", "16", "0", "15", "false",
+            "10.1.0.0", "10.1.15.255", "10.1.0.1", "10.1.15.254",
+            "A", "10.0.0.0", "255.0.0.0", "8", "12", "12", "2^12 = 4096", "2^12-2 = 4094"
+        ));
+        assertThat(lines[2]).startsWith("192.168.0.1\t255.255.255.0\t24\t");
+        assertThat(err.size()).isZero();
+    }
+
+    @Test
+    void json() {
+        assertThat(run("200.1.2.3/4", "--format", "json")).isEqualTo(SubnetCli.EXIT_SUCCESS);
+        Subnet subnet = new Subnet("200.1.2.3", "/4");
+        assertThat(out.toString(StandardCharsets.US_ASCII)).isEqualTo("{" +
+            "\"ip\":\"200.1.2.3\",\"subnetmask\":\"240.0.0.0\",\"prefixLength\":4," +
+            "\"wildmarkMask\":\"15.255.255.255\",\"quad\":0," +
+            "\"magicNumber\":16,\"magicNumberMin\":192,\"magicNumberMax\":207,\"supernetting\":true," +
+            "\"subnetId\":\"192.0.0.0\",\"broadcast\":\"207.255.255.255\"," +
+            "\"firstAvailableIp\":\"192.0.0.1\",\"lastAvailableIp\":\"207.255.255.254\"," +
+            "\"class\":\"C\",\"classId\":\"200.1.2.0\",\"classSubnetmask\":\"255.255.255.0\"," +
+            "\"netbits\":\"" + subnet.getNetbitsString() + "\",\"subnetbits\":\"" + subnet.getSubnetbitsString() + "\"," +
+            "\"hostbits\":\"28\",\"countOfSubnets\":\"2^0 = 1\",\"countOfHosts\":\"2^28-2 = 268435454\"}\n");
+    }
+
+    @Test
+    void classBasedAndNoHeader() {
+        assertThat(run("172.16.0.1", "--no-header")).isEqualTo(SubnetCli.EXIT_SUCCESS);
+        assertThat(out.toString(StandardCharsets.US_ASCII)).startsWith("172.16.0.1\t255.255.0.0\t16\t");
+    }
+
+    @Test
+    void invalidLinesAreReported() {
+        assertThat(run("10.0.0.0/8\n300.0.0.0/8\n10.0.0.0 /8 x\n10.0.0.0/33\n", "--no-header"))
+            .isEqualTo(SubnetCli.EXIT_INVALID_INPUT);
+        assertThat(out.toString(StandardCharsets.US_ASCII).split("\n")).hasSize(1);
+        assertThat(err.toString(StandardCharsets.US_ASCII).split("\n"))
+            .hasSize(3)
+            .allSatisfy(line -> assertThat(line).startsWith("-:").contains(Subnet.EXCEPTION_MESSAGE))
+            .extracting(line -> line.substring(0, 4)).containsExactly("-:2:", "-:3:", "-:4:");
+    }
+
+    @Test
+    void tooManyQuadsIsReported() {
+        assertThat(run("10.0.0.0/8\n1.2.3.4.5/8\n192.168.0.0/24\n", "--no-header"))
+            .isEqualTo(SubnetCli.EXIT_INVALID_INPUT);
+        assertThat(out.toString(StandardCharsets.US_ASCII).split("\n"))
+            .extracting(line -> line.substring(0, line.indexOf('\t')))
+            .containsExactly("10.0.0.0", "192.168.0.0");
+        assertThat(err.toString(StandardCharsets.US_ASCII)).isEqualTo("-:2: " +
+            Subnet.ILLEGAL_ARGUMENT_ENTRY_NOT_SUPPORTED + Subnet.EXCEPTION_MESSAGE_SUFFIX_IP + "\n");
+    }
+
+    @Test
+    void files(@TempDir Path directory) throws IOException {
+        Path file = Files.writeString(directory.resolve("subnets.txt"), "10.0.0.0/8\n");
+        assertThat(run("192.168.0.0/24\n", "--no-header", file.toString(), "-", directory.resolve("missing").toString()))
+            .isEqualTo(SubnetCli.EXIT_INVALID_INPUT);
+        assertThat(out.toString(StandardCharsets.US_ASCII).split("\n"))
+            .extracting(line -> line.substring(0, line.indexOf('\t')))
+            .containsExactly("10.0.0.0", "192.168.0.0");
+        assertThat(err.toString(StandardCharsets.US_ASCII)).contains("missing: no such file");
+    }
+
+    @Test
+    void usage() {
+        assertThat(run("", "--format", "xml")).isEqualTo(SubnetCli.EXIT_USAGE);
+        assertThat(run("", "--unknown")).isEqualTo(SubnetCli.EXIT_USAGE);
+        assertThat(run("", "--help")).isEqualTo(SubnetCli.EXIT_SUCCESS);
+        assertThat(err.toString(StandardCharsets.US_ASCII)).startsWith("usage:");
+    }
+
+    private int run(String input, String... args) {
+        return SubnetCli.run(
+            args,
+            new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)),
+            out,
+            new PrintStream(err, true, StandardCharsets.US_ASCII)
+        );
+    }
+}
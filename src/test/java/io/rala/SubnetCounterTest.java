@@ -0,0 +1,135 @@
+package io.rala;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static io.rala.TestAddresses.ip;
+import static org.assertj.core.api.Assertions.*;
+
+class SubnetCounterTest {
+    private SubnetCounter counter;
+
+    @BeforeEach
+    void beforeEach() {
+        counter = new SubnetCounter(List.of(
+            new Subnet("10.0.0.0", "/8"),
+            new Subnet("10.1.0.0", "/16"),
+            new Subnet("10.1.2.3", "/24"), // normalized to 10.1.2.0/24
+            new Subnet("192.168.0.0", "/24"),
+            new Subnet("192.168.0.0", "/24")
+        ));
+    }
+
+    @Test
+    void getSubnets() {
+        assertThat(counter.getSubnets()).containsExactly(
+            new Subnet("10.0.0.0", "/8"),
+            new Subnet("10.1.0.0", "/16"),
+            new Subnet("10.1.2.0", "/24"),
+            new Subnet("192.168.0.0", "/24")
+        );
+        assertThat(counter.getSubnets().get(0).isUnmodifiable()).isTrue();
+    }
+
+    @Test
+    void indexOf() {
+        assertThat(counter.indexOf(ip("9.255.255.255"))).isEqualTo(-1);
+        assertThat(counter.indexOf(ip("10.0.0.0"))).isZero();
+        assertThat(counter.indexOf(ip("10.1.0.0"))).isEqualTo(1);
+        assertThat(counter.indexOf(ip("10.1.2.255"))).isEqualTo(2);
+        assertThat(counter.indexOf(ip("10.1.3.0"))).isEqualTo(1);
+        assertThat(counter.indexOf(ip("10.2.0.0"))).isZero();
+        assertThat(counter.indexOf(ip("11.0.0.0"))).isEqualTo(-1);
+        assertThat(counter.indexOf(ip("192.168.0.77"))).isEqualTo(3);
+        assertThat(counter.indexOf(ip("255.255.255.255"))).isEqualTo(-1);
+    }
+
+    @Test
+    void indexOfFullRange() {
+        SubnetCounter full = new SubnetCounter(List.of(
+            new Subnet("0.0.0.0", "/0"), new Subnet("255.255.255.255", "/32")
+        ));
+        assertThat(full.indexOf(ip("0.0.0.0"))).isZero();
+        assertThat(full.indexOf(ip("255.255.255.254"))).isZero();
+        assertThat(full.indexOf(ip("255.255.255.255"))).isEqualTo(1);
+        assertThat(new SubnetCounter(List.of()).indexOf(0)).isEqualTo(-1);
+    }
+
+    @Test
+    void recordAndSnapshot() {
+        counter.record(ip("10.1.2.3"), 100);
+        counter.record(ip("10.1.2.4"), 50);
+        counter.record(ip("10.9.9.9"), 10);
+        counter.record(ip("8.8.8.8"), 1);
+        Map<Subnet, SubnetCounter.Counts> snapshot = counter.snapshot();
+        assertThat(snapshot.get(new Subnet("10.1.2.0", "/24"))).hasToString("150 bytes, 2 flows");
+        assertThat(snapshot.get(new Subnet("10.0.0.0", "/8")).getBytes()).isEqualTo(10);
+        assertThat(snapshot.get(new Subnet("10.1.0.0", "/16")).getFlows()).isZero();
+        assertThat(counter.getUnmatchedBytes()).isEqualTo(1);
+        assertThat(counter.getUnmatchedFlows()).isEqualTo(1);
+
+        assertThat(counter.snapshotAndReset()).isEqualTo(snapshot);
+        assertThat(counter.snapshot().get(new Subnet("10.1.2.0", "/24")).getFlows()).isZero();
+        assertThat(counter.getUnmatchedFlows()).isEqualTo(1);
+
+        counter.record(ip("8.8.4.4"), 2);
+        assertThat(counter.getUnmatchedAndReset()).hasToString("3 bytes, 2 flows");
+        assertThat(counter.getUnmatchedBytes()).isZero();
+        assertThat(counter.getUnmatchedFlows()).isZero();
+    }
+
+    @Test
+    void batch() {
+        SubnetCounter.Batch batch = counter.newBatch();
+        batch.record(ip("192.168.0.1"), 40);
+        batch.record(ip("1.1.1.1"), 2);
+        assertThat(counter.snapshot().get(new Subnet("192.168.0.0", "/24")).getFlows()).isZero();
+        batch.flush();
+        assertThat(counter.snapshot().get(new Subnet("192.168.0.0", "/24")).getBytes()).isEqualTo(40);
+        assertThat(counter.getUnmatchedBytes()).isEqualTo(2);
+        batch.flush();
+        assertThat(counter.getUnmatchedFlows()).isEqualTo(1);
+    }
+
+    @Test
+    void batchWithFlushInterval() {
+        SubnetCounter.Batch batch = counter.newBatch(2);
+        batch.record(ip("10.0.0.1"), 1);
+        assertThat(counter.snapshot().get(new Subnet("10.0.0.0", "/8")).getFlows()).isZero();
+        batch.record(ip("10.0.0.1"), 1);
+        assertThat(counter.snapshot().get(new Subnet("10.0.0.0", "/8")).getFlows()).isEqualTo(2);
+    }
+
+    @Test
+    void newBatchWithNegativeInterval() {
+        assertThatIllegalArgumentException().isThrownBy(() -> counter.newBatch(-1))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + " [flush interval: -1]");
+    }
+
+    @Test
+    void recordConcurrent() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int seed = t;
+            executor.execute(() -> {
+                Random random = new Random(seed);
+                SubnetCounter.Batch batch = counter.newBatch(100);
+                for (int i = 0; i < 10_000; i++) {
+                    counter.record(ip("10.1.2.0") | random.nextInt(256), 1);
+                    batch.record(ip("10.1.2.0") | random.nextInt(256), 1);
+                }
+                batch.flush();
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(counter.snapshot().get(new Subnet("10.1.2.0", "/24")).getFlows()).isEqualTo(80_000);
+    }
+}
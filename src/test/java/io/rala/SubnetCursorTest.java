@@ -0,0 +1,68 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static io.rala.TestAddresses.ip;
+import static org.assertj.core.api.Assertions.*;
+
+class SubnetCursorTest {
+    @Test
+    void gettersMatchSubnet() {
+        Random random = new Random(4);
+        SubnetCursor cursor = new SubnetCursor();
+        for (int i = 0; i < 10_000; i++) {
+            Subnet subnet = Subnet.of(random.nextInt(), random.nextInt(33));
+            cursor.set(subnet.getIpAsInt(), subnet.getPrefixLength());
+            assertThat(cursor.getIpAsInt()).isEqualTo(subnet.getIpAsInt());
+            assertThat(cursor.getSubnetmaskAsInt()).isEqualTo(subnet.getSubnetmaskAsInt());
+            assertThat(cursor.getPrefixLength()).isEqualTo(subnet.getPrefixLength());
+            assertThat(cursor.getWildmarkMaskAsInt()).isEqualTo(ip(subnet.getWildmarkMask()));
+            assertThat(cursor.getIq()).isEqualTo(subnet.getIq());
+            assertThat(cursor.getMagicNumber()).isEqualTo(subnet.getMagicNumber());
+            assertThat(cursor.getMagicNumberMin()).isEqualTo(subnet.getMagicNumberMin());
+            assertThat(cursor.getMagicNumberMax()).isEqualTo(subnet.getMagicNumberMax());
+            assertThat(cursor.getSubnetIdAsInt()).isEqualTo(ip(subnet.getSubnetId()));
+            assertThat(cursor.getBroadCastIpAsInt()).isEqualTo(ip(subnet.getBroadCastIp()));
+            assertThat(cursor.getFirstAvailableIpAsInt()).isEqualTo(ip(subnet.getFirstAvailableIp()));
+            assertThat(cursor.getLastAvailableIpAsInt()).isEqualTo(ip(subnet.getLastAvailableIp()));
+            assertThat(cursor.getClassChar()).isEqualTo(subnet.getClassChar());
+            assertThat(cursor.getClassIdAsInt()).isEqualTo(ip(subnet.getClassId()));
+            assertThat(cursor.getClassSubnetmaskAsInt()).isEqualTo(ip(subnet.getClassSubnetmask()));
+            assertThat(cursor.getNetbits()).isEqualTo(subnet.getNetbits());
+            assertThat(cursor.getSubnetbits()).isEqualTo(subnet.getSubnetbits());
+            assertThat(cursor.getHostbits()).isEqualTo(subnet.getHostbits());
+            assertThat(cursor.getCountOfSubnets()).isEqualTo(subnet.getCountOfSubnets());
+            assertThat(cursor.getCountOfHosts()).isEqualTo(subnet.getCountOfHosts());
+            assertThat(cursor.isSupernetting()).isEqualTo(subnet.isSupernetting());
+            assertThatObject(cursor.toSubnet()).isEqualTo(subnet);
+        }
+    }
+
+    @Test
+    void setIpAndPrefixLength() {
+        SubnetCursor cursor = new SubnetCursor(ip("192.168.1.77"), 24);
+        assertThat(cursor).hasToString("192.168.1.77/24");
+        assertThat(cursor.contains(ip("192.168.1.1"))).isTrue();
+        assertThat(cursor.contains(new Subnet("192.168.1.128", "/25"))).isTrue();
+        assertThat(cursor.contains(new Subnet("192.168.0.0", "/16"))).isFalse();
+        assertThat(cursor.isSameSubnet(new Subnet("192.168.1.0", "/24"))).isTrue();
+
+        cursor.setIp(ip("10.0.0.1")).setPrefixLength(31);
+        assertThat(cursor.getFirstAvailableIpAsInt()).isEqualTo(ip("10.0.0.0"));
+        assertThat(cursor.getLastAvailableIpAsInt()).isEqualTo(ip("10.0.0.1"));
+        cursor.set(new Subnet("172.16.0.0", "/12"));
+        assertThat(cursor.getBroadCastIpAsInt()).isEqualTo(ip("172.31.255.255"));
+        assertThat(cursor.contains(ip("172.32.0.0"))).isFalse();
+    }
+
+    @Test
+    void setInvalidPrefixLength() {
+        SubnetCursor cursor = new SubnetCursor();
+        assertThatIllegalArgumentException().isThrownBy(() -> cursor.setPrefixLength(-1))
+            .withMessageEndingWith(Subnet.EXCEPTION_MESSAGE_SUFFIX_SNM);
+        assertThatIllegalArgumentException().isThrownBy(() -> cursor.set(0, 33));
+        assertThat(cursor.getPrefixLength()).isZero();
+    }
+}
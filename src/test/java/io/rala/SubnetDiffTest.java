@@ -0,0 +1,119 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SubnetDiffTest {
+    @Test
+    void of() {
+        List<Subnet> oldSubnets = subnets("10.0.0.0/8", "10.1.0.0/16", "192.168.0.0/24");
+        List<Subnet> newSubnets = subnets("10.0.0.0/8", "10.0.0.0/16", "172.16.0.0/12");
+        assertThat(diff(SubnetDiff.of(oldSubnets.iterator(), newSubnets.iterator(), false))).containsExactly(
+            "ADDED 10.0.0.0/16", "REMOVED 10.1.0.0/16", "ADDED 172.16.0.0/12", "REMOVED 192.168.0.0/24"
+        );
+    }
+
+    @Test
+    void ofEqual() {
+        List<Subnet> subnets = subnets("10.0.0.0/8", "10.1.0.0/16");
+        assertThat(SubnetDiff.of(subnets.iterator(), subnets.iterator(), true).hasNext()).isFalse();
+    }
+
+    @Test
+    void ofEntries() {
+        List<Map.Entry<Subnet, String>> oldEntries = List.of(
+            Map.entry(subnet("10.0.0.0/8"), "a"),
+            Map.entry(subnet("10.1.0.0/16"), "b"),
+            Map.entry(subnet("10.2.0.0/16"), "c")
+        );
+        List<Map.Entry<Subnet, String>> newEntries = List.of(
+            Map.entry(subnet("10.0.0.0/8"), "x"),
+            Map.entry(subnet("10.1.0.0/16"), "b"),
+            Map.entry(subnet("10.3.0.0/16"), "d")
+        );
+        SubnetDiff<String> diff = SubnetDiff.ofEntries(oldEntries.iterator(), newEntries.iterator(), false);
+        List<SubnetDiff.Change<String>> changes = diff.stream().collect(Collectors.toList());
+        assertThat(changes).extracting(Object::toString).containsExactly(
+            "CHANGED 10.0.0.0/8 a -> x", "REMOVED 10.2.0.0/16", "ADDED 10.3.0.0/16"
+        );
+        assertThat(changes.get(1).getOldValue()).isEqualTo("c");
+        assertThat(changes.get(1).getNewValue()).isNull();
+        assertThat(changes.get(2).getNewValue()).isEqualTo("d");
+    }
+
+    @Test
+    void ofWithAggregates() {
+        List<Subnet> oldSubnets = subnets("10.0.0.0/24", "10.0.1.0/24", "10.0.2.0/24", "10.1.0.0/24");
+        List<Subnet> newSubnets = subnets("10.0.0.0/22", "10.0.3.0/24", "10.1.0.0/23", "10.2.0.0/24");
+        assertThat(diff(SubnetDiff.of(oldSubnets.iterator(), newSubnets.iterator(), true))).containsExactly(
+            "AGGREGATED 10.0.0.0/22 [10.0.0.0/24, 10.0.1.0/24, 10.0.2.0/24]",
+            "ADDED 10.0.3.0/24",
+            "AGGREGATED 10.1.0.0/23 [10.1.0.0/24]",
+            "ADDED 10.2.0.0/24"
+        );
+        assertThat(diff(SubnetDiff.of(oldSubnets.iterator(), newSubnets.iterator(), false))).hasSize(8);
+    }
+
+    @Test
+    void ofWithAggregateLimit() {
+        List<Subnet> oldSubnets = subnets("10.0.0.0/24", "10.0.1.0/24", "10.0.2.0/24", "10.1.0.0/24");
+        List<Subnet> newSubnets = subnets("10.0.0.0/22", "10.0.3.0/24", "10.1.0.0/23", "10.2.0.0/24");
+        assertThat(diff(SubnetDiff.of(oldSubnets.iterator(), newSubnets.iterator(), 2))).containsExactly(
+            "ADDED 10.0.0.0/22",
+            "REMOVED 10.0.0.0/24", "REMOVED 10.0.1.0/24", "REMOVED 10.0.2.0/24", "ADDED 10.0.3.0/24",
+            "AGGREGATED 10.1.0.0/23 [10.1.0.0/24]",
+            "ADDED 10.2.0.0/24"
+        );
+        assertThat(diff(SubnetDiff.of(oldSubnets.iterator(), newSubnets.iterator(), 0))).hasSize(8);
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> SubnetDiff.of(oldSubnets.iterator(), newSubnets.iterator(), -1))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + " [aggregate limit: -1]");
+    }
+
+    @Test
+    void ofWithDefaultRouteOverManyEntries() {
+        int count = 1 << 20; // all /28 of 0.0.0.0/8 - generated while merged
+        Iterator<Subnet> oldSubnets = IntStream.range(0, count).mapToObj(i -> Subnet.of(i << 4, 28)).iterator();
+        Iterator<Subnet> newSubnets = List.of(subnet("0.0.0.0/0")).iterator();
+        SubnetDiff<Void> diff = SubnetDiff.of(oldSubnets, newSubnets, true);
+        assertThat(diff.next()).hasToString("ADDED 0.0.0.0/0");
+        assertThat(diff.next()).hasToString("REMOVED 0.0.0.0/28");
+        assertThat(diff.stream().count()).isEqualTo(count - 1);
+
+        SubnetDiff<Void> aggregated = SubnetDiff.of(
+            IntStream.range(0, 100).mapToObj(i -> Subnet.of(i << 4, 28)).iterator(),
+            List.of(subnet("0.0.0.0/0")).iterator(), true
+        );
+        assertThat(aggregated.next().getAggregatedSubnets()).hasSize(100);
+        assertThat(aggregated.hasNext()).isFalse();
+    }
+
+    @Test
+    void ofUnsorted() {
+        List<Subnet> unsorted = subnets("10.1.0.0/16", "10.0.0.0/16");
+        SubnetDiff<Void> diff = SubnetDiff.of(unsorted.iterator(), List.<Subnet>of().iterator(), false);
+        assertThatIllegalArgumentException().isThrownBy(diff::hasNext)
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_NOT_SORTED + " [entries: 10.1.0.0/16 before 10.0.0.0/16]");
+    }
+
+    private static List<String> diff(SubnetDiff<?> diff) {
+        return diff.stream().map(Object::toString).collect(Collectors.toList());
+    }
+
+    private static List<Subnet> subnets(String... cidrs) {
+        return Arrays.stream(cidrs).map(SubnetDiffTest::subnet).collect(Collectors.toList());
+    }
+
+    private static Subnet subnet(String cidr) {
+        String[] parts = cidr.split("/");
+        return new Subnet(parts[0], "/" + parts[1]);
+    }
+}
@@ -0,0 +1,141 @@
+package io.rala;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SubnetIndexTest {
+    private SubnetIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new SubnetIndex(List.of(
+            new Subnet("10.0.0.0", "/8"),
+            new Subnet("10.20.0.0", "/16"),
+            new Subnet("192.168.50.0", "/24")
+        ));
+    }
+
+    @Test
+    void size() {
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.isEmpty()).isFalse();
+        assertThat(new SubnetIndex().isEmpty()).isTrue();
+    }
+
+    @Test
+    void lookupIp() {
+        assertThatObject(index.lookup(new Subnet("10.1.2.3", "/32").getIpAsInt()))
+            .isEqualTo(new Subnet("10.0.0.0", "/8"));
+        assertThatObject(index.lookup(new Subnet("10.20.2.3", "/32").getIpAsInt()))
+            .isEqualTo(new Subnet("10.20.0.0", "/16"));
+        assertThatObject(index.lookup(new Subnet("11.0.0.0", "/32").getIpAsInt())).isNull();
+        assertThat(index.contains(new Subnet("192.168.50.255", "/32").getIpAsInt())).isTrue();
+        assertThat(index.contains(new Subnet("192.168.51.0", "/32").getIpAsInt())).isFalse();
+    }
+
+    @Test
+    void lookupSubnet() {
+        assertThatObject(index.lookup(new Subnet("10.20.0.0", "/12")))
+            .isEqualTo(new Subnet("10.0.0.0", "/8"));
+        assertThatObject(index.lookup(new Subnet("10.20.30.0", "/24")))
+            .isEqualTo(new Subnet("10.20.0.0", "/16"));
+        assertThat(index.contains(new Subnet("10.0.0.0", "/7"))).isFalse();
+        assertThat(index.contains(new Subnet("192.168.50.128", "/25"))).isTrue();
+    }
+
+    @Test
+    void addAndRemove() {
+        Subnet host = new Subnet("10.20.30.40", "/32");
+        assertThat(index.add(host)).isTrue();
+        assertThat(index.add(host.copy())).isFalse();
+        assertThat(index.size()).isEqualTo(4);
+        assertThatObject(index.lookup(host.getIpAsInt())).isEqualTo(host);
+
+        assertThat(index.remove(new Subnet("10.20.0.0", "/16"))).isTrue();
+        assertThat(index.remove(new Subnet("10.20.0.0", "/16"))).isFalse();
+        assertThat(index.size()).isEqualTo(3);
+        assertThatObject(index.lookup(new Subnet("10.20.1.1", "/32").getIpAsInt()))
+            .isEqualTo(new Subnet("10.0.0.0", "/8"));
+    }
+
+    @Test
+    void addCopiesModifiableSubnet() {
+        Subnet subnet = new Subnet("172.16.0.0", "/12");
+        index.add(subnet);
+        subnet.setIp("8.8.8.8");
+        assertThat(index.contains(new Subnet("172.16.1.1", "/32").getIpAsInt())).isTrue();
+        assertThat(index.contains(subnet.getIpAsInt())).isFalse();
+    }
+
+    @Test
+    void addAll() {
+        index.addAll(List.of(
+            new Subnet("10.20.0.0", "/16"),
+            new Subnet("10.20.30.0", "/24"),
+            new Subnet("10.20.30.0", "/24"),
+            new Subnet("10.0.0.0", "/7")
+        ));
+        assertThat(index.size()).isEqualTo(5);
+        assertThatObject(index.lookup(new Subnet("10.20.30.40", "/32").getIpAsInt()))
+            .isEqualTo(new Subnet("10.20.30.0", "/24"));
+        assertThatObject(index.lookup(new Subnet("11.0.0.1", "/32").getIpAsInt()))
+            .isEqualTo(new Subnet("10.0.0.0", "/7"));
+        index.addAll(List.of());
+        assertThat(index.size()).isEqualTo(5);
+
+        assertThat(index.remove(new Subnet("10.20.30.0", "/24"))).isTrue();
+        index.addAll(List.of(new Subnet("10.20.30.0", "/25")));
+        assertThat(index.getSubnets()).containsExactly(
+            new Subnet("10.0.0.0", "/7"),
+            new Subnet("10.0.0.0", "/8"),
+            new Subnet("10.20.0.0", "/16"),
+            new Subnet("10.20.30.0", "/25"),
+            new Subnet("192.168.50.0", "/24")
+        );
+    }
+
+    @Test
+    void reload() {
+        index.reload(List.of(new Subnet("0.0.0.0", "/0")));
+        assertThat(index.size()).isEqualTo(1);
+        assertThatObject(index.lookup(-1)).isEqualTo(new Subnet("0.0.0.0", "/0"));
+        index.clear();
+        assertThat(index.isEmpty()).isTrue();
+    }
+
+    @Test
+    void getSubnets() {
+        index.add(new Subnet("10.0.0.0", "/24"));
+        assertThat(index.getSubnets()).containsExactly(
+            new Subnet("10.0.0.0", "/8"),
+            new Subnet("10.0.0.0", "/24"),
+            new Subnet("10.20.0.0", "/16"),
+            new Subnet("192.168.50.0", "/24")
+        );
+    }
+
+    @Test
+    void concurrentReadWhileWriting() throws InterruptedException {
+        int ip = new Subnet("192.168.50.1", "/32").getIpAsInt();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger misses = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (running.get())
+                if (!index.contains(ip)) misses.incrementAndGet();
+        });
+        reader.start();
+        for (int i = 0; i < 1000; i++) {
+            index.add(new Subnet("172.16." + (i % 256) + ".0", "/24"));
+            index.remove(new Subnet("172.16." + ((i + 128) % 256) + ".0", "/24"));
+        }
+        running.set(false);
+        reader.join();
+        assertThat(misses).hasValue(0);
+    }
+}
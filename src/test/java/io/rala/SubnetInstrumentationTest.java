@@ -0,0 +1,121 @@
+package io.rala;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SubnetInstrumentationTest {
+    @AfterEach
+    void tearDown() {
+        SubnetInstrumentation.setMetrics(null);
+        SubnetInstrumentation.setFlightRecorderEnabled(false);
+    }
+
+    @Test
+    void disabledByDefault() {
+        assertThat(SubnetInstrumentation.getMetrics()).isNull();
+        assertThat(SubnetInstrumentation.isFlightRecorderEnabled()).isFalse();
+        assertThat(SubnetInstrumentation.begin(SubnetMetrics.Operation.PARSE)).isNull();
+    }
+
+    @Test
+    void metrics() {
+        CountingMetrics metrics = new CountingMetrics();
+        SubnetInstrumentation.setMetrics(metrics);
+        assertThat(SubnetInstrumentation.getMetrics()).isSameAs(metrics);
+
+        Subnet subnet = new Subnet("192.168.0.0", "/24");
+        assertThat(metrics.calls(SubnetMetrics.Operation.PARSE)).isEqualTo(2);
+        assertThat(metrics.calls(SubnetMetrics.Operation.CALCULATE)).isPositive();
+
+        subnet.contains(new Subnet("192.168.0.1", "/32"));
+        assertThat(metrics.calls(SubnetMetrics.Operation.CONTAINS)).isEqualTo(1);
+
+        subnet.summarize(new Subnet("192.168.1.0", "/24"), new Subnet("192.168.2.0", "/24"));
+        assertThat(metrics.calls(SubnetMetrics.Operation.SUMMARIZE)).isEqualTo(1);
+        assertThat(metrics.counts(SubnetMetrics.Operation.SUMMARIZE)).isEqualTo(3);
+
+        new Subnet("10.0.0.0", "/26").getSubnets();
+        assertThat(metrics.calls(SubnetMetrics.Operation.ENUMERATE)).isEqualTo(1);
+        assertThat(metrics.counts(SubnetMetrics.Operation.ENUMERATE)).isEqualTo(4);
+
+        SubnetInstrumentation.setMetrics(null);
+        long parses = metrics.calls(SubnetMetrics.Operation.PARSE);
+        new Subnet("10.0.0.0", "/8");
+        assertThat(metrics.calls(SubnetMetrics.Operation.PARSE)).isEqualTo(parses);
+    }
+
+    @Test
+    void flightRecorderEvents() throws IOException {
+        Path file = Files.createTempFile("subnet", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("io.rala.subnet.Parse").withoutThreshold();
+            recording.enable("io.rala.subnet.Calculation").withoutThreshold();
+            recording.enable("io.rala.subnet.Summarization").withoutThreshold();
+            recording.enable("io.rala.subnet.Enumeration").withoutThreshold();
+            recording.start();
+            SubnetInstrumentation.setFlightRecorderEnabled(true);
+            Subnet subnet = new Subnet("10.0.0.0", "255.255.255.192");
+            subnet.getSubnets();
+            subnet.summarize(new Subnet("10.0.1.0", "/24"));
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            Map<String, List<RecordedEvent>> byName = events.stream()
+                .collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+            assertThat(byName.get("io.rala.subnet.Parse"))
+                .anySatisfy(event -> {
+                    assertThat(event.getString("input")).isEqualTo("255.255.255.192");
+                    assertThat(event.getInt("prefixLength")).isEqualTo(26);
+                });
+            assertThat(byName.get("io.rala.subnet.Calculation")).isNotEmpty();
+            assertThat(byName.get("io.rala.subnet.Enumeration"))
+                .anySatisfy(event -> assertThat(event.getLong("count")).isEqualTo(4));
+            assertThat(byName.get("io.rala.subnet.Summarization"))
+                .singleElement().satisfies(event -> assertThat(event.getInt("prefixLength")).isEqualTo(23));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static final class CountingMetrics implements SubnetMetrics {
+        private final Map<Operation, LongAdder> calls = new EnumMap<>(Operation.class);
+        private final Map<Operation, LongAdder> counts = new EnumMap<>(Operation.class);
+
+        private CountingMetrics() {
+            for (Operation operation : Operation.values()) {
+                calls.put(operation, new LongAdder());
+                counts.put(operation, new LongAdder());
+            }
+        }
+
+        @Override
+        public void record(Operation operation, long nanos, long count) {
+            assertThat(nanos).isNotNegative();
+            calls.get(operation).increment();
+            counts.get(operation).add(count);
+        }
+
+        private long calls(Operation operation) {
+            return calls.get(operation).sum();
+        }
+
+        private long counts(Operation operation) {
+            return counts.get(operation).sum();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static io.rala.TestAddresses.ip;
+import static org.assertj.core.api.Assertions.*;
+
+class SubnetJoinTest {
+    private static final List<Subnet> SUBNETS = List.of(
+        new Subnet("10.0.0.0", "/8"),
+        new Subnet("10.1.0.0", "/16"),
+        new Subnet("10.1.2.0", "/24"),
+        new Subnet("10.2.0.0", "/16"),
+        new Subnet("192.168.0.0", "/24"),
+        new Subnet("255.255.255.255", "/32")
+    );
+
+    @Test
+    void cursor() {
+        SubnetJoin.Cursor cursor = new SubnetJoin(SUBNETS).cursor();
+        assertThat(cursor.next(ip("1.2.3.4"))).isEqualTo(-1);
+        assertThat(cursor.next(ip("10.0.0.1"))).isZero();
+        assertThat(cursor.next(ip("10.1.0.0"))).isEqualTo(1);
+        assertThat(cursor.next(ip("10.1.2.3"))).isEqualTo(2);
+        assertThat(cursor.next(ip("10.1.2.3"))).isEqualTo(2);
+        assertThat(cursor.next(ip("10.1.3.0"))).isEqualTo(1);
+        assertThat(cursor.next(ip("10.3.0.0"))).isZero();
+        assertThat(cursor.next(ip("11.0.0.0"))).isEqualTo(-1);
+        assertThat(cursor.next(ip("192.168.0.7"))).isEqualTo(4);
+        assertThat(cursor.next(ip("255.255.255.255"))).isEqualTo(5);
+        assertThatIllegalArgumentException().isThrownBy(() -> cursor.next(ip("10.0.0.0")))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_NOT_SORTED + " [addresses: 255.255.255.255 before 10.0.0.0]");
+    }
+
+    @Test
+    void cursorStartsInside() {
+        SubnetJoin join = new SubnetJoin(SUBNETS);
+        assertThat(join.cursor().next(ip("10.1.2.200"))).isEqualTo(2);
+        assertThat(join.cursor().next(ip("10.1.200.0"))).isEqualTo(1);
+        assertThat(join.cursor().next(ip("10.200.0.0"))).isZero();
+        SubnetJoin.Cursor cursor = join.cursor();
+        assertThat(cursor.next(ip("10.1.255.255"))).isEqualTo(1);
+        assertThat(cursor.next(ip("10.2.0.0"))).isEqualTo(3);
+    }
+
+    @Test
+    void classifyConsumer() {
+        int[] addresses = {ip("9.0.0.0"), ip("10.1.2.3"), ip("192.168.0.1"), ip("192.168.1.1")};
+        List<String> pairs = new ArrayList<>();
+        new SubnetJoin(SUBNETS).classify(addresses, 0, addresses.length,
+            (address, subnetIndex) -> pairs.add(Subnet.of(address, 32).getIp() + " " + SUBNETS.get(subnetIndex).toCidrString()));
+        assertThat(pairs).containsExactly("10.1.2.3 10.1.2.0/24", "192.168.0.1 192.168.0.0/24");
+    }
+
+    @Test
+    void notSorted() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new SubnetJoin(List.of(
+            new Subnet("10.1.0.0", "/16"), new Subnet("10.0.0.0", "/8")
+        ))).withMessage(Subnet.ILLEGAL_ARGUMENT_NOT_SORTED + " [entries: 10.1.0.0/16 before 10.0.0.0/8]");
+        assertThat(new SubnetJoin(List.of()).cursor().next(0)).isEqualTo(-1);
+    }
+
+    @Test
+    void classifyParallelMatchesLinearSearch() {
+        Random random = new Random(8);
+        List<Subnet> subnets = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++)
+            subnets.add(Subnet.of(random.nextInt() & 0xFF0FFFFF, 4 + random.nextInt(29)));
+        subnets.add(new Subnet("0.0.0.0", "/0"));
+        subnets = SubnetSorter.sort(subnets);
+        for (int i = 0; i < subnets.size(); i++) // ip must be the Subnet ID
+            subnets.set(i, Subnet.of(subnets.get(i).getIpAsInt() & subnets.get(i).getSubnetmaskAsInt(), subnets.get(i).getPrefixLength()));
+        subnets = SubnetSorter.sort(subnets);
+
+        int[] addresses = new int[100_000];
+        for (int i = 0; i < addresses.length; i++) addresses[i] = random.nextInt() ^ Integer.MIN_VALUE;
+        Arrays.sort(addresses);
+        for (int i = 0; i < addresses.length; i++) addresses[i] ^= Integer.MIN_VALUE;
+
+        SubnetJoin join = new SubnetJoin(subnets);
+        int[] parallel = new int[addresses.length];
+        join.classifyParallel(addresses, parallel, 997);
+        assertThatIllegalArgumentException().isThrownBy(() -> join.classifyParallel(addresses, parallel, 0))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + " [chunk size: 0]");
+        int[] sequential = new int[addresses.length];
+        join.classify(addresses, 0, addresses.length, sequential);
+        assertThat(parallel).isEqualTo(sequential);
+        for (int i = 0; i < addresses.length; i += 97) {
+            Subnet address = Subnet.of(addresses[i], 32);
+            int expected = -1;
+            for (int j = 0; j < subnets.size(); j++)
+                if (subnets.get(j).contains(address) &&
+                    (expected < 0 || subnets.get(expected).getPrefixLength() <= subnets.get(j).getPrefixLength()))
+                    expected = j;
+            assertThat(sequential[i]).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.RandomAccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SubnetListTest {
+    @Test
+    void size() {
+        assertThat(new Subnet("10.0.0.0", "/8").subdivide(28).size()).isEqualTo(1 << 20);
+        assertThat(new Subnet("10.0.0.0", "/8").subdivide(8).size()).isEqualTo(1);
+        assertThat(new Subnet("0.0.0.0", "/0").subdivide(32).longSize()).isEqualTo(1L << 32);
+        assertThat(new Subnet("0.0.0.0", "/0").subdivide(32).size()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void get() {
+        SubnetList subnets = new Subnet("10.1.2.3", "/8").subdivide(28);
+        assertThat(subnets).isInstanceOf(RandomAccess.class);
+        assertThatObject(subnets.get(0)).isEqualTo(new Subnet("10.0.0.0", "/28"));
+        assertThatObject(subnets.get(40000)).isEqualTo(new Subnet("10.9.196.0", "/28"));
+        assertThatObject(subnets.get(subnets.size() - 1)).isEqualTo(new Subnet("10.255.255.240", "/28"));
+        assertThat(subnets.subList(40000, 40003)).containsExactly(
+            new Subnet("10.9.196.0", "/28"),
+            new Subnet("10.9.196.16", "/28"),
+            new Subnet("10.9.196.32", "/28")
+        );
+    }
+
+    @Test
+    void getLong() {
+        SubnetList subnets = new Subnet("0.0.0.0", "/0").subdivide(32);
+        assertThatObject(subnets.get((1L << 32) - 1)).isEqualTo(new Subnet("255.255.255.255", "/32"));
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+            .isThrownBy(() -> subnets.get(1L << 32));
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+            .isThrownBy(() -> subnets.get(-1));
+    }
+
+    @Test
+    void indexOf() {
+        SubnetList subnets = new Subnet("10.0.0.0", "/8").subdivide(28);
+        assertThat(subnets.indexOf(new Subnet("10.9.196.0", "/28"))).isEqualTo(40000);
+        assertThat(subnets.indexOf(new Subnet("10.9.196.1", "/28"))).isEqualTo(-1);
+        assertThat(subnets.indexOf(new Subnet("11.0.0.0", "/28"))).isEqualTo(-1);
+        assertThat(subnets.indexOf(new Subnet("10.0.0.0", "/24"))).isEqualTo(-1);
+        assertThat(subnets.indexOf("10.0.0.0/28")).isEqualTo(-1);
+        assertThat(subnets.contains(new Subnet("10.255.255.240", "/28"))).isTrue();
+        assertThat(new Subnet("0.0.0.0", "/0").subdivide(32)
+            .longIndexOf(new Subnet("255.255.255.255", "/32"))).isEqualTo((1L << 32) - 1);
+    }
+
+    @Test
+    void subdivideWithInvalidPrefixLength() {
+        Subnet subnet = new Subnet("10.0.0.0", "/8");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> subnet.subdivide(7));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> subnet.subdivide(33));
+    }
+}
@@ -0,0 +1,85 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static io.rala.TestAddresses.ip;
+import static org.assertj.core.api.Assertions.*;
+
+class SubnetPartitionTest {
+    @Test
+    void ofSubnet() {
+        SubnetPartition partition = SubnetPartition.of(new Subnet("10.0.0.0", "/24"), 3);
+        assertThat(partition.getShardCount()).isEqualTo(3);
+        // 254 hosts: 84, 85, 85
+        assertThat(partition.getCountOfHosts(0)).isEqualTo(84);
+        assertThat(partition.getCountOfHosts(1)).isEqualTo(85);
+        assertThat(partition.getCountOfHosts(2)).isEqualTo(85);
+        assertThat(partition.getShard(0)).containsExactly(
+            new Subnet("10.0.0.0", "/26"),
+            new Subnet("10.0.0.64", "/28"),
+            new Subnet("10.0.0.80", "/30"),
+            new Subnet("10.0.0.84", "/32")
+        );
+        assertThatObject(partition.getShard(2).get(partition.getShard(2).size() - 1))
+            .isEqualTo(new Subnet("10.0.0.192", "/26"));
+        assertThat(partition.shardOf(ip("10.0.0.0"))).isZero();
+        assertThat(partition.shardOf(ip("10.0.0.84"))).isZero();
+        assertThat(partition.shardOf(ip("10.0.0.85"))).isEqualTo(1);
+        assertThat(partition.shardOf(ip("10.0.0.255"))).isEqualTo(2);
+        assertThat(partition.shardOf(ip("10.0.1.0"))).isEqualTo(-1);
+    }
+
+    @Test
+    void ofSubnetsWeightedByHosts() {
+        SubnetPartition partition = SubnetPartition.of(List.of(
+            new Subnet("10.0.0.0", "/25"), // 126 hosts
+            new Subnet("192.168.0.0", "/25"), // 126 hosts
+            new Subnet("172.16.0.0", "/30"), // 2 hosts
+            new Subnet("172.16.0.0", "/31") // contained
+        ), 2);
+        assertThat(partition.getCountOfHosts(0)).isEqualTo(127);
+        // 126 + 1 hosts: the /30 is split
+        assertThat(partition.getShard(0)).containsExactly(
+            new Subnet("10.0.0.0", "/25"), new Subnet("172.16.0.0", "/31")
+        );
+        assertThat(partition.getShard(1)).containsExactly(
+            new Subnet("172.16.0.2", "/31"), new Subnet("192.168.0.0", "/25")
+        );
+        assertThat(partition.shardOf(ip("172.16.0.1"))).isZero();
+        assertThat(partition.shardOf(ip("172.16.0.3"))).isEqualTo(1);
+    }
+
+    @Test
+    void ofMoreShardsThanHosts() {
+        SubnetPartition partition = SubnetPartition.of(new Subnet("10.0.0.0", "/31"), 5);
+        assertThat(partition.getShards()).extracting(List::size).containsExactly(0, 0, 1, 0, 1);
+        assertThat(partition.shardOf(ip("10.0.0.0"))).isEqualTo(2);
+        assertThat(partition.shardOf(ip("10.0.0.1"))).isEqualTo(4);
+    }
+
+    @Test
+    void ofInvalidShardCount() {
+        assertThatIllegalArgumentException().isThrownBy(() -> SubnetPartition.of(List.of(), 0))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + " [shard count: 0]");
+        assertThat(SubnetPartition.of(List.of(), 2).shardOf(0)).isEqualTo(-1);
+    }
+
+    @Test
+    void shardOfMatchesShards() {
+        SubnetPartition partition = SubnetPartition.of(new Subnet("0.0.0.0", "/0"), 7);
+        long hosts = 0;
+        for (int shard = 0; shard < 7; shard++) {
+            hosts += partition.getCountOfHosts(shard);
+            for (Subnet subnet : partition.getShard(shard)) {
+                assertThat(partition.shardOf(subnet.getIpAsInt())).isEqualTo(shard);
+                assertThat(partition.shardOf(subnet.getIpAsInt() | ~subnet.getSubnetmaskAsInt())).isEqualTo(shard);
+            }
+        }
+        assertThat(hosts).isEqualTo((1L << 32) - 2);
+        Random random = new Random(1);
+        for (int i = 0; i < 1_000; i++) assertThat(partition.shardOf(random.nextInt())).isBetween(0, 6);
+    }
+}
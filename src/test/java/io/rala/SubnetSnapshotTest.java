@@ -0,0 +1,181 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static io.rala.TestAddresses.ip;
+import static org.assertj.core.api.Assertions.*;
+
+class SubnetSnapshotTest {
+    private static final int HEADER_SIZE = 24;
+
+    @Test
+    void indexOfAtNestedBoundaries() {
+        SubnetSnapshot snapshot = SubnetSnapshot.of(List.of(
+            new Subnet("10.0.0.0", "/8"),
+            new Subnet("10.1.0.0", "/16"),
+            new Subnet("10.1.2.0", "/24")
+        ));
+        assertThat(snapshot.indexOf(ip("9.255.255.255"))).isEqualTo(-1);
+        assertThat(snapshot.indexOf(ip("10.0.0.0"))).isZero();
+        assertThat(snapshot.indexOf(ip("10.1.0.0"))).isEqualTo(1);
+        assertThat(snapshot.indexOf(ip("10.1.1.255"))).isEqualTo(1);
+        assertThat(snapshot.indexOf(ip("10.1.2.0"))).isEqualTo(2);
+        assertThat(snapshot.indexOf(ip("10.1.2.255"))).isEqualTo(2);
+        assertThat(snapshot.indexOf(ip("10.1.3.0"))).isEqualTo(1);
+        assertThat(snapshot.indexOf(ip("10.2.0.0"))).isZero();
+        assertThat(snapshot.indexOf(ip("10.255.255.255"))).isZero();
+        assertThat(snapshot.indexOf(ip("11.0.0.0"))).isEqualTo(-1);
+        assertThatObject(snapshot.lookup(ip("10.1.2.3"))).isEqualTo(new Subnet("10.1.2.0", "/24"));
+        assertThatObject(snapshot.lookup(ip("11.0.0.0"))).isNull();
+        // gap, /8, /16, /24, /16, /8, gap
+        assertThat(snapshot).hasToString("SubnetSnapshot{size=3, ranges=7, payloadIds=false}");
+    }
+
+    @Test
+    void indexOfAtEdgesOfAddressSpace() {
+        SubnetSnapshot snapshot = SubnetSnapshot.of(List.of(
+            new Subnet("255.255.255.255", "/32"),
+            new Subnet("0.0.0.0", "/32")
+        ));
+        assertThat(snapshot.contains(ip("0.0.0.0"))).isTrue();
+        assertThat(snapshot.contains(ip("0.0.0.1"))).isFalse();
+        assertThat(snapshot.contains(ip("255.255.255.254"))).isFalse();
+        assertThat(snapshot.contains(ip("255.255.255.255"))).isTrue();
+        assertThat(snapshot.getSubnetIdAsInt(1)).isEqualTo(-1);
+
+        SubnetSnapshot defaultRoute = SubnetSnapshot.of(List.of(new Subnet("0.0.0.0", "/0")));
+        assertThat(defaultRoute.indexOf(0)).isZero();
+        assertThat(defaultRoute.indexOf(-1)).isZero();
+        assertThat(defaultRoute).hasToString("SubnetSnapshot{size=1, ranges=1, payloadIds=false}");
+
+        SubnetSnapshot empty = SubnetSnapshot.of(List.of());
+        assertThat(empty.size()).isZero();
+        assertThat(empty.indexOf(ip("10.0.0.0"))).isEqualTo(-1);
+    }
+
+    @Test
+    void ofKeepsFirstOfEqualSubnets() {
+        SubnetSnapshot snapshot = SubnetSnapshot.of(List.of(
+            new Subnet("10.1.2.3", "/16"), // same network as 10.1.0.0/16
+            new Subnet("10.0.0.0", "/8"),
+            new Subnet("10.1.0.0", "/16"),
+            new Subnet("10.1.0.0", "/17") // same Subnet ID, other prefix length
+        ), new int[]{100, 200, 300, 400});
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThatObject(snapshot.getSubnet(1)).isEqualTo(new Subnet("10.1.0.0", "/16"));
+        assertThat(snapshot.getSubnet(1).getIp()).isEqualTo("10.1.0.0");
+        assertThat(snapshot.getPayloadId(snapshot.indexOf(ip("10.1.200.0")))).isEqualTo(100);
+        assertThat(snapshot.getPayloadId(snapshot.indexOf(ip("10.1.0.1")))).isEqualTo(400);
+        assertThat(snapshot.getPayloadId(snapshot.indexOf(ip("10.2.0.0")))).isEqualTo(200);
+        assertThat(snapshot.getPrefixLength(2)).isEqualTo(17);
+    }
+
+    @Test
+    void ofWithoutPayloadIds() {
+        SubnetSnapshot snapshot = SubnetSnapshot.of(List.of(new Subnet("10.0.0.0", "/8")));
+        assertThat(snapshot.hasPayloadIds()).isFalse();
+        assertThatIllegalStateException().isThrownBy(() -> snapshot.getPayloadId(0))
+            .withMessageStartingWith(Subnet.EXCEPTION_MESSAGE);
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> SubnetSnapshot.of(List.of(new Subnet("10.0.0.0", "/8")), new int[2]))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + " [payload ID count: 2]");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> SubnetSnapshot.of(List.of(new Subnet("10.0.0.0", "/8")), new int[0]))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_SMALL + " [payload ID count: 0]");
+    }
+
+    @Test
+    void indexOfDeeplyNested() {
+        Random random = new Random(6);
+        List<Subnet> subnets = new ArrayList<>();
+        for (int chain = 0; chain < 200; chain++) { // chains of up to 32 nested Subnets
+            int ip = random.nextInt();
+            for (int prefixLength = random.nextInt(8); prefixLength <= 32; prefixLength += 1 + random.nextInt(4))
+                subnets.add(Subnet.of(ip, prefixLength));
+        }
+        SubnetSnapshot snapshot = SubnetSnapshot.of(subnets);
+        for (int i = 0; i < 2_000; i++) {
+            Subnet subnet = subnets.get(random.nextInt(subnets.size()));
+            // random host bits: inside subnet
+            int ip = subnet.getIpAsInt() ^ (int) (Integer.toUnsignedLong(random.nextInt()) >>> subnet.getPrefixLength());
+            Subnet address = Subnet.of(ip, 32);
+            Subnet expected = subnet;
+            for (Subnet other : subnets)
+                if (expected.getPrefixLength() < other.getPrefixLength() && other.contains(address)) expected = other;
+            assertThatObject(snapshot.lookup(ip)).isEqualTo(Subnet.of(expected.getIpAsInt() &
+                expected.getSubnetmaskAsInt(), expected.getPrefixLength()));
+        }
+    }
+
+    @Test
+    void readFromConsecutiveSnapshots(@TempDir Path directory) throws IOException {
+        SubnetSnapshot first = SubnetSnapshot.of(List.of(new Subnet("192.168.0.0", "/16")), new int[]{7});
+        SubnetSnapshot second = SubnetSnapshot.of(List.of(new Subnet("172.16.0.0", "/12")));
+        ByteBuffer buffer = ByteBuffer.allocate(first.getSerializedSize() + second.getSerializedSize() + 3);
+        second.writeTo(first.writeTo(buffer)).position(0);
+
+        SubnetSnapshot readFirst = SubnetSnapshot.readFrom(buffer);
+        assertThat(buffer.position()).isEqualTo(first.getSerializedSize());
+        SubnetSnapshot readSecond = SubnetSnapshot.readFrom(buffer);
+        assertThat(buffer.remaining()).isEqualTo(3); // trailing bytes are ignored
+        assertThat(readFirst.getPayloadId(readFirst.indexOf(ip("192.168.1.1")))).isEqualTo(7);
+        assertThat(readSecond.contains(ip("172.31.255.255"))).isTrue();
+        assertThat(readSecond.contains(ip("192.168.1.1"))).isFalse();
+
+        Path file = Files.write(directory.resolve("subnets.snap"), buffer.array());
+        SubnetSnapshot mapped = SubnetSnapshot.map(file);
+        assertThat(mapped.getSerializedSize()).isEqualTo(first.getSerializedSize());
+        assertThat(mapped.getPayloadId(0)).isEqualTo(7);
+    }
+
+    @Test
+    void readFromDetectsEveryChangedByte() {
+        SubnetSnapshot snapshot = SubnetSnapshot.of(List.of(
+            new Subnet("10.0.0.0", "/8"),
+            new Subnet("10.1.0.0", "/16")
+        ), new int[]{1, 2});
+        for (int i = HEADER_SIZE; i < snapshot.getSerializedSize(); i++) {
+            ByteBuffer buffer = snapshot.writeTo(ByteBuffer.allocate(snapshot.getSerializedSize())).flip();
+            buffer.put(i, (byte) (buffer.get(i) ^ 1));
+            assertThatIllegalArgumentException().as("byte %d", i)
+                .isThrownBy(() -> SubnetSnapshot.readFrom(buffer))
+                .withMessage(Subnet.ILLEGAL_ARGUMENT_CORRUPT_CHECKSUM + " [format: SubnetSnapshot]");
+        }
+    }
+
+    @Test
+    void readFromDamagedHeader() {
+        SubnetSnapshot snapshot = SubnetSnapshot.of(List.of(new Subnet("10.0.0.0", "/8")));
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> SubnetSnapshot.readFrom(ByteBuffer.allocate(HEADER_SIZE)))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_FORMAT_NOT_SUPPORTED + " [format: SubnetSnapshot]");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> SubnetSnapshot.readFrom(header(snapshot, 4, 2)))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_FORMAT_VERSION_NOT_SUPPORTED + " [version: 2]");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> SubnetSnapshot.readFrom(header(snapshot, 8, 2))) // unknown flag
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_CORRUPT + " [format: SubnetSnapshot]");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> SubnetSnapshot.readFrom(header(snapshot, 16, 0))) // no range
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_CORRUPT + " [format: SubnetSnapshot]");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> SubnetSnapshot.readFrom(header(snapshot, 12, 2))) // beyond the end
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_CORRUPT + " [format: SubnetSnapshot]");
+    }
+
+    /**
+     * @return serialized {@code snapshot} with {@code value} at {@code index} of the header
+     */
+    private static ByteBuffer header(SubnetSnapshot snapshot, int index, int value) {
+        return snapshot.writeTo(ByteBuffer.allocate(snapshot.getSerializedSize())).flip().putInt(index, value);
+    }
+}
@@ -0,0 +1,82 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SubnetSorterTest {
+    @Test
+    void sort() {
+        Subnet a = new Subnet("192.168.0.0", "/24");
+        Subnet b = new Subnet("10.0.0.0", "/16");
+        Subnet c = new Subnet("10.0.0.0", "/8");
+        Subnet d = new Subnet("10.0.0.0", "/16");
+        List<Subnet> sorted = SubnetSorter.sort(List.of(a, b, c, d));
+        assertThat(sorted).containsExactly(c, b, d, a);
+        assertThatObject(sorted.get(1)).isSameAs(b);
+        assertThatObject(sorted.get(2)).isSameAs(d);
+    }
+
+    @Test
+    void sortDistinct() {
+        Subnet b = new Subnet("10.0.0.0", "/16");
+        assertThat(SubnetSorter.sortDistinct(List.of(
+            new Subnet("192.168.0.0", "/24"), b, new Subnet("10.0.0.0", "/16")
+        ))).containsExactly(b, new Subnet("192.168.0.0", "/24")).element(0).isSameAs(b);
+    }
+
+    @Test
+    void sortCollapsed() {
+        assertThat(SubnetSorter.sortCollapsed(List.of(
+            new Subnet("10.1.2.0", "/24"),
+            new Subnet("192.168.0.0", "/24"),
+            new Subnet("10.0.0.5", "/8"), // contains the others in 10/8
+            new Subnet("10.0.0.0", "/24"),
+            new Subnet("192.168.0.0", "/25"),
+            new Subnet("200.0.0.0", "/32")
+        ))).containsExactly(
+            new Subnet("10.0.0.5", "/8"),
+            new Subnet("192.168.0.0", "/24"),
+            new Subnet("200.0.0.0", "/32")
+        );
+        assertThat(SubnetSorter.sortCollapsed(List.of(
+            new Subnet("255.255.255.255", "/32"), new Subnet("0.0.0.0", "/0")
+        ))).containsExactly(new Subnet("0.0.0.0", "/0"));
+    }
+
+    @Test
+    void sortEmpty() {
+        assertThat(SubnetSorter.sort(List.of())).isEmpty();
+        assertThat(SubnetSorter.sortCollapsed(List.of())).isEmpty();
+    }
+
+    @Test
+    void sortTooMany() {
+        List<Subnet> subnets = Collections.nCopies(SubnetSorter.MAX_SIZE + 1, new Subnet("10.0.0.0", "/8"));
+        assertThatIllegalArgumentException().isThrownBy(() -> SubnetSorter.sort(subnets))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_SIZE_TO_LARGE + " [Subnet count: 67108865]");
+    }
+
+    @Test
+    void sortEqualsCompareTo() {
+        Random random = new Random(5);
+        List<Subnet> subnets = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) // many duplicates
+            subnets.add(Subnet.of(random.nextInt() & 0xFF0000FF | random.nextInt(4) << 16, random.nextInt(33)));
+        List<Subnet> expected = new ArrayList<>(subnets);
+        expected.sort(null);
+        assertThat(SubnetSorter.sort(subnets)).isEqualTo(expected);
+        assertThat(SubnetSorter.sortDistinct(subnets)).containsExactlyElementsOf(new TreeSet<>(subnets));
+
+        List<Subnet> collapsed = SubnetSorter.sortCollapsed(subnets);
+        for (Subnet subnet : subnets)
+            assertThat(collapsed.stream().filter(s -> s.contains(subnet))).hasSize(1);
+        assertThat(new ArrayList<>(collapsed)).isSortedAccordingTo(Subnet::compareTo);
+    }
+}
@@ -4,9 +4,12 @@ import org.assertj.core.api.GenericComparableAssert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.net.InterfaceAddress;
-import java.net.NetworkInterface;
-import java.net.SocketException;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.*;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
@@ -77,6 +80,38 @@ class SubnetTest {
         assertThat(loopBack).isNotNull();
         assertThatObject(new Subnet(loopBack)).isEqualTo(new Subnet("127.0.0.1", "/8"));
     }
+
+    @Test
+    void ofInt() {
+        assertThatObject(Subnet.of(0x0A000000, 8)).isEqualTo(subnet1);
+        assertThatObject(Subnet.of(0xC0A83200, 19)).isEqualTo(subnet3);
+        assertThatObject(Subnet.of(0xFFFFFFFF, 32)).isEqualTo(new Subnet("255.255.255.255", "/32"));
+        assertThatObject(Subnet.of(0, 0)).isEqualTo(new Subnet("0.0.0.0", "/0"));
+    }
+
+    @Test
+    void ofIntWithInvalidPrefixLength() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> Subnet.of(0, -1));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> Subnet.of(0, 33));
+    }
+
+    @Test
+    void ofByteArray() {
+        assertThatObject(Subnet.of(new byte[]{(byte) 192, (byte) 168, 50, 0}, 19)).isEqualTo(subnet3);
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> Subnet.of(new byte[]{10, 0, 0}, 8));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> Subnet.of(new byte[16], 8));
+    }
+
+    @Test
+    void ofInetAddress() throws UnknownHostException {
+        assertThatObject(Subnet.of(InetAddress.getByName("128.245.97.0"), 16)).isEqualTo(subnet2);
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> Subnet.of(InetAddress.getByName("::1"), 8));
+    }
     //endregion
 
     //region setter
@@ -90,6 +125,39 @@ class SubnetTest {
         assertThat(subnet4.getIp()).isEqualTo("10.0.0.0");
     }
 
+    @Test
+    @SuppressWarnings("removal")
+    void setIpWithRecalculateInSameSubnet() {
+        Subnet subnet = new Subnet("128.0.0.0", "/1");
+        subnet.setIp("200.0.0.1", true);
+        assertThat(subnet.getClassChar()).isEqualTo('C')
+            .isEqualTo(new SubnetCursor(subnet.getIpAsInt(), 1).getClassChar());
+        assertThat(subnet.getClassId()).isEqualTo("200.0.0.0");
+
+        subnet = new Subnet("10.0.0.0", "/7");
+        subnet.setIp("11.0.0.1", true);
+        assertThat(subnet.getClassId()).isEqualTo("11.0.0.0");
+        subnet.setIp("11.0.0.2", true);
+        assertThat(subnet.getIp()).isEqualTo("11.0.0.2");
+        assertThat(subnet.getSubnetId()).isEqualTo("10.0.0.0");
+    }
+
+    @Test
+    void setIpWithInvalidArray() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> subnet1.setIp(new int[]{256}));
+    }
+
+    @Test
+    void setIpWithTooManyQuads() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> subnet1.setIp("1.2.3.4.5"))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_NOT_SUPPORTED + Subnet.EXCEPTION_MESSAGE_SUFFIX_IP);
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> subnet1.setSubnetmask("255.255.255.255.0"))
+            .withMessage(Subnet.ILLEGAL_ARGUMENT_ENTRY_NOT_SUPPORTED + Subnet.EXCEPTION_MESSAGE_SUFFIX_SNM);
+    }
+
     @Test
     void setIpEmpty() {
         assertThatExceptionOfType(IllegalArgumentException.class)
@@ -106,6 +174,16 @@ class SubnetTest {
         assertThat(subnet3.getSubnetmask()).isEqualTo("255.0.0.0");
     }
 
+    @Test
+    void setSubnetmaskWithArray() {
+        subnet1.setSubnetmask(new int[]{255, 255, 255, 255});
+        subnet2.setSubnetmask(new int[]{11111111, 11111111, 11000000});
+        assertThat(subnet1.getPrefixLength()).isEqualTo(32);
+        assertThat(subnet2.getSubnetmask()).isEqualTo("255.255.192.0");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> subnet3.setSubnetmask(new int[]{255, 0, 255}));
+    }
+
     @Test
     void setSubnetmaskBasedOnClass() {
         subnet1.setSubnetmaskBasedOnClass();
@@ -147,6 +225,12 @@ class SubnetTest {
         assertThat(subnet5.getIpAsArray()).isEqualTo(new int[]{240, 136, 42, 0});
     }
 
+    @Test
+    void getIpAsInt() {
+        assertThat(subnet3.getIpAsInt()).isEqualTo(0xC0A83200);
+        assertThat(subnet3.getSubnetmaskAsInt()).isEqualTo(0xFFFFE000);
+    }
+
     @Test
     void getSubnetmask() {
         assertThat(subnet1.getSubnetmask()).isEqualTo("255.0.0.0");
@@ -354,6 +438,15 @@ class SubnetTest {
         assertThat(subnet5.getNetbitsString()).isEqualTo("24");
     }
 
+    @Test
+    void getNetbitsWithSubnetting() {
+        subnet3.setSubnetmask("/26");
+        assertThat(subnet3.getNetbits()).isEqualTo(24);
+        assertThat(subnet3.getSubnetbits()).isEqualTo(2);
+        assertThat(subnet3.getCountOfSubnetsCalc()).isEqualTo("2^2 = 4");
+        assertThat(subnet3.getCountOfHostsCalc()).isEqualTo("2^6-2 = 62");
+    }
+
     @Test
     void getSubnetbits() {
         assertThat(subnet1.getSubnetbits()).isZero();
@@ -439,46 +532,53 @@ class SubnetTest {
     //region extras: summarize, subnets, contains
     @Test
     void summarize() {
-        subnet2.setIp("192.168.20");
-        assertThatObject(subnet2.summarize(subnet3))
+        Subnet subnet = new Subnet("192.168.20.0", "/24");
+        assertThatObject(subnet.summarize(subnet3))
             .isEqualTo(new Subnet("192.168.0.0", "255.255.192.0"));
         assertThatObject(subnet3.summarize(subnet3))
-            .isEqualTo(new Subnet("192.168.50.0", "255.255.255.252"));
+            .isEqualTo(new Subnet("192.168.32.0", "255.255.224.0"));
+    }
+
+    @Test
+    void summarizeContained() {
+        assertThatObject(new Subnet("10.0.0.0", "/8").summarize(new Subnet("10.0.0.1", "/32")))
+            .isEqualTo(new Subnet("10.0.0.0", "/8"));
+        assertThatObject(new Subnet("10.0.0.1", "/32").summarize(new Subnet("10.0.0.0", "/8")))
+            .isEqualTo(new Subnet("10.0.0.0", "/8"));
+        subnet2.setIp("192.168.20"); // /16 containing subnet3
+        assertThatObject(subnet2.summarize(subnet3))
+            .isEqualTo(new Subnet("192.168.0.0", "/16"));
     }
 
     @Test
     void summarizeDifferent() {
-        subnet2.setIp("192.167.20");
+        subnet2.setIp("192.167.20"); // 192.167.0.0/16
         assertThatObject(subnet2.summarize(subnet3))
             .isEqualTo(new Subnet("192.160.0.0", "255.240.0.0"));
     }
 
     @Test
-    void summarizeWithException() {
-        assertThatExceptionOfType(IllegalArgumentException.class)
-            .isThrownBy(() ->
-                subnet1.summarize(subnet3));
-        assertThatExceptionOfType(IllegalArgumentException.class)
-            .isThrownBy(() ->
-                subnet2.summarize(subnet3));
-        assertThatExceptionOfType(IllegalArgumentException.class)
-            .isThrownBy(() ->
-                subnet1.summarize(subnet2, subnet3));
-        // all other combinations throw also an exception
+    void summarizeDifferentFirstQuad() {
+        assertThatObject(subnet1.summarize(subnet3))
+            .isEqualTo(new Subnet("0.0.0.0", "/0"));
+        assertThatObject(subnet2.summarize(subnet3))
+            .isEqualTo(new Subnet("128.0.0.0", "/1"));
+        assertThatObject(subnet4.summarize(subnet5))
+            .isEqualTo(new Subnet("224.0.0.0", "/3"));
     }
 
     @Test
     void summarizeMultiple() {
-        subnet1.setIp("192.168.0");
-        subnet2.setIp("192.168.20");
+        subnet1 = new Subnet("192.168.0.0", "/24");
+        subnet2 = new Subnet("192.168.20.0", "/24");
         assertThatObject(subnet1.summarize(subnet2, subnet3))
             .isEqualTo(new Subnet("192.168.0.0", "255.255.192.0"));
     }
 
     @Test
     void summarizeMultipleDifferent() {
-        subnet1.setIp("192.167.5");
-        subnet2.setIp("192.169.20");
+        subnet1 = new Subnet("192.167.5.0", "/24");
+        subnet2 = new Subnet("192.169.20.0", "/24");
         assertThatObject(subnet1.summarize(Arrays.asList(subnet2, subnet3)))
             .isEqualTo(new Subnet("192.160.0.0", "255.240.0.0"));
     }
@@ -572,6 +672,79 @@ class SubnetTest {
         assertThat(subnet2.contains(subnet3)).isTrue();
         assertThat(subnet3.contains(subnet2)).isFalse();
     }
+
+    @Test
+    void containsHostRoute() {
+        Subnet host = new Subnet("192.168.50.7", "/32");
+        assertThat(subnet3.contains(host)).isTrue();
+        assertThat(host.contains(subnet3)).isFalse();
+        assertThat(host.contains(host.copy())).isTrue();
+        assertThat(new Subnet("0.0.0.0", "/0").contains(host)).isTrue();
+    }
+    //endregion
+
+    //region sampling
+    @Test
+    void sampleHost() {
+        Subnet subnet = new Subnet("192.168.0.0", "/30");
+        SplittableRandom random = new SplittableRandom(1);
+        Set<Integer> hosts = new HashSet<>();
+        for (int i = 0; i < 100; i++) hosts.add(subnet.sampleHost(random));
+        assertThat(hosts).containsExactlyInAnyOrder(
+            new Subnet("192.168.0.1", "/32").getIpAsInt(), new Subnet("192.168.0.2", "/32").getIpAsInt()
+        );
+        Subnet host = new Subnet("10.0.0.7", "/32");
+        assertThat(host.sampleHost(new Random(1))).isEqualTo(host.getIpAsInt());
+        assertThat(new Subnet("10.0.0.0", "/31").sampleHost(random) >>> 1)
+            .isEqualTo(new Subnet("10.0.0.0", "/32").getIpAsInt() >>> 1);
+    }
+
+    @Test
+    void sampleHostIsReproducible() {
+        Subnet subnet = new Subnet("10.0.0.0", "/8");
+        assertThat(subnet.sampleHost(new SplittableRandom(42))).isEqualTo(subnet.sampleHost(new SplittableRandom(42)));
+        assertThat(subnet.contains(Subnet.of(subnet.sampleHost(new SplittableRandom(42)), 32))).isTrue();
+    }
+
+    @Test
+    void sampleSubnet() {
+        Subnet subnet = new Subnet("10.0.0.0", "/8");
+        Subnet sampled = subnet.sampleSubnet(24, new SplittableRandom(3));
+        assertThat(sampled.getPrefixLength()).isEqualTo(24);
+        assertThat(subnet.contains(sampled)).isTrue();
+        assertThatObject(subnet.sampleSubnet(8, new Random(3))).isEqualTo(subnet);
+        assertThatIllegalArgumentException().isThrownBy(() -> subnet.sampleSubnet(7, new Random(3)));
+    }
+
+    @Test
+    void shuffleHosts() {
+        Subnet subnet = new Subnet("192.168.0.0", "/24");
+        PrimitiveIterator.OfInt hosts = subnet.shuffleHosts(new SplittableRandom(5));
+        List<Integer> shuffled = new ArrayList<>();
+        hosts.forEachRemaining((int host) -> shuffled.add(host));
+        assertThat(shuffled).hasSize(254).doesNotHaveDuplicates()
+            .allMatch(host -> subnet.contains(Subnet.of(host, 32)))
+            .doesNotContain(subnet.getIpAsInt());
+        List<Integer> sorted = new ArrayList<>(shuffled);
+        sorted.sort(null);
+        assertThat(shuffled).isNotEqualTo(sorted);
+        assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(hosts::nextInt);
+
+        List<Integer> again = new ArrayList<>();
+        subnet.shuffleHosts(new SplittableRandom(5)).forEachRemaining((int host) -> again.add(host));
+        assertThat(again).isEqualTo(shuffled);
+    }
+
+    @Test
+    void shuffleHostsOfLargeNetwork() {
+        Subnet subnet = new Subnet("0.0.0.0", "/0");
+        PrimitiveIterator.OfInt hosts = subnet.shuffleHosts(new Random(5));
+        Set<Integer> sampled = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) sampled.add(hosts.nextInt());
+        assertThat(sampled).hasSize(10_000).doesNotContain(0, -1);
+        assertThat(new Subnet("10.0.0.1", "/32").shuffleHosts(new Random(5)).nextInt())
+            .isEqualTo(new Subnet("10.0.0.1", "/32").getIpAsInt());
+    }
     //endregion
 
     //region validate
@@ -632,19 +805,19 @@ class SubnetTest {
     @Test
     void convertPrefixAndValidateWithToLowNumber() {
         assertThatExceptionOfType(IllegalArgumentException.class)
-            .isThrownBy(() -> new Subnet("10", "/1"));
+            .isThrownBy(() -> new Subnet("10", "/-1"));
     }
 
     @Test
     void convertPrefixAndValidateWithToHighNumber() {
         assertThatExceptionOfType(IllegalArgumentException.class)
-            .isThrownBy(() -> new Subnet("10", "/32"));
+            .isThrownBy(() -> new Subnet("10", "/33"));
     }
 
     @Test
     void convertBinarySubnetmaskToDecimalWithToLargeNumberInLastQuad() {
         assertThatExceptionOfType(IllegalArgumentException.class)
-            .isThrownBy(() -> new Subnet("10", "255.255.255.255"));
+            .isThrownBy(() -> new Subnet("10", "255.255.255.256"));
     }
 
     @Test
@@ -667,8 +840,61 @@ class SubnetTest {
 
     @Test
     void setMagicNumber() {
-        assertThatExceptionOfType(IllegalArgumentException.class)
-            .isThrownBy(() -> subnet1.setSubnetmask("128"));
+        subnet1.setSubnetmask("128");
+        assertThat(subnet1.getIq()).isZero();
+        assertThat(subnet1.getMagicNumber()).isEqualTo(128);
+        assertThat(subnet1.getSubnetId()).isEqualTo("0.0.0.0");
+        assertThat(subnet1.getBroadCastIp()).isEqualTo("127.255.255.255");
+    }
+
+    @Test
+    void prefixLengthFullRange() {
+        for (int prefixLength = 0; prefixLength <= 32; prefixLength++)
+            assertThat(new Subnet("10.20.30.40", "/" + prefixLength).getPrefixLength())
+                .isEqualTo(prefixLength);
+    }
+
+    @Test
+    void prefixLength0() {
+        Subnet subnet = new Subnet("10.20.30.40", "/0");
+        assertThat(subnet.getSubnetmask()).isEqualTo("0.0.0.0");
+        assertThat(subnet.getIq()).isZero();
+        assertThat(subnet.getMagicNumber()).isEqualTo(256);
+        assertThat(subnet.getSubnetId()).isEqualTo("0.0.0.0");
+        assertThat(subnet.getFirstAvailableIp()).isEqualTo("0.0.0.1");
+        assertThat(subnet.getLastAvailableIp()).isEqualTo("255.255.255.254");
+        assertThat(subnet.getBroadCastIp()).isEqualTo("255.255.255.255");
+        assertThat(subnet.getNetbitsString()).isEqualTo("0 (8)");
+        assertThat(subnet.getCountOfHostsCalc()).isEqualTo("2^32-2 = 4294967294");
+        assertThat(subnet.isSupernetting()).isTrue();
+    }
+
+    @Test
+    void prefixLength31() {
+        Subnet subnet = new Subnet("10.20.30.41", "/31");
+        assertThat(subnet.getSubnetmask()).isEqualTo("255.255.255.254");
+        assertThat(subnet.getIq()).isEqualTo(3);
+        assertThat(subnet.getMagicNumber()).isEqualTo(2);
+        assertThat(subnet.getSubnetId()).isEqualTo("10.20.30.40");
+        assertThat(subnet.getFirstAvailableIp()).isEqualTo("10.20.30.40");
+        assertThat(subnet.getLastAvailableIp()).isEqualTo("10.20.30.41");
+        assertThat(subnet.getBroadCastIp()).isEqualTo("10.20.30.41");
+        assertThat(subnet.getCountOfHosts()).isEqualTo(2);
+        assertThat(subnet.getCountOfHostsCalc()).isEqualTo("2^1 = 2");
+    }
+
+    @Test
+    void prefixLength32() {
+        Subnet subnet = new Subnet("10.20.30.40", "255.255.255.255");
+        assertThat(subnet.getPrefixLength()).isEqualTo(32);
+        assertThat(subnet.getIq()).isEqualTo(3);
+        assertThat(subnet.getMagicNumber()).isEqualTo(1);
+        assertThat(subnet.getMagicNumberMin()).isEqualTo(40);
+        assertThat(subnet.getMagicNumberMax()).isEqualTo(40);
+        assertThat(subnet.getFirstAvailableIp()).isEqualTo("10.20.30.40");
+        assertThat(subnet.getLastAvailableIp()).isEqualTo("10.20.30.40");
+        assertThat(subnet.getCountOfHosts()).isEqualTo(1);
+        assertThat(subnet.getSubnets()).hasSize(256);
     }
     //endregion
 
@@ -787,6 +1013,43 @@ class SubnetTest {
         assertThat(subnet5.toString(true)).isEqualTo(s5);
     }
 
+    @Test
+    void toCidrString() {
+        assertThat(subnet1.toCidrString()).isEqualTo("10.0.0.0/8");
+        assertThat(subnet3.toCidrString()).isEqualTo("192.168.50.0/19");
+        assertThat(new Subnet("1.2.3.4", "/32").toCidrString()).isEqualTo("1.2.3.4/32");
+    }
+
+    @Test
+    void appendToStringBuilder() {
+        StringBuilder stringBuilder = new StringBuilder("subnet: ");
+        assertThat(subnet2.appendTo(stringBuilder, false)).isSameAs(stringBuilder);
+        assertThat(stringBuilder).hasToString("subnet: 128.245.97.0 255.255.0.0");
+        stringBuilder.setLength(0);
+        assertThat(subnet3.appendTo(stringBuilder, true)).hasToString(subnet3.toString(true));
+        stringBuilder.setLength(0);
+        assertThat(subnet4.appendCidrTo(stringBuilder)).hasToString("224.62.83.0/20");
+    }
+
+    @Test
+    void appendToAppendable() throws IOException {
+        StringWriter writer = new StringWriter();
+        subnet5.appendTo(writer, true).append('\n');
+        subnet5.appendCidrTo(writer);
+        assertThat(writer).hasToString(subnet5.toString(true) + "\n240.136.42.0/24");
+    }
+
+    @Test
+    void appendToByteBuffer() {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(1024);
+        subnet1.appendTo(byteBuffer, false).put((byte) ' ');
+        subnet1.appendCidrTo(byteBuffer);
+        assertThat(new String(byteBuffer.array(), 0, byteBuffer.position(), StandardCharsets.US_ASCII))
+            .isEqualTo("10.0.0.0 255.0.0.0 10.0.0.0/8");
+        assertThatExceptionOfType(BufferOverflowException.class)
+            .isThrownBy(() -> subnet1.appendTo(ByteBuffer.allocate(4), true));
+    }
+
     @Test
     void copy() {
         assertThatObject(subnet1).isEqualTo(subnet1.copy());
@@ -0,0 +1,72 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SubnetTreeTest {
+    @Test
+    void build() {
+        SubnetTree tree = new SubnetTree(List.of(
+            new Subnet("10.0.1.16", "/28"),
+            new Subnet("192.168.0.0", "/24"),
+            new Subnet("10.0.1.0", "/24"),
+            new Subnet("10.0.0.0", "/16"),
+            new Subnet("10.0.2.0", "/24"),
+            new Subnet("10.0.1.0", "/28")
+        ));
+        assertThat(tree.size()).isEqualTo(6);
+        assertThat(tree.getRoots()).hasSize(2);
+
+        SubnetTree.Node root = tree.getRoots().get(0);
+        assertThatObject(root.getSubnet()).isEqualTo(new Subnet("10.0.0.0", "/16"));
+        assertThat(root.getParent()).isNull();
+        assertThat(root.getChildren()).extracting(SubnetTree.Node::getSubnet).containsExactly(
+            new Subnet("10.0.1.0", "/24"),
+            new Subnet("10.0.2.0", "/24")
+        );
+        SubnetTree.Node child = root.getChildren().get(0);
+        assertThat(child.getParent()).isSameAs(root);
+        assertThat(child.getChildren()).extracting(SubnetTree.Node::getSubnet).containsExactly(
+            new Subnet("10.0.1.0", "/28"),
+            new Subnet("10.0.1.16", "/28")
+        );
+        assertThatObject(tree.getRoots().get(1).getSubnet()).isEqualTo(new Subnet("192.168.0.0", "/24"));
+    }
+
+    @Test
+    void utilization() {
+        SubnetTree tree = new SubnetTree(List.of(
+            new Subnet("10.0.0.0", "/24"),
+            new Subnet("10.0.0.0", "/26"),
+            new Subnet("10.0.0.128", "/25")
+        ));
+        SubnetTree.Node root = tree.getRoots().get(0);
+        assertThat(root.getAddressCount()).isEqualTo(256);
+        assertThat(root.getCoveredAddressCount()).isEqualTo(192);
+        assertThat(root.getFreeAddressCount()).isEqualTo(64);
+        assertThat(root.getUtilization()).isEqualTo(0.75);
+        assertThat(root.getChildren().get(0).getUtilization()).isZero();
+        assertThat(root).hasToString("10.0.0.0 255.255.255.0 (2 children, 192/256 covered)");
+    }
+
+    @Test
+    void buildUsesNetwork() {
+        SubnetTree tree = new SubnetTree(List.of(
+            new Subnet("10.0.0.200", "/24"),
+            new Subnet("10.0.0.100", "/32"),
+            new Subnet("0.0.0.0", "/0")
+        ));
+        assertThat(tree.getRoots()).hasSize(1);
+        SubnetTree.Node root = tree.getRoots().get(0);
+        assertThat(root.getAddressCount()).isEqualTo(1L << 32);
+        assertThat(root.getChildren().get(0).getChildren()).hasSize(1);
+    }
+
+    @Test
+    void buildEmpty() {
+        assertThat(new SubnetTree(List.of()).getRoots()).isEmpty();
+    }
+}
@@ -0,0 +1,19 @@
+package io.rala;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * helpers for tests using IP addresses as {@code int}
+ */
+final class TestAddresses {
+    private TestAddresses() {
+    }
+
+    /**
+     * @param ip IP address (like {@code 10.0.0.1})
+     * @return IP address as int (first quad in the highest byte)
+     */
+    static int ip(@NotNull String ip) {
+        return new Subnet(ip, "/32").getIpAsInt();
+    }
+}
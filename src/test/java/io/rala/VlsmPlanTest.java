@@ -0,0 +1,89 @@
+package io.rala;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class VlsmPlanTest {
+    @Test
+    void of() {
+        VlsmPlan plan = VlsmPlan.of(new Subnet("192.168.0.0", "/24"), 12, 100, 2, 50, 1);
+        assertThat(plan.isComplete()).isTrue();
+        assertThat(plan.getSubnets()).containsExactly(
+            new Subnet("192.168.0.192", "/28"),
+            new Subnet("192.168.0.0", "/25"),
+            new Subnet("192.168.0.208", "/31"),
+            new Subnet("192.168.0.128", "/26"),
+            new Subnet("192.168.0.210", "/32")
+        );
+        assertThat(plan.getFreeSubnets()).containsExactly(
+            new Subnet("192.168.0.211", "/32"),
+            new Subnet("192.168.0.212", "/30"),
+            new Subnet("192.168.0.216", "/29"),
+            new Subnet("192.168.0.224", "/27")
+        );
+    }
+
+    @Test
+    void ofIncomplete() {
+        VlsmPlan plan = VlsmPlan.of(new Subnet("10.0.0.0", "/24"), 200, 200, 50);
+        assertThat(plan.isComplete()).isFalse();
+        assertThat(plan.getSubnets()).containsExactly(
+            new Subnet("10.0.0.0", "/24"), null, null
+        );
+        assertThat(plan.getFreeSubnets()).isEmpty();
+    }
+
+    @Test
+    void ofWithReserved() {
+        VlsmPlan plan = VlsmPlan.of(new Subnet("10.0.0.0", "/24"), List.of(
+            new Subnet("10.0.0.0", "/26"), new Subnet("10.0.0.192", "/27"), new Subnet("172.16.0.0", "/12")
+        ), 60, 20);
+        assertThat(plan.getSubnets()).containsExactly(
+            new Subnet("10.0.0.64", "/26"), new Subnet("10.0.0.224", "/27")
+        );
+        assertThat(plan.getFreeSubnets()).containsExactly(new Subnet("10.0.0.128", "/26"));
+    }
+
+    @Test
+    void ofWithInvalidCountOfHosts() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> VlsmPlan.of(new Subnet("10.0.0.0", "/24"), 0));
+    }
+
+    @Test
+    void ofFullRange() {
+        VlsmPlan plan = VlsmPlan.of(new Subnet("0.0.0.0", "/0"), 1);
+        assertThat(plan.getSubnets()).containsExactly(new Subnet("0.0.0.0", "/32"));
+        assertThat(plan.getFreeSubnets()).hasSize(32);
+    }
+
+    @Test
+    void ofManyDoesNotOverlap() {
+        Random random = new Random(9);
+        int[] hosts = new int[10_000];
+        for (int i = 0; i < hosts.length; i++) hosts[i] = 1 + random.nextInt(random.nextBoolean() ? 14 : 500);
+        Subnet parent = new Subnet("10.0.0.0", "/8");
+        VlsmPlan plan = VlsmPlan.of(parent, hosts);
+        assertThat(plan.isComplete()).isTrue();
+
+        List<Subnet> all = new ArrayList<>(plan.getSubnets());
+        for (int i = 0; i < hosts.length; i++)
+            assertThat(Objects.requireNonNull(plan.getSubnets().get(i)).getCountOfHosts())
+                .isGreaterThanOrEqualTo(hosts[i]);
+        all.addAll(plan.getFreeSubnets());
+        List<Subnet> sorted = SubnetSorter.sort(all);
+        long addresses = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            assertThat(parent.contains(sorted.get(i))).isTrue();
+            if (0 < i) assertThat(sorted.get(i - 1).contains(sorted.get(i))).isFalse();
+            addresses += 1L << (32 - sorted.get(i).getPrefixLength());
+        }
+        assertThat(addresses).isEqualTo(1L << 24);
+    }
+}
@@ -0,0 +1,87 @@
+package io.rala;
+
+import io.rala.WildcardAcl.Action;
+import io.rala.WildcardAcl.Rule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static io.rala.TestAddresses.ip;
+import static org.assertj.core.api.Assertions.*;
+
+class WildcardAclTest {
+    private WildcardAcl acl;
+
+    @BeforeEach
+    void beforeEach() {
+        acl = new WildcardAcl(List.of(
+            new Rule("10.0.0.5", "0.0.0.0", Action.DENY), // 0
+            new Rule("10.0.0.0", "0.255.255.255", Action.PERMIT), // 1
+            new Rule("10.1.0.0", "0.0.255.255", Action.DENY), // 2: shadowed by 1
+            new Rule("192.168.0.1", "0.0.255.0", Action.PERMIT), // 3: non-contiguous
+            new Rule(new Subnet("192.168.0.0", "/16"), Action.DENY) // 4
+        ));
+    }
+
+    @Test
+    void match() {
+        assertThat(acl.match(ip("10.0.0.5"))).isZero();
+        assertThat(acl.match(ip("10.0.0.6"))).isEqualTo(1);
+        assertThat(acl.match(ip("10.1.2.3"))).isEqualTo(1);
+        assertThat(acl.match(ip("192.168.77.1"))).isEqualTo(3);
+        assertThat(acl.match(ip("192.168.77.2"))).isEqualTo(4);
+        assertThat(acl.match(ip("172.16.0.1"))).isEqualTo(-1);
+    }
+
+    @Test
+    void evaluate() {
+        assertThat(acl.evaluate(ip("10.0.0.5"))).isEqualTo(Action.DENY);
+        assertThat(acl.evaluate(ip("10.0.0.6"))).isEqualTo(Action.PERMIT);
+        assertThat(acl.evaluate(ip("192.168.1.1"))).isEqualTo(Action.PERMIT);
+        assertThat(acl.evaluate(ip("172.16.0.1"))).isEqualTo(Action.DENY);
+        assertThat(acl.getMatchingRule(ip("172.16.0.1"))).isNull();
+        assertThat(acl.getMatchingRule(ip("192.168.1.1"))).isEqualTo(acl.getRules().get(3));
+    }
+
+    @Test
+    void getShadowedRules() {
+        assertThat(acl.getShadowedRules()).isEqualTo(Map.of(2, 1));
+    }
+
+    @Test
+    void getShadowedRulesDuplicate() {
+        WildcardAcl duplicates = new WildcardAcl(List.of(
+            new Rule("10.0.0.0", "0.0.0.255", Action.PERMIT),
+            new Rule("10.0.0.7", "0.0.0.255", Action.DENY),
+            new Rule("10.0.0.1", "0.0.0.0", Action.DENY)
+        ));
+        assertThat(duplicates.getShadowedRules()).isEqualTo(Map.of(1, 0, 2, 0));
+    }
+
+    @Test
+    void matchEqualsLinearScan() {
+        Random random = new Random(42);
+        List<Rule> rules = new ArrayList<>();
+        for (int i = 0; i < 500; i++)
+            rules.add(new Rule(random.nextInt(), random.nextInt() & random.nextInt() & random.nextInt(),
+                random.nextBoolean() ? Action.PERMIT : Action.DENY));
+        WildcardAcl randomAcl = new WildcardAcl(rules);
+        for (int i = 0; i < 10_000; i++) {
+            int ip = i % 2 == 0 ? random.nextInt() : rules.get(random.nextInt(rules.size())).getAddress();
+            int expected = -1;
+            for (int j = 0; j < rules.size() && expected < 0; j++)
+                if (rules.get(j).matches(ip)) expected = j;
+            assertThat(randomAcl.match(ip)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void ruleToString() {
+        assertThat(acl.getRules().get(3)).hasToString("permit 192.168.0.1 0.0.255.0");
+        assertThat(acl.getRules().get(4)).hasToString("deny 192.168.0.0 0.0.255.255");
+    }
+}